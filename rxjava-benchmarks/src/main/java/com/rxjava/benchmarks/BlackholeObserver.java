@@ -0,0 +1,43 @@
+package com.rxjava.benchmarks;
+
+import com.rxjava.Observer;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Observer, поглощающий элементы в Blackhole и сигнализирующий о завершении через latch.
+ */
+public final class BlackholeObserver<T> implements Observer<T> {
+    private final Blackhole blackhole;
+    private final CountDownLatch latch;
+
+    public BlackholeObserver(Blackhole blackhole) {
+        this(blackhole, new CountDownLatch(1));
+    }
+
+    public BlackholeObserver(Blackhole blackhole, CountDownLatch latch) {
+        this.blackhole = blackhole;
+        this.latch = latch;
+    }
+
+    @Override
+    public void onNext(T item) {
+        blackhole.consume(item);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        blackhole.consume(t);
+        latch.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+        latch.countDown();
+    }
+
+    public void await() throws InterruptedException {
+        latch.await();
+    }
+}
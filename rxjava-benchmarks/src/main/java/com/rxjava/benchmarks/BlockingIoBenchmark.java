@@ -0,0 +1,88 @@
+package com.rxjava.benchmarks;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.schedulers.IOScheduler;
+import com.rxjava.schedulers.Scheduler;
+import com.rxjava.schedulers.VirtualThreadScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 10k одновременных подписок с блокирующей операцией (sleep) через subscribeOn:
+ * IOScheduler (платформенные потоки) против VirtualThreadScheduler.
+ * Вариант virtual требует запуска на Java 21+.
+ */
+@BenchmarkMode({Mode.SingleShotTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class BlockingIoBenchmark {
+
+    @Param({"io", "virtual"})
+    public String scheduler;
+
+    @Param({"10000"})
+    public int subscriptions;
+
+    @Param({"10"})
+    public int blockMillis;
+
+    private Scheduler target;
+    private Observable<Integer> blockingCall;
+
+    @Setup
+    public void setup() {
+        if ("virtual".equals(scheduler)) {
+            if (!VirtualThreadScheduler.isSupported()) {
+                throw new IllegalStateException("VirtualThreadScheduler требует Java 21+");
+            }
+            target = new VirtualThreadScheduler();
+        } else {
+            target = new IOScheduler();
+        }
+        blockingCall = Observable.<Integer>create(observer -> {
+            Thread.sleep(blockMillis);
+            observer.onNext(1);
+            observer.onComplete();
+        }).subscribeOn(target);
+    }
+
+    @Benchmark
+    public void concurrentBlockingSubscriptions() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(subscriptions);
+        Observer<Integer> observer = new Observer<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                latch.countDown();
+            }
+        };
+        for (int i = 0; i < subscriptions; i++) {
+            blockingCall.subscribe(observer);
+        }
+        latch.await();
+    }
+}
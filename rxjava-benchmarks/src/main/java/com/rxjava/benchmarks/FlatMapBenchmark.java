@@ -0,0 +1,64 @@
+package com.rxjava.benchmarks;
+
+import com.rxjava.Observable;
+import com.rxjava.schedulers.IOScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fan-out через flatMap: синхронные внутренние источники и внутренние источники на IOScheduler.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlatMapBenchmark {
+
+    @Param({"10", "1000"})
+    public int outer;
+
+    @Param({"1", "100"})
+    public int inner;
+
+    @Param({"4", "2147483647"})
+    public int maxConcurrency;
+
+    private Observable<Integer> syncFanOut;
+    private Observable<Integer> asyncFanOut;
+
+    @Setup
+    public void setup() {
+        IOScheduler io = new IOScheduler();
+        Observable<Integer> outerSource = Observable.range(0, outer);
+        Observable<Integer> innerSource = Observable.range(0, inner);
+
+        syncFanOut = outerSource.flatMap(x -> innerSource, maxConcurrency);
+        asyncFanOut = outerSource.flatMap(x -> innerSource, maxConcurrency, io);
+    }
+
+    @Benchmark
+    public void syncInners(Blackhole bh) {
+        syncFanOut.subscribe(new BlackholeObserver<>(bh));
+    }
+
+    @Benchmark
+    public void ioSchedulerInners(Blackhole bh) throws InterruptedException {
+        BlackholeObserver<Integer> observer = new BlackholeObserver<>(bh);
+        asyncFanOut.subscribe(observer);
+        observer.await();
+    }
+}
@@ -0,0 +1,65 @@
+package com.rxjava.benchmarks;
+
+import com.rxjava.Observable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Синхронные цепочки create -> map -> filter разной длины.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ObservableChainBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int count;
+
+    private Observable<Integer> shortChain;
+    private Observable<Integer> longChain;
+
+    @Setup
+    public void setup() {
+        Observable<Integer> source = Observable.create(observer -> {
+            for (int i = 0; i < count; i++) {
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        });
+
+        shortChain = source
+            .map(x -> x + 1)
+            .filter(x -> (x & 1) == 0);
+
+        Observable<Integer> chain = source;
+        for (int i = 0; i < 5; i++) {
+            chain = chain.map(x -> x + 1).filter(x -> x != -1);
+        }
+        longChain = chain;
+    }
+
+    @Benchmark
+    public void createMapFilter(Blackhole bh) {
+        shortChain.subscribe(new BlackholeObserver<>(bh));
+    }
+
+    @Benchmark
+    public void createTenStages(Blackhole bh) {
+        longChain.subscribe(new BlackholeObserver<>(bh));
+    }
+}
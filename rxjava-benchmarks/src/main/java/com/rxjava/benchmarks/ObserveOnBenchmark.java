@@ -0,0 +1,83 @@
+package com.rxjava.benchmarks;
+
+import com.rxjava.Observable;
+import com.rxjava.schedulers.ComputationScheduler;
+import com.rxjava.schedulers.IOScheduler;
+import com.rxjava.schedulers.Scheduler;
+import com.rxjava.schedulers.SingleThreadScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Переход между потоками через observeOn на разных планировщиках.
+ * Источник create не поддерживает слияние очередей, range - поддерживает.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ObserveOnBenchmark {
+
+    @Param({"computation", "single", "io"})
+    public String scheduler;
+
+    @Param({"1", "1000", "1000000"})
+    public int count;
+
+    private Observable<Integer> pushHop;
+    private Observable<Integer> fusedHop;
+
+    @Setup
+    public void setup() {
+        Scheduler s = createScheduler(scheduler);
+        Observable<Integer> push = Observable.create(observer -> {
+            for (int i = 0; i < count; i++) {
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        });
+        pushHop = push.observeOn(s);
+        fusedHop = Observable.range(0, count).observeOn(s);
+    }
+
+    static Scheduler createScheduler(String name) {
+        switch (name) {
+            case "computation":
+                return new ComputationScheduler();
+            case "single":
+                return new SingleThreadScheduler();
+            case "io":
+                return new IOScheduler();
+            default:
+                throw new IllegalArgumentException("Неизвестный планировщик: " + name);
+        }
+    }
+
+    @Benchmark
+    public void observeOnPush(Blackhole bh) throws InterruptedException {
+        BlackholeObserver<Integer> observer = new BlackholeObserver<>(bh);
+        pushHop.subscribe(observer);
+        observer.await();
+    }
+
+    @Benchmark
+    public void observeOnFused(Blackhole bh) throws InterruptedException {
+        BlackholeObserver<Integer> observer = new BlackholeObserver<>(bh);
+        fusedHop.subscribe(observer);
+        observer.await();
+    }
+}
@@ -0,0 +1,75 @@
+package com.rxjava.benchmarks;
+
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.subjects.PublishSubject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Частые подписки и отписки на горячем PublishSubject с 10k постоянных подписчиков.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SubjectChurnBenchmark {
+
+    @Param({"10000"})
+    public int subscribers;
+
+    private PublishSubject<Integer> subject;
+    private Observer<Integer> sink;
+    private Integer value;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        subject = PublishSubject.create();
+        sink = new BlackholeObserver<>(bh);
+        for (int i = 0; i < subscribers; i++) {
+            subject.subscribe(new BlackholeObserver<>(bh));
+        }
+        value = 42;
+    }
+
+    @Benchmark
+    public void subscribeUnsubscribe() {
+        Subscription s = subject.subscribe(new BlackholeObserver<Integer>(null));
+        s.unsubscribe();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void subscribeUnsubscribeContended() {
+        Subscription s = subject.subscribe(new BlackholeObserver<Integer>(null));
+        s.unsubscribe();
+    }
+
+    @Benchmark
+    public void onNextToAll() {
+        subject.onNext(value);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void onNextDuringChurn() {
+        Subscription s = subject.subscribe(sink);
+        subject.onNext(value);
+        s.unsubscribe();
+    }
+}
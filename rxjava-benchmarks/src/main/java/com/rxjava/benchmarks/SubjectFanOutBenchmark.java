@@ -0,0 +1,54 @@
+package com.rxjava.benchmarks;
+
+import com.rxjava.subjects.BehaviorSubject;
+import com.rxjava.subjects.PublishSubject;
+import com.rxjava.subjects.Subject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Рассылка одного элемента из Subject на 1, 10 и 1000 подписчиков.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SubjectFanOutBenchmark {
+
+    @Param({"publish", "behavior"})
+    public String type;
+
+    @Param({"1", "10", "1000"})
+    public int observers;
+
+    private Subject<Integer> subject;
+    private Integer value;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        subject = "publish".equals(type) ? PublishSubject.create() : BehaviorSubject.create();
+        for (int i = 0; i < observers; i++) {
+            subject.subscribe(new BlackholeObserver<>(bh));
+        }
+        value = 42;
+    }
+
+    @Benchmark
+    public void onNext() {
+        subject.onNext(value);
+    }
+}
@@ -0,0 +1,19 @@
+package com.rxjava;
+
+/**
+ * Поведение Flowable.create, когда источник выдает больше элементов, чем запросил подписчик.
+ */
+public enum BackpressureStrategy {
+    /**
+     * Буферизовать все элементы до появления запроса.
+     */
+    BUFFER,
+    /**
+     * Отбрасывать элементы, на которые нет запроса.
+     */
+    DROP,
+    /**
+     * Хранить только последний непрочитанный элемент.
+     */
+    LATEST
+}
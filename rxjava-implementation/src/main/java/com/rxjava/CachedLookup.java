@@ -0,0 +1,441 @@
+package com.rxjava;
+
+import com.rxjava.plugins.RxJavaPlugins;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Кэш асинхронных поисков по ключу для flatMap(cache): результатом поиска считается первый
+ * элемент загрузчика, после него подписка на загрузчик отменяется.
+ * Одновременные промахи по одному ключу ждут одну загрузку. Записи живут не дольше ttl и
+ * вытесняются по LRU при превышении maxSize. Попадание не блокируется: если список LRU занят
+ * другим потоком, порядок записи не обновляется. Ошибки и пустые ответы не кэшируются.
+ * Если все ожидающие отписались до ответа, загрузка отменяется.
+ */
+public final class CachedLookup<K, V> implements Function<K, Observable<V>> {
+    private final Function<? super K, ? extends Observable<V>> loader;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<K, Entry<K, V>> map = new ConcurrentHashMap<>();
+    private final ReentrantLock lruLock = new ReentrantLock();
+    // Список LRU: head - последняя использованная запись; защищен lruLock
+    private final Entry<K, V> head = new Entry<>(null, null);
+    private int size;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    CachedLookup(Function<? super K, ? extends Observable<V>> loader, int maxSize, long ttlNanos) {
+        this.loader = loader;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos;
+        head.prev = head;
+        head.next = head;
+    }
+
+    /**
+     * Результат поиска по ключу: из кэша, из уже идущей загрузки или новой загрузкой.
+     */
+    public Observable<V> get(K key) {
+        return RxJavaPlugins.onAssembly(new LookupObservable<>(this, key));
+    }
+
+    @Override
+    public Observable<V> apply(K key) {
+        return get(key);
+    }
+
+    /**
+     * Ответы из кэша, включая ожидание уже идущей загрузки.
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Промахи; каждый промах запускает загрузку.
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Попадания, дождавшиеся загрузки, начатой другим подписчиком.
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Число записей в кэше, включая идущие загрузки.
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Удалить все записи; идущие загрузки доставят результат своим подписчикам, но не в кэш.
+     */
+    public void invalidateAll() {
+        for (Entry<K, V> e : map.values()) {
+            remove(e);
+        }
+    }
+
+    Subscription subscribe(K key, Observer<V> observer) {
+        Waiter<V> waiter = new Waiter<>(observer);
+        observer.onSubscribe(waiter);
+        if (waiter.cancelled) {
+            return waiter;
+        }
+        long now = System.nanoTime();
+        for (;;) {
+            Entry<K, V> e = map.get(key);
+            if (e != null) {
+                waiter.entry = e;
+                int state = e.join(waiter, now);
+                if (state == Entry.JOINED_LOADED) {
+                    hits.increment();
+                    touch(e);
+                    waiter.deliver(e.value);
+                    return waiter;
+                }
+                if (state == Entry.JOINED_LOADING) {
+                    hits.increment();
+                    coalesced.increment();
+                    if (waiter.cancelled) {
+                        e.leave(waiter);
+                    }
+                    return waiter;
+                }
+                // Запись устарела или загрузка отменена: заменяем новой
+                Entry<K, V> fresh = new Entry<>(this, key);
+                if (!map.replace(key, e, fresh)) {
+                    continue;
+                }
+                unlink(e);
+                e = fresh;
+            } else {
+                Entry<K, V> fresh = new Entry<>(this, key);
+                if (map.putIfAbsent(key, fresh) != null) {
+                    continue;
+                }
+                e = fresh;
+            }
+            waiter.entry = e;
+            if (e.join(waiter, now) != Entry.JOINED_LOADING) {
+                // Присоединившиеся к новой записи подписчики успели отписаться и отменить ее
+                continue;
+            }
+            if (waiter.cancelled) {
+                e.leave(waiter);
+            }
+            if (!e.done) {
+                load(e);
+            }
+            return waiter;
+        }
+    }
+
+    private void load(Entry<K, V> e) {
+        misses.increment();
+        link(e);
+        Observable<V> source;
+        try {
+            source = loader.apply(e.key);
+        } catch (Throwable ex) {
+            e.onError(ex);
+            return;
+        }
+        e.setUpstream(source.subscribe(e));
+    }
+
+    long expiresAt() {
+        return System.nanoTime() + ttlNanos;
+    }
+
+    void remove(Entry<K, V> e) {
+        if (map.remove(e.key, e)) {
+            unlink(e);
+        }
+    }
+
+    private void link(Entry<K, V> e) {
+        List<Entry<K, V>> evicted = null;
+        lruLock.lock();
+        try {
+            if (e.removed) {
+                return;
+            }
+            insertAfterHead(e);
+            size++;
+            while (size > maxSize) {
+                Entry<K, V> eldest = head.prev;
+                unlinkLocked(eldest);
+                if (evicted == null) {
+                    evicted = new ArrayList<>();
+                }
+                evicted.add(eldest);
+            }
+        } finally {
+            lruLock.unlock();
+        }
+        if (evicted != null) {
+            for (Entry<K, V> eldest : evicted) {
+                if (map.remove(eldest.key, eldest)) {
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    private void touch(Entry<K, V> e) {
+        if (lruLock.tryLock()) {
+            try {
+                if (!e.removed && head.next != e) {
+                    e.prev.next = e.next;
+                    e.next.prev = e.prev;
+                    insertAfterHead(e);
+                }
+            } finally {
+                lruLock.unlock();
+            }
+        }
+    }
+
+    private void unlink(Entry<K, V> e) {
+        lruLock.lock();
+        try {
+            unlinkLocked(e);
+        } finally {
+            lruLock.unlock();
+        }
+    }
+
+    private void unlinkLocked(Entry<K, V> e) {
+        if (e.removed) {
+            return;
+        }
+        e.removed = true;
+        if (e.prev != null) {
+            e.prev.next = e.next;
+            e.next.prev = e.prev;
+            e.prev = null;
+            e.next = null;
+            size--;
+        }
+    }
+
+    private void insertAfterHead(Entry<K, V> e) {
+        e.prev = head;
+        e.next = head.next;
+        head.next.prev = e;
+        head.next = e;
+    }
+
+    static final class LookupObservable<K, V> extends Observable<V> {
+        private final CachedLookup<K, V> cache;
+        private final K key;
+
+        LookupObservable(CachedLookup<K, V> cache, K key) {
+            this.cache = cache;
+            this.key = key;
+        }
+
+        @Override
+        public Subscription subscribe(Observer<V> observer) {
+            return cache.subscribe(key, observer);
+        }
+    }
+
+    /**
+     * Запись кэша: загрузка в процессе (waiters) или готовое значение до expiresAt.
+     * Переходы состояния выполняются под монитором записи.
+     */
+    static final class Entry<K, V> implements Observer<V> {
+        static final int JOINED_LOADED = 0;
+        static final int JOINED_LOADING = 1;
+        static final int STALE = 2;
+
+        private final CachedLookup<K, V> cache;
+        final K key;
+        List<Waiter<V>> waiters = new ArrayList<>(1);
+        volatile V value;
+        private long expiresAt;
+        private boolean loaded;
+        private boolean abandoned;
+        private volatile Subscription upstream;
+        volatile boolean done;
+
+        // Поля списка LRU, защищены lruLock
+        Entry<K, V> prev;
+        Entry<K, V> next;
+        boolean removed;
+
+        Entry(CachedLookup<K, V> cache, K key) {
+            this.cache = cache;
+            this.key = key;
+        }
+
+        synchronized int join(Waiter<V> waiter, long now) {
+            if (loaded) {
+                return now - expiresAt < 0 ? JOINED_LOADED : STALE;
+            }
+            if (abandoned || done) {
+                return STALE;
+            }
+            waiters.add(waiter);
+            return JOINED_LOADING;
+        }
+
+        void leave(Waiter<V> waiter) {
+            synchronized (this) {
+                if (loaded || done || !waiters.remove(waiter) || !waiters.isEmpty()) {
+                    return;
+                }
+                abandoned = true;
+            }
+            cache.remove(this);
+            cancelUpstream();
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if (done && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        private void cancelUpstream() {
+            done = true;
+            Subscription s = upstream;
+            if (s != null) {
+                s.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        public void onNext(V item) {
+            List<Waiter<V>> ready;
+            synchronized (this) {
+                if (done || abandoned) {
+                    return;
+                }
+                value = item;
+                expiresAt = cache.expiresAt();
+                loaded = true;
+                ready = waiters;
+                waiters = null;
+            }
+            cancelUpstream();
+            for (Waiter<V> w : ready) {
+                w.deliver(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            List<Waiter<V>> failed = terminate();
+            if (failed != null) {
+                for (Waiter<V> w : failed) {
+                    w.fail(t);
+                }
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            // Загрузчик завершился без значения: пустой ответ не кэшируется
+            List<Waiter<V>> empty = terminate();
+            if (empty != null) {
+                for (Waiter<V> w : empty) {
+                    w.complete();
+                }
+            }
+        }
+
+        private List<Waiter<V>> terminate() {
+            List<Waiter<V>> current;
+            synchronized (this) {
+                if (done || loaded || abandoned) {
+                    return null;
+                }
+                done = true;
+                current = waiters;
+                waiters = null;
+            }
+            cache.remove(this);
+            return current;
+        }
+    }
+
+    /**
+     * Подписчик, ожидающий результат записи.
+     */
+    static final class Waiter<V> implements Subscription {
+        private final Observer<V> downstream;
+        // Запись, к которой присоединился подписчик; меняется, пока подписка ищет живую запись
+        volatile Entry<?, V> entry;
+        volatile boolean cancelled;
+
+        Waiter(Observer<V> downstream) {
+            this.downstream = downstream;
+        }
+
+        void deliver(V value) {
+            if (!cancelled) {
+                downstream.onNext(value);
+                if (!cancelled) {
+                    cancelled = true;
+                    downstream.onComplete();
+                }
+            }
+        }
+
+        void fail(Throwable t) {
+            if (!cancelled) {
+                cancelled = true;
+                downstream.onError(t);
+            }
+        }
+
+        void complete() {
+            if (!cancelled) {
+                cancelled = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                Entry<?, V> e = entry;
+                if (e != null) {
+                    e.leave(this);
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.rxjava;
+
+/**
+ * Действие по освобождению ресурса источника, выполняемое один раз при отмене или завершении.
+ */
+public interface Cancellable {
+    void cancel() throws Exception;
+}
@@ -0,0 +1,40 @@
+package com.rxjava;
+
+import com.rxjava.operators.ObservableRefCount;
+import com.rxjava.plugins.RxJavaPlugins;
+
+/**
+ * Observable, который подписывается на источник не при subscribe(), а при connect().
+ * Все наблюдатели получают элементы из одной подписки на источник через Subject.
+ * Создается через Observable.publish() и Observable.replay(n).
+ */
+public abstract class ConnectableObservable<T> extends Observable<T> {
+
+    /**
+     * Подписаться на источник, если подключение еще не установлено или источник уже завершился.
+     * Отписка от возвращенной подписки отключает источник; следующий connect() подключается заново.
+     */
+    public abstract Subscription connect();
+
+    /**
+     * Забыть подключение connection, еще не отписываясь от него: следующие subscribe() и connect()
+     * начнут новое подключение. refCount вызывает его под своей блокировкой, чтобы новый наблюдатель
+     * не попал в подключение, которое вот-вот будет отписано. По умолчанию ничего не делает.
+     */
+    protected void reset(Subscription connection) {
+    }
+
+    /**
+     * Вызвать reset(connection) у source: для оберток над ConnectableObservable из других пакетов.
+     */
+    protected static void resetConnection(ConnectableObservable<?> source, Subscription connection) {
+        source.reset(connection);
+    }
+
+    /**
+     * Подключаться при первом наблюдателе и отключаться, когда уходит последний.
+     */
+    public Observable<T> refCount() {
+        return RxJavaPlugins.onAssembly(new ObservableRefCount<>(this, this::reset));
+    }
+}
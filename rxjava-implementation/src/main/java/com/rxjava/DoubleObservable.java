@@ -0,0 +1,382 @@
+package com.rxjava;
+
+import java.util.Arrays;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToDoubleFunction;
+import com.rxjava.internal.BooleanSubscription;
+
+/**
+ * Поток значений double без упаковки: операторы принимают примитивные функциональные
+ * интерфейсы, а элементы передаются в DoubleObserver.onNext(double).
+ * Для агрегации метрик (sum, reduce, window) элементы ни разу не превращаются в Double.
+ */
+public abstract class DoubleObservable {
+
+    public abstract Subscription subscribe(DoubleObserver observer);
+
+    /**
+     * Источник из массива; массив не копируется.
+     */
+    public static DoubleObservable fromArray(double... values) {
+        return new DoubleObservable() {
+            @Override
+            public Subscription subscribe(DoubleObserver observer) {
+                BooleanSubscription subscription = new BooleanSubscription();
+                observer.onSubscribe(subscription);
+                for (int i = 0; i < values.length && !subscription.isUnsubscribed(); i++) {
+                    observer.onNext(values[i]);
+                }
+                if (!subscription.isUnsubscribed()) {
+                    observer.onComplete();
+                }
+                return subscription;
+            }
+        };
+    }
+
+    /**
+     * Мост из Observable: mapper извлекает примитивное значение из каждого элемента.
+     */
+    public static <T> DoubleObservable from(Observable<T> source, ToDoubleFunction<? super T> mapper) {
+        return new DoubleObservable() {
+            @Override
+            public Subscription subscribe(DoubleObserver observer) {
+                return source.subscribe(new Observer<T>() {
+                    private Subscription upstream;
+                    private boolean done;
+
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        upstream = subscription;
+                        observer.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(T item) {
+                        if (done) {
+                            return;
+                        }
+                        double v;
+                        try {
+                            v = mapper.applyAsDouble(item);
+                        } catch (Exception e) {
+                            done = true;
+                            if (upstream != null) {
+                                upstream.unsubscribe();
+                            }
+                            observer.onError(e);
+                            return;
+                        }
+                        observer.onNext(v);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        if (!done) {
+                            done = true;
+                            observer.onError(t);
+                        }
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (!done) {
+                            done = true;
+                            observer.onComplete();
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    public DoubleObservable map(DoubleUnaryOperator mapper) {
+        return new DoubleObservable() {
+            @Override
+            public Subscription subscribe(DoubleObserver observer) {
+                return DoubleObservable.this.subscribe(new Stage(observer) {
+                    @Override
+                    public void onNext(double item) {
+                        if (done) {
+                            return;
+                        }
+                        double v;
+                        try {
+                            v = mapper.applyAsDouble(item);
+                        } catch (Exception e) {
+                            fail(e);
+                            return;
+                        }
+                        downstream.onNext(v);
+                    }
+                });
+            }
+        };
+    }
+
+    public DoubleObservable filter(DoublePredicate predicate) {
+        return new DoubleObservable() {
+            @Override
+            public Subscription subscribe(DoubleObserver observer) {
+                return DoubleObservable.this.subscribe(new Stage(observer) {
+                    @Override
+                    public void onNext(double item) {
+                        if (done) {
+                            return;
+                        }
+                        boolean pass;
+                        try {
+                            pass = predicate.test(item);
+                        } catch (Exception e) {
+                            fail(e);
+                            return;
+                        }
+                        if (pass) {
+                            downstream.onNext(item);
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Свернуть поток в одно значение, которое выдается при завершении.
+     */
+    public DoubleObservable reduce(double identity, DoubleBinaryOperator accumulator) {
+        return new DoubleObservable() {
+            @Override
+            public Subscription subscribe(DoubleObserver observer) {
+                return DoubleObservable.this.subscribe(new Stage(observer) {
+                    private double value = identity;
+
+                    @Override
+                    public void onNext(double item) {
+                        if (done) {
+                            return;
+                        }
+                        try {
+                            value = accumulator.applyAsDouble(value, item);
+                        } catch (Exception e) {
+                            fail(e);
+                        }
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (!done) {
+                            done = true;
+                            downstream.onNext(value);
+                            downstream.onComplete();
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Сумма элементов с компенсацией ошибки округления (алгоритм Кэхэна).
+     */
+    public DoubleObservable sum() {
+        return new DoubleObservable() {
+            @Override
+            public Subscription subscribe(DoubleObserver observer) {
+                return DoubleObservable.this.subscribe(new DoubleObserver() {
+                    private double sum;
+                    private double compensation;
+
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        observer.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(double item) {
+                        double y = item - compensation;
+                        double t = sum + y;
+                        compensation = (t - sum) - y;
+                        sum = t;
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        observer.onError(t);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        observer.onNext(sum);
+                        observer.onComplete();
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Делить поток на окна по count элементов. Окно накапливается в массив double
+     * и выдается, когда заполнено (последнее - при завершении), как повторяемый
+     * DoubleObservable, поэтому к нему можно применять sum/reduce без упаковки.
+     */
+    public Observable<DoubleObservable> window(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count > 0 required but it was " + count);
+        }
+        return new Observable<DoubleObservable>() {
+            @Override
+            public Subscription subscribe(Observer<DoubleObservable> observer) {
+                return DoubleObservable.this.subscribe(new DoubleObserver() {
+                    private double[] chunk = new double[count];
+                    private int size;
+                    private boolean done;
+
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        observer.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(double item) {
+                        if (done) {
+                            return;
+                        }
+                        chunk[size++] = item;
+                        if (size == count) {
+                            double[] full = chunk;
+                            chunk = new double[count];
+                            size = 0;
+                            observer.onNext(fromArray(full));
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        if (!done) {
+                            done = true;
+                            observer.onError(t);
+                        }
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (!done) {
+                            done = true;
+                            if (size > 0) {
+                                observer.onNext(fromArray(Arrays.copyOf(chunk, size)));
+                            }
+                            observer.onComplete();
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Мост в Observable: каждый элемент упаковывается mapper'ом.
+     */
+    public <R> Observable<R> mapToObj(DoubleFunction<R> mapper) {
+        return new Observable<R>() {
+            @Override
+            public Subscription subscribe(Observer<R> observer) {
+                return DoubleObservable.this.subscribe(new DoubleObserver() {
+                    private Subscription upstream;
+                    private boolean done;
+
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        upstream = subscription;
+                        observer.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(double item) {
+                        if (done) {
+                            return;
+                        }
+                        R v;
+                        try {
+                            v = mapper.apply(item);
+                        } catch (Exception e) {
+                            done = true;
+                            if (upstream != null) {
+                                upstream.unsubscribe();
+                            }
+                            observer.onError(e);
+                            return;
+                        }
+                        observer.onNext(v);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        if (!done) {
+                            done = true;
+                            observer.onError(t);
+                        }
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (!done) {
+                            done = true;
+                            observer.onComplete();
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    public Observable<Double> boxed() {
+        return mapToObj(Double::valueOf);
+    }
+
+    /**
+     * Промежуточная стадия: пробрасывает подписку вниз без обертки и отменяет
+     * источник, если функция оператора бросила исключение.
+     */
+    abstract static class Stage implements DoubleObserver {
+        final DoubleObserver downstream;
+        private Subscription upstream;
+        boolean done;
+
+        Stage(DoubleObserver downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(subscription);
+        }
+
+        void fail(Throwable t) {
+            done = true;
+            if (upstream != null) {
+                upstream.unsubscribe();
+            }
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.rxjava;
+
+/**
+ * Наблюдатель потока double без упаковки элементов.
+ */
+public interface DoubleObserver {
+    default void onSubscribe(Subscription subscription) {}
+    void onNext(double item);
+    void onError(Throwable t);
+    void onComplete();
+}
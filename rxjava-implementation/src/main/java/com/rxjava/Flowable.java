@@ -0,0 +1,196 @@
+package com.rxjava;
+
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import com.rxjava.operators.FlowableCreate;
+import com.rxjava.operators.FlowableFromIterable;
+import com.rxjava.operators.FlowableObserveOn;
+import com.rxjava.schedulers.Scheduler;
+
+/**
+ * Поток данных с обратным давлением в стиле Reactive Streams.
+ * Подписчик сообщает спрос через Flow.Subscription.request(n), и источник выдает
+ * не больше запрошенного. Совместим с java.util.concurrent.Flow.
+ */
+public abstract class Flowable<T> implements Flow.Publisher<T> {
+    
+    @Override
+    public abstract void subscribe(Flow.Subscriber<? super T> subscriber);
+    
+    public static <T> Flowable<T> create(FlowableOnSubscribe<T> source, BackpressureStrategy strategy) {
+        return new FlowableCreate<>(source, strategy);
+    }
+    
+    public static <T> Flowable<T> fromIterable(Iterable<? extends T> source) {
+        return new FlowableFromIterable<>(source);
+    }
+    
+    @SuppressWarnings("unchecked")
+    public static <T> Flowable<T> fromPublisher(Flow.Publisher<? extends T> publisher) {
+        if (publisher instanceof Flowable) {
+            return (Flowable<T>) publisher;
+        }
+        return new Flowable<T>() {
+            @Override
+            public void subscribe(Flow.Subscriber<? super T> subscriber) {
+                publisher.subscribe(subscriber);
+            }
+        };
+    }
+    
+    public <R> Flowable<R> map(Function<T, R> mapper) {
+        return new Flowable<R>() {
+            @Override
+            public void subscribe(Flow.Subscriber<? super R> subscriber) {
+                Flowable.this.subscribe(new Flow.Subscriber<T>() {
+                    private Flow.Subscription upstream;
+                    private boolean done;
+                    
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        upstream = subscription;
+                        subscriber.onSubscribe(subscription);
+                    }
+                    
+                    @Override
+                    public void onNext(T item) {
+                        if (done) {
+                            return;
+                        }
+                        R mapped;
+                        try {
+                            mapped = mapper.apply(item);
+                        } catch (Exception e) {
+                            upstream.cancel();
+                            onError(e);
+                            return;
+                        }
+                        subscriber.onNext(mapped);
+                    }
+                    
+                    @Override
+                    public void onError(Throwable t) {
+                        if (done) {
+                            return;
+                        }
+                        done = true;
+                        subscriber.onError(t);
+                    }
+                    
+                    @Override
+                    public void onComplete() {
+                        if (done) {
+                            return;
+                        }
+                        done = true;
+                        subscriber.onComplete();
+                    }
+                });
+            }
+        };
+    }
+    
+    public Flowable<T> filter(Predicate<T> predicate) {
+        return new Flowable<T>() {
+            @Override
+            public void subscribe(Flow.Subscriber<? super T> subscriber) {
+                Flowable.this.subscribe(new Flow.Subscriber<T>() {
+                    private Flow.Subscription upstream;
+                    private boolean done;
+                    
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        upstream = subscription;
+                        subscriber.onSubscribe(subscription);
+                    }
+                    
+                    @Override
+                    public void onNext(T item) {
+                        if (done) {
+                            return;
+                        }
+                        boolean pass;
+                        try {
+                            pass = predicate.test(item);
+                        } catch (Exception e) {
+                            upstream.cancel();
+                            onError(e);
+                            return;
+                        }
+                        if (pass) {
+                            subscriber.onNext(item);
+                        } else {
+                            // Отброшенный элемент не должен уменьшать спрос подписчика
+                            upstream.request(1);
+                        }
+                    }
+                    
+                    @Override
+                    public void onError(Throwable t) {
+                        if (done) {
+                            return;
+                        }
+                        done = true;
+                        subscriber.onError(t);
+                    }
+                    
+                    @Override
+                    public void onComplete() {
+                        if (done) {
+                            return;
+                        }
+                        done = true;
+                        subscriber.onComplete();
+                    }
+                });
+            }
+        };
+    }
+    
+    public Flowable<T> observeOn(Scheduler scheduler) {
+        return observeOn(scheduler, bufferSize());
+    }
+    
+    /**
+     * Переключить доставку на планировщик, запрашивая у источника не больше prefetch элементов вперед.
+     */
+    public Flowable<T> observeOn(Scheduler scheduler, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return new FlowableObserveOn<>(this, scheduler, prefetch);
+    }
+    
+    /**
+     * Преобразовать в Observable без обратного давления (запрашивает Long.MAX_VALUE).
+     */
+    public Observable<T> toObservable() {
+        return Observable.create(observer -> Flowable.this.subscribe(new Flow.Subscriber<T>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                observer.setCancellable(subscription::cancel);
+                subscription.request(Long.MAX_VALUE);
+            }
+            
+            @Override
+            public void onNext(T item) {
+                observer.onNext(item);
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+            
+            @Override
+            public void onComplete() {
+                observer.onComplete();
+            }
+        }));
+    }
+    
+    public static int bufferSize() {
+        return Observable.bufferSize();
+    }
+}
@@ -0,0 +1,14 @@
+package com.rxjava;
+
+/**
+ * Эмиттер Flowable.create: позволяет источнику узнать текущий спрос и отмену подписки,
+ * чтобы не производить элементы, которые потребитель не сможет принять.
+ */
+public interface FlowableEmitter<T> extends Observer<T> {
+    /**
+     * Текущее количество запрошенных, но еще не выданных элементов.
+     */
+    long requested();
+
+    boolean isCancelled();
+}
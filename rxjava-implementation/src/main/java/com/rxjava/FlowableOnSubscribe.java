@@ -0,0 +1,5 @@
+package com.rxjava;
+
+public interface FlowableOnSubscribe<T> {
+    void subscribe(FlowableEmitter<T> emitter) throws Exception;
+}
@@ -0,0 +1,16 @@
+package com.rxjava;
+
+/**
+ * Группа элементов с одинаковым ключом, выдаваемая groupBy().
+ */
+public abstract class GroupedObservable<K, T> extends Observable<T> {
+    private final K key;
+
+    protected GroupedObservable(K key) {
+        this.key = key;
+    }
+
+    public K getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,450 @@
+package com.rxjava;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+import com.rxjava.internal.BooleanSubscription;
+
+/**
+ * Поток значений int без упаковки: операторы принимают примитивные функциональные
+ * интерфейсы, а элементы передаются в IntObserver.onNext(int).
+ * Для агрегации метрик (sum, reduce, window) элементы ни разу не превращаются в Integer.
+ */
+public abstract class IntObservable {
+
+    public abstract Subscription subscribe(IntObserver observer);
+
+    /**
+     * Числа start, start + 1, ..., start + count - 1.
+     */
+    public static IntObservable range(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        return fromArray(start, count, null);
+    }
+
+    /**
+     * Источник из массива; массив не копируется.
+     */
+    public static IntObservable fromArray(int... values) {
+        return fromArray(0, values.length, values);
+    }
+
+    private static IntObservable fromArray(int start, int count, int[] values) {
+        return new IntObservable() {
+            @Override
+            public Subscription subscribe(IntObserver observer) {
+                BooleanSubscription subscription = new BooleanSubscription();
+                observer.onSubscribe(subscription);
+                for (int i = 0; i < count && !subscription.isUnsubscribed(); i++) {
+                    observer.onNext(values != null ? values[start + i] : start + i);
+                }
+                if (!subscription.isUnsubscribed()) {
+                    observer.onComplete();
+                }
+                return subscription;
+            }
+        };
+    }
+
+    /**
+     * Мост из Observable: mapper извлекает примитивное значение из каждого элемента.
+     */
+    public static <T> IntObservable from(Observable<T> source, ToIntFunction<? super T> mapper) {
+        return new IntObservable() {
+            @Override
+            public Subscription subscribe(IntObserver observer) {
+                return source.subscribe(new Observer<T>() {
+                    private Subscription upstream;
+                    private boolean done;
+
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        upstream = subscription;
+                        observer.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(T item) {
+                        if (done) {
+                            return;
+                        }
+                        int v;
+                        try {
+                            v = mapper.applyAsInt(item);
+                        } catch (Exception e) {
+                            done = true;
+                            if (upstream != null) {
+                                upstream.unsubscribe();
+                            }
+                            observer.onError(e);
+                            return;
+                        }
+                        observer.onNext(v);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        if (!done) {
+                            done = true;
+                            observer.onError(t);
+                        }
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (!done) {
+                            done = true;
+                            observer.onComplete();
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    public IntObservable map(IntUnaryOperator mapper) {
+        return new IntObservable() {
+            @Override
+            public Subscription subscribe(IntObserver observer) {
+                return IntObservable.this.subscribe(new Stage(observer) {
+                    @Override
+                    public void onNext(int item) {
+                        if (done) {
+                            return;
+                        }
+                        int v;
+                        try {
+                            v = mapper.applyAsInt(item);
+                        } catch (Exception e) {
+                            fail(e);
+                            return;
+                        }
+                        downstream.onNext(v);
+                    }
+                });
+            }
+        };
+    }
+
+    public IntObservable filter(IntPredicate predicate) {
+        return new IntObservable() {
+            @Override
+            public Subscription subscribe(IntObserver observer) {
+                return IntObservable.this.subscribe(new Stage(observer) {
+                    @Override
+                    public void onNext(int item) {
+                        if (done) {
+                            return;
+                        }
+                        boolean pass;
+                        try {
+                            pass = predicate.test(item);
+                        } catch (Exception e) {
+                            fail(e);
+                            return;
+                        }
+                        if (pass) {
+                            downstream.onNext(item);
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Свернуть поток в одно значение, которое выдается при завершении.
+     */
+    public IntObservable reduce(int identity, IntBinaryOperator accumulator) {
+        return new IntObservable() {
+            @Override
+            public Subscription subscribe(IntObserver observer) {
+                return IntObservable.this.subscribe(new Stage(observer) {
+                    private int value = identity;
+
+                    @Override
+                    public void onNext(int item) {
+                        if (done) {
+                            return;
+                        }
+                        try {
+                            value = accumulator.applyAsInt(value, item);
+                        } catch (Exception e) {
+                            fail(e);
+                        }
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (!done) {
+                            done = true;
+                            downstream.onNext(value);
+                            downstream.onComplete();
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Сумма элементов. Накапливается в long, поэтому не переполняется на потоках int.
+     */
+    public LongObservable sum() {
+        return new LongObservable() {
+            @Override
+            public Subscription subscribe(LongObserver observer) {
+                return IntObservable.this.subscribe(new IntObserver() {
+                    private long sum;
+
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        observer.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(int item) {
+                        sum += item;
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        observer.onError(t);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        observer.onNext(sum);
+                        observer.onComplete();
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Делить поток на окна по count элементов. Окно накапливается в массив int
+     * и выдается, когда заполнено (последнее - при завершении), как повторяемый
+     * IntObservable, поэтому к нему можно применять sum/reduce без упаковки.
+     */
+    public Observable<IntObservable> window(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count > 0 required but it was " + count);
+        }
+        return new Observable<IntObservable>() {
+            @Override
+            public Subscription subscribe(Observer<IntObservable> observer) {
+                return IntObservable.this.subscribe(new IntObserver() {
+                    private int[] chunk = new int[count];
+                    private int size;
+                    private boolean done;
+
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        observer.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(int item) {
+                        if (done) {
+                            return;
+                        }
+                        chunk[size++] = item;
+                        if (size == count) {
+                            int[] full = chunk;
+                            chunk = new int[count];
+                            size = 0;
+                            observer.onNext(fromArray(full));
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        if (!done) {
+                            done = true;
+                            observer.onError(t);
+                        }
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (!done) {
+                            done = true;
+                            if (size > 0) {
+                                observer.onNext(fromArray(Arrays.copyOf(chunk, size)));
+                            }
+                            observer.onComplete();
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    public LongObservable asLongObservable() {
+        return new LongObservable() {
+            @Override
+            public Subscription subscribe(LongObserver observer) {
+                return IntObservable.this.subscribe(new IntObserver() {
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        observer.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(int item) {
+                        observer.onNext(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        observer.onError(t);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        observer.onComplete();
+                    }
+                });
+            }
+        };
+    }
+
+    public DoubleObservable asDoubleObservable() {
+        return new DoubleObservable() {
+            @Override
+            public Subscription subscribe(DoubleObserver observer) {
+                return IntObservable.this.subscribe(new IntObserver() {
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        observer.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(int item) {
+                        observer.onNext(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        observer.onError(t);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        observer.onComplete();
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Мост в Observable: каждый элемент упаковывается mapper'ом.
+     */
+    public <R> Observable<R> mapToObj(IntFunction<R> mapper) {
+        return new Observable<R>() {
+            @Override
+            public Subscription subscribe(Observer<R> observer) {
+                return IntObservable.this.subscribe(new IntObserver() {
+                    private Subscription upstream;
+                    private boolean done;
+
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        upstream = subscription;
+                        observer.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(int item) {
+                        if (done) {
+                            return;
+                        }
+                        R v;
+                        try {
+                            v = mapper.apply(item);
+                        } catch (Exception e) {
+                            done = true;
+                            if (upstream != null) {
+                                upstream.unsubscribe();
+                            }
+                            observer.onError(e);
+                            return;
+                        }
+                        observer.onNext(v);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        if (!done) {
+                            done = true;
+                            observer.onError(t);
+                        }
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (!done) {
+                            done = true;
+                            observer.onComplete();
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    public Observable<Integer> boxed() {
+        return mapToObj(Integer::valueOf);
+    }
+
+    /**
+     * Промежуточная стадия: пробрасывает подписку вниз без обертки и отменяет
+     * источник, если функция оператора бросила исключение.
+     */
+    abstract static class Stage implements IntObserver {
+        final IntObserver downstream;
+        private Subscription upstream;
+        boolean done;
+
+        Stage(IntObserver downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(subscription);
+        }
+
+        void fail(Throwable t) {
+            done = true;
+            if (upstream != null) {
+                upstream.unsubscribe();
+            }
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.rxjava;
+
+/**
+ * Наблюдатель потока int без упаковки элементов.
+ */
+public interface IntObserver {
+    default void onSubscribe(Subscription subscription) {}
+    void onNext(int item);
+    void onError(Throwable t);
+    void onComplete();
+}
@@ -0,0 +1,421 @@
+package com.rxjava;
+
+import java.util.Arrays;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+import com.rxjava.internal.BooleanSubscription;
+
+/**
+ * Поток значений long без упаковки: операторы принимают примитивные функциональные
+ * интерфейсы, а элементы передаются в LongObserver.onNext(long).
+ * Для агрегации метрик (sum, reduce, window) элементы ни разу не превращаются в Long.
+ */
+public abstract class LongObservable {
+
+    public abstract Subscription subscribe(LongObserver observer);
+
+    /**
+     * Числа start, start + 1, ..., start + count - 1.
+     */
+    public static LongObservable range(long start, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        return fromArray(start, count, null);
+    }
+
+    /**
+     * Источник из массива; массив не копируется.
+     */
+    public static LongObservable fromArray(long... values) {
+        return fromArray(0, values.length, values);
+    }
+
+    private static LongObservable fromArray(long start, long count, long[] values) {
+        return new LongObservable() {
+            @Override
+            public Subscription subscribe(LongObserver observer) {
+                BooleanSubscription subscription = new BooleanSubscription();
+                observer.onSubscribe(subscription);
+                for (long i = 0; i < count && !subscription.isUnsubscribed(); i++) {
+                    observer.onNext(values != null ? values[(int) (start + i)] : start + i);
+                }
+                if (!subscription.isUnsubscribed()) {
+                    observer.onComplete();
+                }
+                return subscription;
+            }
+        };
+    }
+
+    /**
+     * Мост из Observable: mapper извлекает примитивное значение из каждого элемента.
+     */
+    public static <T> LongObservable from(Observable<T> source, ToLongFunction<? super T> mapper) {
+        return new LongObservable() {
+            @Override
+            public Subscription subscribe(LongObserver observer) {
+                return source.subscribe(new Observer<T>() {
+                    private Subscription upstream;
+                    private boolean done;
+
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        upstream = subscription;
+                        observer.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(T item) {
+                        if (done) {
+                            return;
+                        }
+                        long v;
+                        try {
+                            v = mapper.applyAsLong(item);
+                        } catch (Exception e) {
+                            done = true;
+                            if (upstream != null) {
+                                upstream.unsubscribe();
+                            }
+                            observer.onError(e);
+                            return;
+                        }
+                        observer.onNext(v);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        if (!done) {
+                            done = true;
+                            observer.onError(t);
+                        }
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (!done) {
+                            done = true;
+                            observer.onComplete();
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    public LongObservable map(LongUnaryOperator mapper) {
+        return new LongObservable() {
+            @Override
+            public Subscription subscribe(LongObserver observer) {
+                return LongObservable.this.subscribe(new Stage(observer) {
+                    @Override
+                    public void onNext(long item) {
+                        if (done) {
+                            return;
+                        }
+                        long v;
+                        try {
+                            v = mapper.applyAsLong(item);
+                        } catch (Exception e) {
+                            fail(e);
+                            return;
+                        }
+                        downstream.onNext(v);
+                    }
+                });
+            }
+        };
+    }
+
+    public LongObservable filter(LongPredicate predicate) {
+        return new LongObservable() {
+            @Override
+            public Subscription subscribe(LongObserver observer) {
+                return LongObservable.this.subscribe(new Stage(observer) {
+                    @Override
+                    public void onNext(long item) {
+                        if (done) {
+                            return;
+                        }
+                        boolean pass;
+                        try {
+                            pass = predicate.test(item);
+                        } catch (Exception e) {
+                            fail(e);
+                            return;
+                        }
+                        if (pass) {
+                            downstream.onNext(item);
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Свернуть поток в одно значение, которое выдается при завершении.
+     */
+    public LongObservable reduce(long identity, LongBinaryOperator accumulator) {
+        return new LongObservable() {
+            @Override
+            public Subscription subscribe(LongObserver observer) {
+                return LongObservable.this.subscribe(new Stage(observer) {
+                    private long value = identity;
+
+                    @Override
+                    public void onNext(long item) {
+                        if (done) {
+                            return;
+                        }
+                        try {
+                            value = accumulator.applyAsLong(value, item);
+                        } catch (Exception e) {
+                            fail(e);
+                        }
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (!done) {
+                            done = true;
+                            downstream.onNext(value);
+                            downstream.onComplete();
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Сумма элементов; переполнение long не проверяется.
+     */
+    public LongObservable sum() {
+        return new LongObservable() {
+            @Override
+            public Subscription subscribe(LongObserver observer) {
+                return LongObservable.this.subscribe(new LongObserver() {
+                    private long sum;
+
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        observer.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(long item) {
+                        sum += item;
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        observer.onError(t);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        observer.onNext(sum);
+                        observer.onComplete();
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Делить поток на окна по count элементов. Окно накапливается в массив long
+     * и выдается, когда заполнено (последнее - при завершении), как повторяемый
+     * LongObservable, поэтому к нему можно применять sum/reduce без упаковки.
+     */
+    public Observable<LongObservable> window(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count > 0 required but it was " + count);
+        }
+        return new Observable<LongObservable>() {
+            @Override
+            public Subscription subscribe(Observer<LongObservable> observer) {
+                return LongObservable.this.subscribe(new LongObserver() {
+                    private long[] chunk = new long[count];
+                    private int size;
+                    private boolean done;
+
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        observer.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(long item) {
+                        if (done) {
+                            return;
+                        }
+                        chunk[size++] = item;
+                        if (size == count) {
+                            long[] full = chunk;
+                            chunk = new long[count];
+                            size = 0;
+                            observer.onNext(fromArray(full));
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        if (!done) {
+                            done = true;
+                            observer.onError(t);
+                        }
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (!done) {
+                            done = true;
+                            if (size > 0) {
+                                observer.onNext(fromArray(Arrays.copyOf(chunk, size)));
+                            }
+                            observer.onComplete();
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    public DoubleObservable asDoubleObservable() {
+        return new DoubleObservable() {
+            @Override
+            public Subscription subscribe(DoubleObserver observer) {
+                return LongObservable.this.subscribe(new LongObserver() {
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        observer.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(long item) {
+                        observer.onNext(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        observer.onError(t);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        observer.onComplete();
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Мост в Observable: каждый элемент упаковывается mapper'ом.
+     */
+    public <R> Observable<R> mapToObj(LongFunction<R> mapper) {
+        return new Observable<R>() {
+            @Override
+            public Subscription subscribe(Observer<R> observer) {
+                return LongObservable.this.subscribe(new LongObserver() {
+                    private Subscription upstream;
+                    private boolean done;
+
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        upstream = subscription;
+                        observer.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(long item) {
+                        if (done) {
+                            return;
+                        }
+                        R v;
+                        try {
+                            v = mapper.apply(item);
+                        } catch (Exception e) {
+                            done = true;
+                            if (upstream != null) {
+                                upstream.unsubscribe();
+                            }
+                            observer.onError(e);
+                            return;
+                        }
+                        observer.onNext(v);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        if (!done) {
+                            done = true;
+                            observer.onError(t);
+                        }
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (!done) {
+                            done = true;
+                            observer.onComplete();
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    public Observable<Long> boxed() {
+        return mapToObj(Long::valueOf);
+    }
+
+    /**
+     * Промежуточная стадия: пробрасывает подписку вниз без обертки и отменяет
+     * источник, если функция оператора бросила исключение.
+     */
+    abstract static class Stage implements LongObserver {
+        final LongObserver downstream;
+        private Subscription upstream;
+        boolean done;
+
+        Stage(LongObserver downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(subscription);
+        }
+
+        void fail(Throwable t) {
+            done = true;
+            if (upstream != null) {
+                upstream.unsubscribe();
+            }
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.rxjava;
+
+/**
+ * Наблюдатель потока long без упаковки элементов.
+ */
+public interface LongObserver {
+    default void onSubscribe(Subscription subscription) {}
+    void onNext(long item);
+    void onError(Throwable t);
+    void onComplete();
+}
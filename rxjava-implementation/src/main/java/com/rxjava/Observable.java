@@ -1,196 +1,339 @@
 package com.rxjava;
 
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import com.rxjava.internal.SpillQueue;
+import com.rxjava.operators.ObservableBuffer;
+import com.rxjava.operators.ObservableBufferTimed;
+import com.rxjava.operators.ObservableCreate;
+import com.rxjava.operators.ObservableDebounce;
+import com.rxjava.operators.ObservableDelay;
+import com.rxjava.operators.ObservableFlatMap;
+import com.rxjava.operators.ObservableFromIterable;
+import com.rxjava.operators.ObservableGroupBy;
+import com.rxjava.operators.ObservableMapFilter;
+import com.rxjava.operators.ObservableObserveOn;
+import com.rxjava.operators.ObservablePublish;
+import com.rxjava.operators.ObservableInterval;
+import com.rxjava.operators.ObservableRange;
+import com.rxjava.operators.ObservableSample;
+import com.rxjava.operators.ObservableSubscribeOn;
+import com.rxjava.operators.ObservableThrottleFirst;
+import com.rxjava.operators.ObservableTimeout;
+import com.rxjava.operators.ObservableTimer;
+import com.rxjava.operators.ObservableWindow;
+import com.rxjava.operators.ObservableWindowTimed;
+import com.rxjava.plugins.RxJavaPlugins;
 import com.rxjava.schedulers.Scheduler;
+import com.rxjava.subjects.PublishSubject;
+import com.rxjava.subjects.ReplaySubject;
 
 public abstract class Observable<T> {
+    private static final int BUFFER_SIZE = Math.max(1, Integer.getInteger("rxjava.buffer-size", 128));
     
     public abstract Subscription subscribe(Observer<T> observer);
     
+    /**
+     * Источник из произвольного кода. Эмиттер сообщает об отписке через isDisposed(),
+     * освобождение ресурсов регистрируется через setCancellable().
+     */
     public static <T> Observable<T> create(ObservableOnSubscribe<T> source) {
-        return new Observable<T>() {
-            @Override
-            public Subscription subscribe(Observer<T> observer) {
-                try {
-                    source.subscribe(observer);
-                    return new Subscription() {
-                        private boolean unsubscribed = false;
-                        
-                        @Override
-                        public void unsubscribe() {
-                            unsubscribed = true;
-                        }
-                        
-                        @Override
-                        public boolean isUnsubscribed() {
-                            return unsubscribed;
-                        }
-                    };
-                } catch (Exception e) {
-                    observer.onError(e);
-                    return new Subscription() {
-                        @Override
-                        public void unsubscribe() {}
-                        
-                        @Override
-                        public boolean isUnsubscribed() {
-                            return true;
-                        }
-                    };
-                }
-            }
-        };
+        return RxJavaPlugins.onAssembly(new ObservableCreate<>(source));
     }
     
+    /**
+     * Синхронный источник из Iterable с поддержкой queue fusion.
+     */
+    public static <T> Observable<T> fromIterable(Iterable<? extends T> source) {
+        return RxJavaPlugins.onAssembly(new ObservableFromIterable<>(source));
+    }
+
+    /**
+     * Синхронный источник чисел start, start + 1, ..., start + count - 1.
+     */
+    public static Observable<Integer> range(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        return RxJavaPlugins.onAssembly(new ObservableRange(start, count));
+    }
+
+    /**
+     * Числа 0, 1, 2, ... с периодом period; первый тик через period.
+     */
+    public static Observable<Long> interval(long period, TimeUnit unit, Scheduler scheduler) {
+        return interval(period, period, unit, scheduler);
+    }
+
+    public static Observable<Long> interval(long initialDelay, long period, TimeUnit unit, Scheduler scheduler) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period > 0 required but it was " + period);
+        }
+        return RxJavaPlugins.onAssembly(new ObservableInterval(Math.max(0L, initialDelay), period, unit, scheduler));
+    }
+
+    /**
+     * Один элемент 0L через delay, затем завершение.
+     */
+    public static Observable<Long> timer(long delay, TimeUnit unit, Scheduler scheduler) {
+        return RxJavaPlugins.onAssembly(new ObservableTimer(Math.max(0L, delay), unit, scheduler));
+    }
+
+    /**
+     * Подряд идущие map и filter сливаются в одну стадию при сборке цепочки.
+     */
     public <R> Observable<R> map(Function<T, R> mapper) {
-        return new Observable<R>() {
-            @Override
-            public Subscription subscribe(Observer<R> observer) {
-                return Observable.this.subscribe(new Observer<T>() {
-                    @Override
-                    public void onNext(T item) {
-                        try {
-                            R mapped = mapper.apply(item);
-                            observer.onNext(mapped);
-                        } catch (Exception e) {
-                            observer.onError(e);
-                        }
-                    }
-                    
-                    @Override
-                    public void onError(Throwable t) {
-                        observer.onError(t);
-                    }
-                    
-                    @Override
-                    public void onComplete() {
-                        observer.onComplete();
-                    }
-                });
-            }
-        };
+        return RxJavaPlugins.onAssembly(ObservableMapFilter.map(this, mapper));
     }
     
     public Observable<T> filter(Predicate<T> predicate) {
-        return new Observable<T>() {
-            @Override
-            public Subscription subscribe(Observer<T> observer) {
-                return Observable.this.subscribe(new Observer<T>() {
-                    @Override
-                    public void onNext(T item) {
-                        try {
-                            if (predicate.test(item)) {
-                                observer.onNext(item);
-                            }
-                        } catch (Exception e) {
-                            observer.onError(e);
-                        }
-                    }
-                    
-                    @Override
-                    public void onError(Throwable t) {
-                        observer.onError(t);
-                    }
-                    
-                    @Override
-                    public void onComplete() {
-                        observer.onComplete();
-                    }
-                });
-            }
-        };
+        return RxJavaPlugins.onAssembly(ObservableMapFilter.filter(this, predicate));
+    }
+    
+    /**
+     * Перейти к потоку int без упаковки; дальнейшие map/filter/sum работают с примитивами.
+     */
+    public IntObservable mapToInt(ToIntFunction<? super T> mapper) {
+        return IntObservable.from(this, mapper);
+    }
+
+    public LongObservable mapToLong(ToLongFunction<? super T> mapper) {
+        return LongObservable.from(this, mapper);
+    }
+
+    public DoubleObservable mapToDouble(ToDoubleFunction<? super T> mapper) {
+        return DoubleObservable.from(this, mapper);
+    }
+    
+    /**
+     * Разделить поток на parallelism веток для параллельной обработки:
+     * parallel(n).runOn(scheduler).map(...).sequential().
+     */
+    public ParallelObservable<T> parallel(int parallelism) {
+        return ParallelObservable.from(this, parallelism);
     }
     
     public <R> Observable<R> flatMap(Function<T, Observable<R>> mapper) {
-        return new Observable<R>() {
-            @Override
-            public Subscription subscribe(Observer<R> observer) {
-                return Observable.this.subscribe(new Observer<T>() {
-                    @Override
-                    public void onNext(T item) {
-                        try {
-                            Observable<R> inner = mapper.apply(item);
-                            inner.subscribe(new Observer<R>() {
-                                @Override
-                                public void onNext(R innerItem) {
-                                    observer.onNext(innerItem);
-                                }
-                                
-                                @Override
-                                public void onError(Throwable t) {
-                                    observer.onError(t);
-                                }
-                                
-                                @Override
-                                public void onComplete() {
-                                    // Don't complete outer observer on inner completion
-                                }
-                            });
-                        } catch (Exception e) {
-                            observer.onError(e);
-                        }
-                    }
-                    
-                    @Override
-                    public void onError(Throwable t) {
-                        observer.onError(t);
-                    }
-                    
-                    @Override
-                    public void onComplete() {
-                        observer.onComplete();
-                    }
-                });
-            }
-        };
+        return flatMap(mapper, Integer.MAX_VALUE);
+    }
+
+    /**
+     * flatMap, у которого одновременно активно не больше maxConcurrency внутренних Observable.
+     * Остальные элементы ждут, пока завершится один из активных источников.
+     */
+    public <R> Observable<R> flatMap(Function<T, Observable<R>> mapper, int maxConcurrency) {
+        return flatMap(mapper, maxConcurrency, null);
+    }
+
+    /**
+     * flatMap, подписывающийся на внутренние Observable на указанном планировщике,
+     * чтобы они выполнялись параллельно (например, I/O-запросы на IOScheduler).
+     */
+    public <R> Observable<R> flatMap(Function<T, Observable<R>> mapper, int maxConcurrency, Scheduler scheduler) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+        }
+        return RxJavaPlugins.onAssembly(new ObservableFlatMap<>(this, mapper, maxConcurrency, scheduler));
+    }
+
+    /**
+     * Сдвинуть элементы и завершение на delay; ошибка доставляется сразу.
+     */
+    public Observable<T> delay(long delay, TimeUnit unit, Scheduler scheduler) {
+        return RxJavaPlugins.onAssembly(new ObservableDelay<>(this, Math.max(0L, delay), unit, scheduler));
+    }
+
+    /**
+     * Завершить поток TimeoutException, если очередной элемент не пришел за timeout.
+     */
+    public Observable<T> timeout(long timeout, TimeUnit unit, Scheduler scheduler) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("timeout > 0 required but it was " + timeout);
+        }
+        return RxJavaPlugins.onAssembly(new ObservableTimeout<>(this, timeout, unit, scheduler));
+    }
+
+    /**
+     * Собирать элементы в списки по count штук.
+     */
+    public Observable<List<T>> buffer(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count > 0 required but it was " + count);
+        }
+        return RxJavaPlugins.onAssembly(new ObservableBuffer<>(this, count));
+    }
+
+    /**
+     * Выдавать накопленные элементы раз в timespan или сразу, как только их набралось maxSize.
+     */
+    public Observable<List<T>> buffer(long timespan, TimeUnit unit, int maxSize, Scheduler scheduler) {
+        if (timespan <= 0) {
+            throw new IllegalArgumentException("timespan > 0 required but it was " + timespan);
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        return RxJavaPlugins.onAssembly(new ObservableBufferTimed<>(this, timespan, unit, maxSize, scheduler));
+    }
+
+    /**
+     * Делить поток на окна по count элементов.
+     */
+    public Observable<Observable<T>> window(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count > 0 required but it was " + count);
+        }
+        return RxJavaPlugins.onAssembly(new ObservableWindow<>(this, count));
+    }
+
+    /**
+     * Открывать новое окно каждые timespan.
+     */
+    public Observable<Observable<T>> window(long timespan, TimeUnit unit, Scheduler scheduler) {
+        if (timespan <= 0) {
+            throw new IllegalArgumentException("timespan > 0 required but it was " + timespan);
+        }
+        return RxJavaPlugins.onAssembly(new ObservableWindowTimed<>(this, timespan, unit, scheduler));
+    }
+
+    /**
+     * Делить поток на группы по ключу; группы получают элементы в потоке источника и живут до его завершения.
+     */
+    public <K> Observable<GroupedObservable<K, T>> groupBy(Function<T, K> keySelector) {
+        return RxJavaPlugins.onAssembly(new ObservableGroupBy<>(this, keySelector, Integer.MAX_VALUE, 0L, TimeUnit.NANOSECONDS, null));
+    }
+
+    /**
+     * Делить поток на группы по ключу с ограниченным состоянием: не больше maxGroups открытых групп
+     * (лишняя завершается по давности активности), группа без элементов дольше idleTimeout завершается
+     * (0 - без вытеснения по времени). Каждая группа выполняется на своем Worker планировщика:
+     * порядок внутри ключа сохраняется, разные ключи обрабатываются параллельно. Без планировщика
+     * группы получают элементы в потоке источника, а вытеснение по времени недоступно.
+     */
+    public <K> Observable<GroupedObservable<K, T>> groupBy(Function<T, K> keySelector, int maxGroups,
+                                                           long idleTimeout, TimeUnit unit, Scheduler scheduler) {
+        if (maxGroups <= 0) {
+            throw new IllegalArgumentException("maxGroups > 0 required but it was " + maxGroups);
+        }
+        if (idleTimeout < 0) {
+            throw new IllegalArgumentException("idleTimeout >= 0 required but it was " + idleTimeout);
+        }
+        if (idleTimeout > 0 && scheduler == null) {
+            throw new IllegalArgumentException("scheduler required when idleTimeout > 0 but it was null");
+        }
+        return RxJavaPlugins.onAssembly(new ObservableGroupBy<>(this, keySelector, maxGroups, idleTimeout, unit, scheduler));
+    }
+
+    /**
+     * Раз в period выдавать последний элемент, пришедший с прошлой выборки.
+     */
+    public Observable<T> sample(long period, TimeUnit unit, Scheduler scheduler) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period > 0 required but it was " + period);
+        }
+        return RxJavaPlugins.onAssembly(new ObservableSample<>(this, period, unit, scheduler));
+    }
+
+    /**
+     * Выдать элемент и пропускать следующие в течение window.
+     */
+    public Observable<T> throttleFirst(long window, TimeUnit unit, Scheduler scheduler) {
+        return RxJavaPlugins.onAssembly(new ObservableThrottleFirst<>(this, Math.max(0L, window), unit, scheduler));
+    }
+
+    /**
+     * Выдать элемент, только если следующий не пришел в течение timeout.
+     */
+    public Observable<T> debounce(long timeout, TimeUnit unit, Scheduler scheduler) {
+        return RxJavaPlugins.onAssembly(new ObservableDebounce<>(this, Math.max(0L, timeout), unit, scheduler));
     }
 
     public Observable<T> subscribeOn(Scheduler scheduler) {
-        return new Observable<T>() {
-            @Override
-            public Subscription subscribe(Observer<T> observer) {
-                scheduler.execute(() -> {
-                    Observable.this.subscribe(observer);
-                });
-                return createEmptySubscription();
-            }
-        };
+        return RxJavaPlugins.onAssembly(new ObservableSubscribeOn<>(this, scheduler));
     }
 
     public Observable<T> observeOn(Scheduler scheduler) {
-        return new Observable<T>() {
-            @Override
-            public Subscription subscribe(Observer<T> observer) {
-                return Observable.this.subscribe(new Observer<T>() {
-                    @Override
-                    public void onNext(T item) {
-                        scheduler.execute(() -> observer.onNext(item));
-                    }
-                    
-                    @Override
-                    public void onError(Throwable t) {
-                        scheduler.execute(() -> observer.onError(t));
-                    }
-                    
-                    @Override
-                    public void onComplete() {
-                        scheduler.execute(() -> observer.onComplete());
-                    }
-                });
-            }
-        };
-    }
-
-    private Subscription createEmptySubscription() {
-        return new Subscription() {
-            @Override
-            public void unsubscribe() {}
-            
-            @Override
-            public boolean isUnsubscribed() {
-                return true;
-            }
-        };
+        return observeOn(scheduler, bufferSize());
+    }
+
+    /**
+     * Переключить доставку элементов на планировщик.
+     * bufferSize задает размер кольцевого буфера SPSC-очереди между производителем и drain-циклом.
+     */
+    public Observable<T> observeOn(Scheduler scheduler, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        return RxJavaPlugins.onAssembly(new ObservableObserveOn<>(this, scheduler, bufferSize));
+    }
+
+    /**
+     * observeOn, который держит в куче не больше maxHeapItems ожидающих элементов,
+     * а при отставании потребителя сериализует остальные в mmap-сегменты в каталоге dir
+     * и выдает их по порядку, когда потребитель догоняет. Файлы удаляются при завершении и отписке.
+     */
+    public Observable<T> onBackpressureSpill(SpillSerializer<T> serializer, Path dir, int maxHeapItems, Scheduler scheduler) {
+        return onBackpressureSpill(serializer, dir, maxHeapItems, SpillQueue.DEFAULT_SEGMENT_SIZE, scheduler);
+    }
+
+    /**
+     * onBackpressureSpill с сегментами по segmentSize байт (по умолчанию 32 МБ). Элемент больше
+     * сегмента получает свой сегмент по размеру.
+     */
+    public Observable<T> onBackpressureSpill(SpillSerializer<T> serializer, Path dir, int maxHeapItems, int segmentSize,
+                                             Scheduler scheduler) {
+        if (maxHeapItems < 0) {
+            throw new IllegalArgumentException("maxHeapItems >= 0 required but it was " + maxHeapItems);
+        }
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("segmentSize > 0 required but it was " + segmentSize);
+        }
+        return RxJavaPlugins.onAssembly(new ObservableObserveOn<>(this, scheduler,
+                () -> new SpillQueue<>(serializer, dir, maxHeapItems, segmentSize)));
+    }
+
+    /**
+     * Разделить одну подписку на источник между наблюдателями: источник подписывается при connect(),
+     * наблюдатели получают только элементы, пришедшие после их подписки.
+     */
+    public ConnectableObservable<T> publish() {
+        return RxJavaPlugins.onAssembly(new ObservablePublish<>(this, PublishSubject::create));
+    }
+
+    /**
+     * Как publish(), но новые наблюдатели сначала получают последние bufferSize элементов.
+     */
+    public ConnectableObservable<T> replay(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        return RxJavaPlugins.onAssembly(new ObservablePublish<>(this, () -> ReplaySubject.createWithSize(bufferSize)));
+    }
+
+    /**
+     * publish().refCount(): источник подключается при первом наблюдателе и отключается с уходом последнего.
+     */
+    public Observable<T> share() {
+        return publish().refCount();
+    }
+
+    /**
+     * Преобразовать в Flowable, применяя стратегию к элементам, на которые у подписчика нет спроса.
+     */
+    public Flowable<T> toFlowable(BackpressureStrategy strategy) {
+        return Flowable.create(emitter -> Observable.this.subscribe(emitter), strategy);
+    }
+
+    /**
+     * Размер буфера операторов по умолчанию (системное свойство rxjava.buffer-size, по умолчанию 128).
+     */
+    public static int bufferSize() {
+        return BUFFER_SIZE;
     }
 }
\ No newline at end of file
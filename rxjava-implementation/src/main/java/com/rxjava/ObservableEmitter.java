@@ -0,0 +1,19 @@
+package com.rxjava;
+
+/**
+ * Observer, который получает источник в Observable.create().
+ * Источник должен проверять isDisposed() в циклах эмиссии и регистрировать
+ * освобождение своих ресурсов через setCancellable().
+ */
+public interface ObservableEmitter<T> extends Observer<T> {
+    /**
+     * Подписчик отписался или поток уже завершен; дальнейшие сигналы игнорируются.
+     */
+    boolean isDisposed();
+
+    /**
+     * Установить действие отмены. Выполняется при отписке или после onError/onComplete;
+     * если эмиттер уже освобожден, выполняется сразу. Предыдущее действие заменяется и выполняется.
+     */
+    void setCancellable(Cancellable cancellable);
+}
@@ -1,5 +1,5 @@
 package com.rxjava;
 
 public interface ObservableOnSubscribe<T> {
-    void subscribe(Observer<T> observer) throws Exception;
-}
\ No newline at end of file
+    void subscribe(ObservableEmitter<T> emitter) throws Exception;
+}
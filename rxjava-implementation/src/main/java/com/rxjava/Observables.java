@@ -0,0 +1,80 @@
+package com.rxjava;
+
+import com.rxjava.operators.ObservableDecodeLines;
+import com.rxjava.operators.ObservableReadChannel;
+import com.rxjava.operators.ObservableWriteGathering;
+import com.rxjava.plugins.RxJavaPlugins;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousByteChannel;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Источники и приемники ввода-вывода на NIO и кэш асинхронных поисков.
+ */
+public final class Observables {
+    private Observables() {
+    }
+
+    /**
+     * Читает файл кусками до chunkSize байт через AsynchronousFileChannel, не занимая поток
+     * на время ожидания диска. Кусок действителен только до возврата из onNext; чтобы сохранить
+     * данные, их нужно скопировать. Файл открывается заново при каждой подписке.
+     */
+    public static Observable<ByteBuffer> fromFile(Path path, int chunkSize) {
+        return RxJavaPlugins.onAssembly(new ObservableReadChannel(
+            () -> AsynchronousFileChannel.open(path, StandardOpenOption.READ), chunkSize));
+    }
+
+    /**
+     * Читает асинхронный канал (например, AsynchronousSocketChannel) кусками до chunkSize байт.
+     * Канал закрывается по завершении или отписке, поэтому подписаться можно один раз.
+     */
+    public static Observable<ByteBuffer> fromChannel(AsynchronousByteChannel channel, int chunkSize) {
+        return RxJavaPlugins.onAssembly(new ObservableReadChannel(() -> channel, chunkSize));
+    }
+
+    /**
+     * Строки файла в кодировке charset; файл читается потоково, память не зависит от его размера.
+     */
+    public static Observable<String> lines(Path path, Charset charset, int chunkSize) {
+        return decodeLines(fromFile(path, chunkSize), charset);
+    }
+
+    /**
+     * Декодирует поток кусков в строки, разделенные '\n'.
+     */
+    public static Observable<String> decodeLines(Observable<ByteBuffer> chunks, Charset charset) {
+        return RxJavaPlugins.onAssembly(new ObservableDecodeLines(chunks, charset));
+    }
+
+    /**
+     * Записывает буферы в канал пачками до maxBatch буферов одним gathering write
+     * и по завершении выдает число записанных байт.
+     */
+    public static Observable<Long> writeTo(Observable<ByteBuffer> source, GatheringByteChannel channel, int maxBatch) {
+        return RxJavaPlugins.onAssembly(new ObservableWriteGathering(source, channel, maxBatch));
+    }
+
+    /**
+     * Кэш поисков по ключу для flatMap(cache): одновременные промахи по ключу разделяют одну
+     * подписку на loader, результат (первый элемент) хранится ttl, при превышении maxSize
+     * вытесняется давно не использованный ключ.
+     */
+    public static <K, V> CachedLookup<K, V> cachedLookup(Function<? super K, ? extends Observable<V>> loader,
+                                                          int maxSize, long ttl, TimeUnit unit) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        if (ttl <= 0) {
+            throw new IllegalArgumentException("ttl > 0 required but it was " + ttl);
+        }
+        return new CachedLookup<>(loader, maxSize, unit.toNanos(ttl));
+    }
+}
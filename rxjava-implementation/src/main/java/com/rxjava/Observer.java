@@ -1,7 +1,12 @@
 package com.rxjava;
 
 public interface Observer<T> {
+    /**
+     * Вызывается до первого сигнала и передает подписку на источник,
+     * чтобы ее можно было отменить еще во время синхронной эмиссии.
+     */
+    default void onSubscribe(Subscription subscription) {}
     void onNext(T item);
     void onError(Throwable t);
     void onComplete();
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.rxjava;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import com.rxjava.operators.ParallelFilter;
+import com.rxjava.operators.ParallelFromObservable;
+import com.rxjava.operators.ParallelJoin;
+import com.rxjava.operators.ParallelMap;
+import com.rxjava.operators.ParallelRunOn;
+import com.rxjava.operators.ParallelSortedJoin;
+import com.rxjava.plugins.RxJavaPlugins;
+import com.rxjava.schedulers.Scheduler;
+
+/**
+ * Поток, разделенный на parallelism веток (rails). Элементы раздаются веткам по кругу,
+ * после runOn(scheduler) каждая ветка обрабатывается своим Worker, то есть на своем ядре.
+ * Обратно в обычный Observable ветки сливаются через sequential() или sequentialOrdered().
+ */
+public abstract class ParallelObservable<T> {
+
+    public abstract int parallelism();
+
+    /**
+     * Подписать по одному наблюдателю на каждую ветку; rails.length == parallelism().
+     */
+    public abstract void subscribe(RailObserver<T>[] rails);
+
+    public static <T> ParallelObservable<T> from(Observable<T> source, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism > 0 required but it was " + parallelism);
+        }
+        return new ParallelFromObservable<>(source, parallelism);
+    }
+
+    public <R> ParallelObservable<R> map(Function<T, R> mapper) {
+        return new ParallelMap<>(this, mapper);
+    }
+
+    public ParallelObservable<T> filter(Predicate<T> predicate) {
+        return new ParallelFilter<>(this, predicate);
+    }
+
+    /**
+     * Каждая ветка получает свою SPSC-очередь и свой Worker планировщика;
+     * стадии после runOn выполняются параллельно.
+     */
+    public ParallelObservable<T> runOn(Scheduler scheduler) {
+        return runOn(scheduler, Observable.bufferSize());
+    }
+
+    public ParallelObservable<T> runOn(Scheduler scheduler, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        return new ParallelRunOn<>(this, scheduler, bufferSize);
+    }
+
+    /**
+     * Слить ветки в том порядке, в котором готовы результаты.
+     */
+    public Observable<T> sequential() {
+        return RxJavaPlugins.onAssembly(new ParallelJoin<>(this, Observable.bufferSize()));
+    }
+
+    /**
+     * Слить ветки в исходном порядке элементов. Результат выдается, когда известен следующий
+     * по номеру элемент, поэтому медленная ветка задерживает выдачу остальных.
+     */
+    public Observable<T> sequentialOrdered() {
+        return RxJavaPlugins.onAssembly(new ParallelSortedJoin<>(this, Observable.bufferSize()));
+    }
+}
@@ -0,0 +1,16 @@
+package com.rxjava;
+
+/**
+ * Наблюдатель одной ветки ParallelObservable. Вместе с элементом передается его порядковый
+ * номер в исходном потоке: по нему sequentialOrdered() восстанавливает исходный порядок.
+ * В пределах ветки номера возрастают.
+ */
+public interface RailObserver<T> {
+    /**
+     * Подписка отменяет всю параллельную цепочку, а не только эту ветку.
+     */
+    default void onSubscribe(Subscription subscription) {}
+    void onNext(long index, T item);
+    void onError(Throwable t);
+    void onComplete();
+}
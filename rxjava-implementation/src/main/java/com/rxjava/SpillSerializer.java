@@ -0,0 +1,12 @@
+package com.rxjava;
+
+import java.io.IOException;
+
+/**
+ * Преобразование элементов в байты для выгрузки на диск в onBackpressureSpill().
+ */
+public interface SpillSerializer<T> {
+    byte[] serialize(T item) throws IOException;
+
+    T deserialize(byte[] bytes) throws IOException;
+}
@@ -0,0 +1,52 @@
+package com.rxjava.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Вспомогательные операции над счетчиком запрошенных элементов (request(n)).
+ * Long.MAX_VALUE означает неограниченный запрос.
+ */
+public final class BackpressureHelper {
+    private BackpressureHelper() {
+    }
+
+    public static long addCap(long a, long b) {
+        long u = a + b;
+        return u < 0L ? Long.MAX_VALUE : u;
+    }
+
+    /**
+     * Атомарно добавить n к счетчику с насыщением и вернуть предыдущее значение.
+     */
+    public static long add(AtomicLong requested, long n) {
+        for (;;) {
+            long r = requested.get();
+            if (r == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            long u = addCap(r, n);
+            if (requested.compareAndSet(r, u)) {
+                return r;
+            }
+        }
+    }
+
+    /**
+     * Атомарно вычесть выданные элементы и вернуть новое значение счетчика.
+     */
+    public static long produced(AtomicLong requested, long n) {
+        for (;;) {
+            long current = requested.get();
+            if (current == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            long update = current - n;
+            if (update < 0L) {
+                update = 0L;
+            }
+            if (requested.compareAndSet(current, update)) {
+                return update;
+            }
+        }
+    }
+}
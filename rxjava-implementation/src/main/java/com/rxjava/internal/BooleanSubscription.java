@@ -0,0 +1,20 @@
+package com.rxjava.internal;
+
+import com.rxjava.Subscription;
+
+/**
+ * Подписка-флаг для синхронных источников: источник проверяет isUnsubscribed() в цикле эмиссии.
+ */
+public final class BooleanSubscription implements Subscription {
+    private volatile boolean unsubscribed;
+
+    @Override
+    public void unsubscribe() {
+        unsubscribed = true;
+    }
+
+    @Override
+    public boolean isUnsubscribed() {
+        return unsubscribed;
+    }
+}
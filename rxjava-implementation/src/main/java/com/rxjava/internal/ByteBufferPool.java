@@ -0,0 +1,69 @@
+package com.rxjava.internal;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Пул direct-буферов одного размера. Direct-память дорого выделять и ее освобождает только GC,
+ * поэтому источники берут буфер из пула на время подписки и возвращают его по завершении.
+ */
+public final class ByteBufferPool {
+    private static final int MAX_POOLED = 64;
+    private static final Map<Integer, ByteBufferPool> POOLS = new ConcurrentHashMap<>();
+
+    private final int bufferSize;
+    private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    private ByteBufferPool(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Общий пул буферов размера bufferSize.
+     */
+    public static ByteBufferPool forSize(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        return POOLS.computeIfAbsent(bufferSize, ByteBufferPool::new);
+    }
+
+    public int bufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Очищенный буфер из пула или новый, если пул пуст.
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = free.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        pooled.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Вернуть буфер в пул; лишние буферы сверх MAX_POOLED остаются GC.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer.capacity() != bufferSize || !buffer.isDirect()) {
+            return;
+        }
+        if (pooled.incrementAndGet() <= MAX_POOLED) {
+            free.offer(buffer);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+
+    public int pooledCount() {
+        return pooled.get();
+    }
+}
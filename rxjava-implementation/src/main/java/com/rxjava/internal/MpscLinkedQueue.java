@@ -0,0 +1,82 @@
+package com.rxjava.internal;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Неограниченная очередь много-производителей/один-потребитель (алгоритм Вьюкова).
+ * offer не блокируется и выполняет один getAndSet, poll вызывается только одним потоком.
+ * Узел, пройденный потребителем, больше не виден производителям, поэтому потребитель
+ * оставляет его в запасе, а следующий offer забирает оттуда вместо new: при чередовании
+ * offer/poll (типичный drain-цикл Worker) очередь не выделяет память.
+ */
+public final class MpscLinkedQueue<T> implements SimpleQueue<T> {
+    private final AtomicReference<Node<T>> producerNode;
+    private final AtomicReference<Node<T>> spare = new AtomicReference<>();
+    private Node<T> consumerNode;
+
+    public MpscLinkedQueue() {
+        Node<T> stub = new Node<>(null);
+        this.producerNode = new AtomicReference<>(stub);
+        this.consumerNode = stub;
+    }
+
+    @Override
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new NullPointerException("Элемент очереди не может быть null");
+        }
+        Node<T> node = spare.getAndSet(null);
+        if (node == null) {
+            node = new Node<>(item);
+        } else {
+            node.value = item;
+            node.lazySet(null);
+        }
+        Node<T> prev = producerNode.getAndSet(node);
+        prev.lazySet(node);
+        return true;
+    }
+
+    @Override
+    public T poll() {
+        Node<T> current = consumerNode;
+        Node<T> next = current.get();
+        if (next == null) {
+            if (current == producerNode.get()) {
+                return null;
+            }
+            // Производитель уже занял место, но еще не связал узел
+            while ((next = current.get()) == null) {
+                Thread.onSpinWait();
+            }
+        }
+        T item = next.value;
+        next.value = null;
+        consumerNode = next;
+        // Прежний узел больше не связан ни с производителями, ни с потребителем
+        if (spare.get() == null) {
+            spare.lazySet(current);
+        }
+        return item;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return consumerNode == producerNode.get();
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            // сливаем всё, что уже опубликовано производителями
+        }
+    }
+
+    static final class Node<T> extends AtomicReference<Node<T>> {
+        T value;
+
+        Node(T value) {
+            this.value = value;
+        }
+    }
+}
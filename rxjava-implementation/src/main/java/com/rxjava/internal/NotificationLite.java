@@ -0,0 +1,51 @@
+package com.rxjava.internal;
+
+import com.rxjava.Observer;
+
+/**
+ * Упаковка терминальных сигналов в объекты, чтобы хранить их в одной очереди с элементами.
+ * Обычные элементы хранятся как есть, без обертки.
+ */
+public final class NotificationLite {
+    private static final Object COMPLETE = new Object();
+
+    private NotificationLite() {
+    }
+
+    public static Object complete() {
+        return COMPLETE;
+    }
+
+    public static Object error(Throwable t) {
+        return new ErrorNotification(t);
+    }
+
+    public static boolean isTerminal(Object notification) {
+        return notification == COMPLETE || notification instanceof ErrorNotification;
+    }
+
+    /**
+     * Передать сигнал наблюдателю; возвращает true, если сигнал был терминальным.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> boolean accept(Object notification, Observer<T> observer) {
+        if (notification == COMPLETE) {
+            observer.onComplete();
+            return true;
+        }
+        if (notification instanceof ErrorNotification) {
+            observer.onError(((ErrorNotification) notification).error);
+            return true;
+        }
+        observer.onNext((T) notification);
+        return false;
+    }
+
+    static final class ErrorNotification {
+        final Throwable error;
+
+        ErrorNotification(Throwable error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.rxjava.internal;
+
+import com.rxjava.Observer;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Реестр подписчиков Subject без блокировок и без CopyOnWriteArrayList.
+ * Подписчики разложены по полосам (stripes), число полос растет примерно как sqrt(n)
+ * (небольшое число подписчиков хранится в одном плоском массиве),
+ * а вся таблица неизменяема и заменяется одним CAS. Добавление и удаление копируют
+ * только массив полос и одну полосу (O(sqrt(n)) вместо O(n)), а рассылка обходит
+ * массивы без аллокаций.
+ */
+public final class ObserverRegistry<T> implements Observer<T> {
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final Table EMPTY = new Table(new Observer[][] { new Observer[0] }, 0);
+
+    @SuppressWarnings("unchecked")
+    private final AtomicReference<Table<T>> table = new AtomicReference<>(EMPTY);
+
+    public void add(Observer<T> observer) {
+        for (;;) {
+            Table<T> current = table.get();
+            if (table.compareAndSet(current, current.with(observer))) {
+                return;
+            }
+        }
+    }
+
+    public boolean remove(Observer<T> observer) {
+        for (;;) {
+            Table<T> current = table.get();
+            Table<T> next = current.without(observer);
+            if (next == current) {
+                return false;
+            }
+            if (table.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    public int size() {
+        return table.get().size;
+    }
+
+    public boolean isEmpty() {
+        return table.get().size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void clear() {
+        table.set(EMPTY);
+    }
+
+    @Override
+    public void onNext(T item) {
+        for (Observer<T>[] stripe : table.get().stripes) {
+            for (Observer<T> observer : stripe) {
+                observer.onNext(item);
+            }
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        for (Observer<T>[] stripe : table.get().stripes) {
+            for (Observer<T> observer : stripe) {
+                observer.onError(t);
+            }
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        for (Observer<T>[] stripe : table.get().stripes) {
+            for (Observer<T> observer : stripe) {
+                observer.onComplete();
+            }
+        }
+    }
+
+    static final class Table<T> {
+        /**
+         * До этого размера подписчики хранятся в одном плоском массиве.
+         */
+        static final int FLAT_LIMIT = 64;
+
+        final Observer<T>[][] stripes;
+        final int size;
+
+        Table(Observer<T>[][] stripes, int size) {
+            this.stripes = stripes;
+            this.size = size;
+        }
+
+        static int stripeOf(Object observer, int stripeCount) {
+            int h = System.identityHashCode(observer);
+            return (h ^ (h >>> 16)) & (stripeCount - 1);
+        }
+
+        Table<T> with(Observer<T> observer) {
+            int n = stripes.length;
+            int newSize = size + 1;
+            if (newSize > FLAT_LIMIT && newSize > 2 * n * n) {
+                return rebuild(observer, null, n * 2, newSize);
+            }
+            int k = stripeOf(observer, n);
+            Observer<T>[] stripe = stripes[k];
+            Observer<T>[] newStripe = Arrays.copyOf(stripe, stripe.length + 1);
+            newStripe[stripe.length] = observer;
+            Observer<T>[][] newStripes = stripes.clone();
+            newStripes[k] = newStripe;
+            return new Table<>(newStripes, newSize);
+        }
+
+        @SuppressWarnings("unchecked")
+        Table<T> without(Observer<T> observer) {
+            int n = stripes.length;
+            int k = stripeOf(observer, n);
+            Observer<T>[] stripe = stripes[k];
+            int j = -1;
+            for (int i = 0; i < stripe.length; i++) {
+                if (stripe[i] == observer) {
+                    j = i;
+                    break;
+                }
+            }
+            if (j < 0) {
+                return this;
+            }
+            int newSize = size - 1;
+            if (n > 1 && newSize <= FLAT_LIMIT / 2) {
+                return rebuild(null, observer, 1, newSize);
+            }
+            if (n > 1 && newSize < n * n / 8) {
+                return rebuild(null, observer, n / 2, newSize);
+            }
+            Observer<T>[] newStripe = new Observer[stripe.length - 1];
+            System.arraycopy(stripe, 0, newStripe, 0, j);
+            System.arraycopy(stripe, j + 1, newStripe, j, stripe.length - j - 1);
+            Observer<T>[][] newStripes = stripes.clone();
+            newStripes[k] = newStripe;
+            return new Table<>(newStripes, newSize);
+        }
+
+        /**
+         * Перераспределить подписчиков по новому числу полос (амортизированно O(1) на операцию).
+         */
+        @SuppressWarnings("unchecked")
+        private Table<T> rebuild(Observer<T> added, Observer<T> removed, int stripeCount, int newSize) {
+            int[] counts = new int[stripeCount];
+            boolean skipped = false;
+            for (Observer<T>[] stripe : stripes) {
+                for (Observer<T> o : stripe) {
+                    if (o == removed && !skipped) {
+                        skipped = true;
+                        continue;
+                    }
+                    counts[stripeOf(o, stripeCount)]++;
+                }
+            }
+            if (added != null) {
+                counts[stripeOf(added, stripeCount)]++;
+            }
+            Observer<T>[][] newStripes = new Observer[stripeCount][];
+            for (int i = 0; i < stripeCount; i++) {
+                newStripes[i] = new Observer[counts[i]];
+                counts[i] = 0;
+            }
+            skipped = false;
+            for (Observer<T>[] stripe : stripes) {
+                for (Observer<T> o : stripe) {
+                    if (o == removed && !skipped) {
+                        skipped = true;
+                        continue;
+                    }
+                    int k = stripeOf(o, stripeCount);
+                    newStripes[k][counts[k]++] = o;
+                }
+            }
+            if (added != null) {
+                int k = stripeOf(added, stripeCount);
+                newStripes[k][counts[k]++] = added;
+            }
+            return new Table<>(newStripes, newSize);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.rxjava.internal;
+
+public final class Pow2 {
+    private Pow2() {
+    }
+
+    /**
+     * Округлить вверх до ближайшей степени двойки.
+     */
+    public static int roundToPowerOfTwo(int value) {
+        if (value <= 1) {
+            return 1;
+        }
+        return 1 << (32 - Integer.numberOfLeadingZeros(value - 1));
+    }
+}
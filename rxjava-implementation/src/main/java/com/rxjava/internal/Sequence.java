@@ -0,0 +1,46 @@
+package com.rxjava.internal;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Счетчик последовательности, отделенный от соседних полей кэш-линиями с обеих сторон:
+ * курсор производителя и курсоры подписчиков пишутся разными ядрами и не должны
+ * делить кэш-линию (false sharing). Отступы заданы иерархией классов, потому что JVM
+ * не переставляет поля между суперклассом и подклассом.
+ */
+public final class Sequence extends SequenceRhsPadding {
+    private static final AtomicLongFieldUpdater<SequenceValue> VALUE =
+            AtomicLongFieldUpdater.newUpdater(SequenceValue.class, "value");
+
+    public Sequence(long initial) {
+        VALUE.lazySet(this, initial);
+    }
+
+    public long get() {
+        return value;
+    }
+
+    public void set(long newValue) {
+        value = newValue;
+    }
+
+    /**
+     * Запись с release-семантикой, без полного барьера: достаточно для публикации
+     * единственным писателем.
+     */
+    public void lazySet(long newValue) {
+        VALUE.lazySet(this, newValue);
+    }
+}
+
+abstract class SequenceLhsPadding {
+    long p1, p2, p3, p4, p5, p6, p7;
+}
+
+abstract class SequenceValue extends SequenceLhsPadding {
+    volatile long value;
+}
+
+abstract class SequenceRhsPadding extends SequenceValue {
+    long p9, p10, p11, p12, p13, p14, p15;
+}
@@ -0,0 +1,18 @@
+package com.rxjava.internal;
+
+/**
+ * Минимальный интерфейс очереди для drain-циклов операторов.
+ * В отличие от java.util.Queue не требует итераторов и размера.
+ */
+public interface SimpleQueue<T> {
+    boolean offer(T item);
+
+    /**
+     * Забрать следующий элемент или null, если очередь пуста.
+     */
+    T poll() throws Exception;
+
+    boolean isEmpty();
+
+    void clear();
+}
@@ -0,0 +1,273 @@
+package com.rxjava.internal;
+
+import com.rxjava.SpillSerializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+
+/**
+ * Очередь для одного производителя и одного потребителя, которая держит в куче не больше
+ * maxHeapItems элементов, а остальные сериализует в отображенные в память (mmap)
+ * файлы-сегменты. Сегмент только дописывается; прочитанные сегменты возвращаются
+ * в небольшой пул и переиспользуются, лишние закрываются, сразу отключаются от памяти
+ * и удаляются: после всплеска на гигабайты не остается ни отображений, ни места на диске.
+ * Порядок сохраняется: пока на диске есть элементы, новые элементы тоже пишутся на диск.
+ * Сериализация и десериализация выполняются вне блокировки; под блокировкой только
+ * выбор места и копирование байтов.
+ */
+public final class SpillQueue<T> implements SimpleQueue<T> {
+    public static final int DEFAULT_SEGMENT_SIZE = 32 * 1024 * 1024;
+    private static final int MAX_POOLED_SEGMENTS = 2;
+
+    private final SpillSerializer<T> serializer;
+    private final Path dir;
+    private final int maxHeapItems;
+    private final int segmentSize;
+
+    private final ArrayDeque<T> heap = new ArrayDeque<>();
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private final ArrayDeque<Segment> pool = new ArrayDeque<>();
+    private long diskCount;
+    private boolean closed;
+
+    public SpillQueue(SpillSerializer<T> serializer, Path dir, int maxHeapItems, int segmentSize) {
+        this.serializer = serializer;
+        this.dir = dir;
+        this.maxHeapItems = maxHeapItems;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Ошибка записи на диск выбрасывается как UncheckedIOException.
+     */
+    @Override
+    public boolean offer(T item) {
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            if (diskCount == 0 && heap.size() < maxHeapItems) {
+                heap.offer(item);
+                return true;
+            }
+        }
+        try {
+            byte[] bytes = serializer.serialize(item);
+            synchronized (this) {
+                if (closed) {
+                    return false;
+                }
+                append(bytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+
+    @Override
+    public T poll() throws Exception {
+        byte[] bytes;
+        synchronized (this) {
+            T item = heap.poll();
+            if (item != null || diskCount == 0) {
+                return item;
+            }
+            bytes = read();
+        }
+        return serializer.deserialize(bytes);
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return heap.isEmpty() && diskCount == 0;
+    }
+
+    /**
+     * Число элементов, выгруженных на диск и еще не прочитанных.
+     */
+    public synchronized long spilledCount() {
+        return diskCount;
+    }
+
+    /**
+     * Очистить очередь и удалить все файлы сегментов. После clear() очередь не принимает элементы.
+     */
+    @Override
+    public synchronized void clear() {
+        closed = true;
+        heap.clear();
+        diskCount = 0;
+        for (Segment s : segments) {
+            s.close();
+        }
+        segments.clear();
+        for (Segment s : pool) {
+            s.close();
+        }
+        pool.clear();
+    }
+
+    private void append(byte[] bytes) throws IOException {
+        int need = Integer.BYTES + bytes.length;
+        Segment tail = segments.peekLast();
+        if (tail == null || tail.remaining() < need) {
+            tail = acquire(need);
+            segments.addLast(tail);
+        }
+        tail.write(bytes);
+        diskCount++;
+    }
+
+    private byte[] read() {
+        Segment head = segments.peekFirst();
+        while (head.readPos == head.writePos) {
+            segments.pollFirst();
+            release(head);
+            head = segments.peekFirst();
+        }
+        byte[] bytes = head.read();
+        if (--diskCount == 0) {
+            // Диск опустел: все сегменты можно переиспользовать с начала
+            Segment s;
+            while ((s = segments.pollFirst()) != null) {
+                release(s);
+            }
+        }
+        return bytes;
+    }
+
+    private Segment acquire(int need) throws IOException {
+        if (need <= segmentSize) {
+            Segment pooled = pool.poll();
+            if (pooled != null) {
+                return pooled;
+            }
+        }
+        return Segment.create(dir, Math.max(segmentSize, need));
+    }
+
+    private void release(Segment segment) {
+        if (segment.size == segmentSize && pool.size() < MAX_POOLED_SEGMENTS) {
+            segment.readPos = 0;
+            segment.writePos = 0;
+            pool.offer(segment);
+        } else {
+            segment.close();
+        }
+    }
+
+    /**
+     * Файл-сегмент, целиком отображенный в память. Записи: длина (int) и байты.
+     */
+    static final class Segment {
+        // Unsafe.invokeCleaner снимает отображение сразу; null, если JVM не дает к нему доступа
+        private static final Object UNSAFE;
+        private static final Method INVOKE_CLEANER;
+
+        static {
+            Object unsafe = null;
+            Method invokeCleaner = null;
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Field field = unsafeClass.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                unsafe = field.get(null);
+                invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                unsafe = null;
+                invokeCleaner = null;
+            }
+            UNSAFE = unsafe;
+            INVOKE_CLEANER = invokeCleaner;
+        }
+
+        final Path file;
+        final int size;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        int writePos;
+        int readPos;
+
+        private Segment(Path file, int size, FileChannel channel, MappedByteBuffer buffer) {
+            this.file = file;
+            this.size = size;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path dir, int size) throws IOException {
+            Path file = Files.createTempFile(dir, "rxjava-spill-", ".seg");
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+            try {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                return new Segment(file, size, channel, buffer);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        int remaining() {
+            return size - writePos;
+        }
+
+        void write(byte[] bytes) {
+            buffer.putInt(writePos, bytes.length);
+            buffer.position(writePos + Integer.BYTES);
+            buffer.put(bytes);
+            writePos += Integer.BYTES + bytes.length;
+        }
+
+        byte[] read() {
+            int length = buffer.getInt(readPos);
+            byte[] bytes = new byte[length];
+            buffer.position(readPos + Integer.BYTES);
+            buffer.get(bytes);
+            readPos += Integer.BYTES + length;
+            return bytes;
+        }
+
+        /**
+         * Вызывается под блокировкой очереди: после close() к буферу сегмента никто не обращается,
+         * иначе обращение к снятому отображению обрушило бы JVM.
+         */
+        void close() {
+            // С DELETE_ON_CLOSE на POSIX-системах файл исчезает из каталога сразу после открытия
+            // и не переживает аварийное завершение JVM
+            try {
+                channel.close();
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Файл во временном каталоге, повторная попытка не нужна
+            }
+            unmap(buffer);
+        }
+
+        /**
+         * Снять отображение сразу, а не при сборке мусора: пока оно живо, удаленный файл занимает
+         * место на диске, а отображение - адресное пространство. Если JVM не дает доступа к
+         * Unsafe.invokeCleaner, отображение по-прежнему освобождает сборщик мусора.
+         */
+        private static void unmap(MappedByteBuffer buffer) {
+            if (INVOKE_CLEANER == null) {
+                return;
+            }
+            try {
+                INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            } catch (ReflectiveOperationException | RuntimeException ignored) {
+                // Отображение освободит сборщик мусора
+            }
+        }
+    }
+}
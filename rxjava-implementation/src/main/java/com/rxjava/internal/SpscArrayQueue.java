@@ -0,0 +1,61 @@
+package com.rxjava.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ограниченная очередь один-производитель/один-потребитель на кольцевом массиве.
+ * offer возвращает false, если очередь заполнена.
+ */
+public final class SpscArrayQueue<T> implements SimpleQueue<T> {
+    private final AtomicReferenceArray<T> buffer;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    public SpscArrayQueue(int capacity) {
+        int size = Pow2.roundToPowerOfTwo(Math.max(2, capacity));
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    @Override
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new NullPointerException("Элемент очереди не может быть null");
+        }
+        long index = producerIndex.get();
+        int offset = (int) index & mask;
+        if (buffer.get(offset) != null) {
+            return false;
+        }
+        buffer.lazySet(offset, item);
+        producerIndex.lazySet(index + 1);
+        return true;
+    }
+
+    @Override
+    public T poll() {
+        long index = consumerIndex.get();
+        int offset = (int) index & mask;
+        T item = buffer.get(offset);
+        if (item == null) {
+            return null;
+        }
+        buffer.lazySet(offset, null);
+        consumerIndex.lazySet(index + 1);
+        return item;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return producerIndex.get() == consumerIndex.get();
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            // сливаем всё, что уже опубликовано производителем
+        }
+    }
+}
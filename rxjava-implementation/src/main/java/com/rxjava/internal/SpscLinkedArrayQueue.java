@@ -0,0 +1,119 @@
+package com.rxjava.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Очередь один-производитель/один-потребитель на кольцевых массивах фиксированного размера.
+ * Пока потребитель успевает, производитель переиспользует текущий массив без аллокаций;
+ * если массив заполнен, к нему привязывается следующий массив того же размера.
+ */
+public final class SpscLinkedArrayQueue<T> implements SimpleQueue<T> {
+    private static final int MAX_LOOK_AHEAD_STEP = 4096;
+    private static final Object HAS_NEXT = new Object();
+
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final int producerLookAheadStep;
+    private long producerLookAhead;
+    private final int producerMask;
+    private AtomicReferenceArray<Object> producerBuffer;
+
+    private final int consumerMask;
+    private AtomicReferenceArray<Object> consumerBuffer;
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    public SpscLinkedArrayQueue(int bufferSize) {
+        int capacity = Pow2.roundToPowerOfTwo(Math.max(8, bufferSize));
+        int mask = capacity - 1;
+        AtomicReferenceArray<Object> buffer = new AtomicReferenceArray<>(capacity + 1);
+        this.producerBuffer = buffer;
+        this.producerMask = mask;
+        this.producerLookAheadStep = Math.min(capacity / 4, MAX_LOOK_AHEAD_STEP);
+        this.producerLookAhead = mask - 1;
+        this.consumerBuffer = buffer;
+        this.consumerMask = mask;
+    }
+
+    @Override
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new NullPointerException("Элемент очереди не может быть null");
+        }
+        AtomicReferenceArray<Object> buffer = producerBuffer;
+        long index = producerIndex.get();
+        int mask = producerMask;
+        int offset = (int) index & mask;
+        if (index < producerLookAhead) {
+            return writeToQueue(buffer, item, index, offset);
+        }
+        int lookAheadStep = producerLookAheadStep;
+        int lookAheadOffset = (int) (index + lookAheadStep) & mask;
+        if (buffer.get(lookAheadOffset) == null) {
+            producerLookAhead = index + lookAheadStep - 1;
+            return writeToQueue(buffer, item, index, offset);
+        }
+        if (buffer.get((int) (index + 1) & mask) == null) {
+            return writeToQueue(buffer, item, index, offset);
+        }
+        resize(buffer, index, offset, item, mask);
+        return true;
+    }
+
+    private boolean writeToQueue(AtomicReferenceArray<Object> buffer, T item, long index, int offset) {
+        buffer.lazySet(offset, item);
+        producerIndex.lazySet(index + 1);
+        return true;
+    }
+
+    private void resize(AtomicReferenceArray<Object> oldBuffer, long index, int offset, T item, int mask) {
+        AtomicReferenceArray<Object> newBuffer = new AtomicReferenceArray<>(oldBuffer.length());
+        producerBuffer = newBuffer;
+        producerLookAhead = index + mask - 1;
+        newBuffer.lazySet(offset, item);
+        oldBuffer.lazySet(oldBuffer.length() - 1, newBuffer);
+        oldBuffer.lazySet(offset, HAS_NEXT);
+        producerIndex.lazySet(index + 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        AtomicReferenceArray<Object> buffer = consumerBuffer;
+        long index = consumerIndex.get();
+        int mask = consumerMask;
+        int offset = (int) index & mask;
+        Object e = buffer.get(offset);
+        if (e == HAS_NEXT) {
+            AtomicReferenceArray<Object> next = nextBuffer(buffer);
+            consumerBuffer = next;
+            e = next.get(offset);
+            buffer = next;
+        }
+        if (e == null) {
+            return null;
+        }
+        buffer.lazySet(offset, null);
+        consumerIndex.lazySet(index + 1);
+        return (T) e;
+    }
+
+    @SuppressWarnings("unchecked")
+    private AtomicReferenceArray<Object> nextBuffer(AtomicReferenceArray<Object> buffer) {
+        int linkOffset = buffer.length() - 1;
+        AtomicReferenceArray<Object> next = (AtomicReferenceArray<Object>) buffer.get(linkOffset);
+        buffer.lazySet(linkOffset, null);
+        return next;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return producerIndex.get() == consumerIndex.get();
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            // сливаем всё, что уже опубликовано производителем
+        }
+    }
+}
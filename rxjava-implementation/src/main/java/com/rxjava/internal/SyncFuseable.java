@@ -0,0 +1,13 @@
+package com.rxjava.internal;
+
+/**
+ * Синхронный источник, из которого следующий оператор может забирать элементы сам (pull),
+ * без промежуточной очереди и без вызовов onNext (queue fusion).
+ */
+public interface SyncFuseable<T> {
+    /**
+     * Открыть новый проход по источнику. poll() == null у возвращенной очереди означает завершение.
+     * Возвращает null, если слияние невозможно и нужно подписываться обычным образом.
+     */
+    SimpleQueue<T> openSync() throws Exception;
+}
@@ -0,0 +1,18 @@
+package com.rxjava.operators;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Подписка для источников, которые завершаются сразу при подписке.
+ */
+public enum EmptySubscription implements Flow.Subscription {
+    INSTANCE;
+
+    @Override
+    public void request(long n) {
+    }
+
+    @Override
+    public void cancel() {
+    }
+}
@@ -0,0 +1,312 @@
+package com.rxjava.operators;
+
+import com.rxjava.BackpressureStrategy;
+import com.rxjava.Flowable;
+import com.rxjava.FlowableEmitter;
+import com.rxjava.FlowableOnSubscribe;
+import com.rxjava.Subscription;
+import com.rxjava.internal.BackpressureHelper;
+import com.rxjava.internal.SpscLinkedArrayQueue;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class FlowableCreate<T> extends Flowable<T> {
+    private final FlowableOnSubscribe<T> source;
+    private final BackpressureStrategy strategy;
+
+    public FlowableCreate(FlowableOnSubscribe<T> source, BackpressureStrategy strategy) {
+        this.source = source;
+        this.strategy = strategy;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        BaseEmitter<T> emitter;
+        switch (strategy) {
+            case DROP:
+                emitter = new DropEmitter<>(subscriber);
+                break;
+            case LATEST:
+                emitter = new LatestEmitter<>(subscriber);
+                break;
+            default:
+                emitter = new BufferEmitter<>(subscriber, bufferSize());
+                break;
+        }
+        subscriber.onSubscribe(emitter);
+        try {
+            source.subscribe(emitter);
+        } catch (Exception e) {
+            emitter.onError(e);
+        }
+    }
+
+    abstract static class BaseEmitter<T> extends AtomicLong implements FlowableEmitter<T>, Flow.Subscription {
+        final Flow.Subscriber<? super T> downstream;
+        volatile boolean cancelled;
+        private volatile Subscription upstream;
+
+        BaseEmitter(Flow.Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        /**
+         * Подписка Observable-источника (toFlowable): отмена Flowable отменяет и его.
+         */
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            if (cancelled) {
+                subscription.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            downstream.onComplete();
+        }
+
+        @Override
+        public final void request(long n) {
+            if (n <= 0L) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("request(n) requires n > 0 but it was " + n));
+                return;
+            }
+            BackpressureHelper.add(this, n);
+            onRequested();
+        }
+
+        void onRequested() {
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            Subscription s = upstream;
+            if (s != null) {
+                s.unsubscribe();
+            }
+            onCancelled();
+        }
+
+        void onCancelled() {
+        }
+
+        @Override
+        public final long requested() {
+            return get();
+        }
+
+        @Override
+        public final boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    static final class DropEmitter<T> extends BaseEmitter<T> {
+        DropEmitter(Flow.Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (cancelled) {
+                return;
+            }
+            if (get() != 0L) {
+                downstream.onNext(item);
+                BackpressureHelper.produced(this, 1);
+            }
+        }
+    }
+
+    /**
+     * Общий drain-цикл для BUFFER и LATEST: выдает элементы только в пределах спроса,
+     * терминальный сигнал доставляется после опустошения хранилища.
+     */
+    abstract static class DrainEmitter<T> extends BaseEmitter<T> {
+        final AtomicInteger wip = new AtomicInteger();
+        volatile boolean done;
+        Throwable error;
+
+        DrainEmitter(Flow.Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        abstract T pollItem();
+
+        abstract boolean isStoreEmpty();
+
+        abstract void clearStore();
+
+        @Override
+        public void onError(Throwable t) {
+            if (done || cancelled) {
+                return;
+            }
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done || cancelled) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        void onRequested() {
+            drain();
+        }
+
+        @Override
+        void onCancelled() {
+            if (wip.getAndIncrement() == 0) {
+                clearStore();
+            }
+        }
+
+        final void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            Flow.Subscriber<? super T> a = downstream;
+            for (;;) {
+                long r = get();
+                long e = 0L;
+                while (e != r) {
+                    if (cancelled) {
+                        clearStore();
+                        return;
+                    }
+                    boolean d = done;
+                    T item = pollItem();
+                    boolean empty = item == null;
+                    if (d && empty) {
+                        terminate(a);
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    a.onNext(item);
+                    e++;
+                }
+                if (e == r) {
+                    if (cancelled) {
+                        clearStore();
+                        return;
+                    }
+                    if (done && isStoreEmpty()) {
+                        terminate(a);
+                        return;
+                    }
+                }
+                if (e != 0L) {
+                    BackpressureHelper.produced(this, e);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private void terminate(Flow.Subscriber<? super T> a) {
+            cancelled = true;
+            Throwable ex = error;
+            if (ex != null) {
+                a.onError(ex);
+            } else {
+                a.onComplete();
+            }
+        }
+    }
+
+    static final class BufferEmitter<T> extends DrainEmitter<T> {
+        private final SpscLinkedArrayQueue<T> queue;
+
+        BufferEmitter(Flow.Subscriber<? super T> downstream, int bufferSize) {
+            super(downstream);
+            this.queue = new SpscLinkedArrayQueue<>(bufferSize);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            queue.offer(item);
+            drain();
+        }
+
+        @Override
+        T pollItem() {
+            return queue.poll();
+        }
+
+        @Override
+        boolean isStoreEmpty() {
+            return queue.isEmpty();
+        }
+
+        @Override
+        void clearStore() {
+            queue.clear();
+        }
+    }
+
+    static final class LatestEmitter<T> extends DrainEmitter<T> {
+        private final AtomicReference<T> latest = new AtomicReference<>();
+
+        LatestEmitter(Flow.Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            latest.set(item);
+            drain();
+        }
+
+        @Override
+        T pollItem() {
+            return latest.getAndSet(null);
+        }
+
+        @Override
+        boolean isStoreEmpty() {
+            return latest.get() == null;
+        }
+
+        @Override
+        void clearStore() {
+            latest.lazySet(null);
+        }
+    }
+}
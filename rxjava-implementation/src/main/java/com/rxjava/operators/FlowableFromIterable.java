@@ -0,0 +1,108 @@
+package com.rxjava.operators;
+
+import com.rxjava.Flowable;
+import com.rxjava.internal.BackpressureHelper;
+
+import java.util.Iterator;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Источник, который извлекает элементы из итератора только по мере поступления request(n).
+ */
+public final class FlowableFromIterable<T> extends Flowable<T> {
+    private final Iterable<? extends T> source;
+
+    public FlowableFromIterable(Iterable<? extends T> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Iterator<? extends T> iterator;
+        boolean hasNext;
+        try {
+            iterator = source.iterator();
+            hasNext = iterator.hasNext();
+        } catch (Exception e) {
+            subscriber.onSubscribe(EmptySubscription.INSTANCE);
+            subscriber.onError(e);
+            return;
+        }
+        if (!hasNext) {
+            subscriber.onSubscribe(EmptySubscription.INSTANCE);
+            subscriber.onComplete();
+            return;
+        }
+        subscriber.onSubscribe(new IteratorSubscription<>(subscriber, iterator));
+    }
+
+    static final class IteratorSubscription<T> extends AtomicLong implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> downstream;
+        private final Iterator<? extends T> iterator;
+        private volatile boolean cancelled;
+
+        IteratorSubscription(Flow.Subscriber<? super T> downstream, Iterator<? extends T> iterator) {
+            this.downstream = downstream;
+            this.iterator = iterator;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0L) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("request(n) requires n > 0 but it was " + n));
+                return;
+            }
+            if (BackpressureHelper.add(this, n) == 0L) {
+                emit(n);
+            }
+        }
+
+        private void emit(long r) {
+            Flow.Subscriber<? super T> a = downstream;
+            Iterator<? extends T> it = iterator;
+            long e = 0L;
+            for (;;) {
+                while (e != r) {
+                    if (cancelled) {
+                        return;
+                    }
+                    T item;
+                    boolean hasNext;
+                    try {
+                        item = it.next();
+                        a.onNext(item);
+                        if (cancelled) {
+                            return;
+                        }
+                        hasNext = it.hasNext();
+                    } catch (Exception ex) {
+                        cancelled = true;
+                        a.onError(ex);
+                        return;
+                    }
+                    if (!hasNext) {
+                        cancelled = true;
+                        a.onComplete();
+                        return;
+                    }
+                    e++;
+                }
+                r = get();
+                if (e == r) {
+                    r = addAndGet(-e);
+                    if (r == 0L) {
+                        return;
+                    }
+                    e = 0L;
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
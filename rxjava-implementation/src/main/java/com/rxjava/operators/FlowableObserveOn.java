@@ -0,0 +1,213 @@
+package com.rxjava.operators;
+
+import com.rxjava.Flowable;
+import com.rxjava.internal.BackpressureHelper;
+import com.rxjava.internal.SimpleQueue;
+import com.rxjava.internal.SpscArrayQueue;
+import com.rxjava.schedulers.Scheduler;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * observeOn для Flowable: у источника запрашивается не больше prefetch элементов,
+ * очередь ограничена и пополняется порциями по мере потребления (по 3/4 от prefetch).
+ */
+public final class FlowableObserveOn<T> extends Flowable<T> {
+    private final Flowable<T> source;
+    private final Scheduler scheduler;
+    private final int prefetch;
+
+    public FlowableObserveOn(Flowable<T> source, Scheduler scheduler, int prefetch) {
+        this.source = source;
+        this.scheduler = scheduler;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        source.subscribe(new ObserveOnSubscriber<>(subscriber, scheduler, prefetch));
+    }
+
+    static final class ObserveOnSubscriber<T> extends AtomicInteger
+            implements Flow.Subscriber<T>, Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super T> downstream;
+        private final Scheduler.Worker worker;
+        private final int prefetch;
+        private final int limit;
+        private final SimpleQueue<T> queue;
+        private final AtomicLong requested = new AtomicLong();
+
+        private Flow.Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private Throwable error;
+        private long emitted;
+        private long consumed;
+
+        ObserveOnSubscriber(Flow.Subscriber<? super T> downstream, Scheduler scheduler, int prefetch) {
+            this.downstream = downstream;
+            this.worker = scheduler.createWorker(this::workerRejected);
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+            this.queue = new SpscArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(prefetch);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            if (!queue.offer(item)) {
+                upstream.cancel();
+                onError(new IllegalStateException("Источник нарушил request(n): очередь observeOn переполнена"));
+                return;
+            }
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0L) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("request(n) requires n > 0 but it was " + n));
+                return;
+            }
+            BackpressureHelper.add(requested, n);
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.cancel();
+            if (getAndIncrement() == 0) {
+                queue.clear();
+                worker.dispose();
+            }
+        }
+
+        private void schedule() {
+            if (getAndIncrement() == 0) {
+                worker.execute(this);
+            }
+        }
+
+        /**
+         * Планировщик не принял drain-цикл: цикл не запущен и уже не запустится,
+         * поэтому ошибка доставляется сразу, в потоке, отправлявшем задачу.
+         */
+        private void workerRejected(Throwable e) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.cancel();
+            queue.clear();
+            downstream.onError(e);
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            Flow.Subscriber<? super T> a = downstream;
+            SimpleQueue<T> q = queue;
+            long e = emitted;
+            long c = consumed;
+            for (;;) {
+                long r = requested.get();
+                while (e != r) {
+                    if (cancelled) {
+                        q.clear();
+                        worker.dispose();
+                        return;
+                    }
+                    boolean d = done;
+                    T item;
+                    try {
+                        item = q.poll();
+                    } catch (Exception ex) {
+                        cancelled = true;
+                        upstream.cancel();
+                        q.clear();
+                        worker.dispose();
+                        a.onError(ex);
+                        return;
+                    }
+                    boolean empty = item == null;
+                    if (d && empty) {
+                        terminate(a);
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    a.onNext(item);
+                    e++;
+                    if (++c == limit) {
+                        c = 0L;
+                        upstream.request(limit);
+                    }
+                }
+                if (e == r) {
+                    if (cancelled) {
+                        q.clear();
+                        worker.dispose();
+                        return;
+                    }
+                    if (done && q.isEmpty()) {
+                        terminate(a);
+                        return;
+                    }
+                }
+                emitted = e;
+                consumed = c;
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private void terminate(Flow.Subscriber<? super T> a) {
+            cancelled = true;
+            worker.dispose();
+            Throwable ex = error;
+            if (ex != null) {
+                a.onError(ex);
+            } else {
+                a.onComplete();
+            }
+        }
+    }
+}
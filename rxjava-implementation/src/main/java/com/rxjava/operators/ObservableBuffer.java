@@ -0,0 +1,107 @@
+package com.rxjava.operators;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Собирает элементы в списки по count штук; неполный последний список выдается при завершении.
+ * Каждый список создается сразу нужной емкости и после выдачи принадлежит подписчику.
+ */
+public final class ObservableBuffer<T> extends Observable<List<T>> {
+    private final Observable<T> source;
+    private final int count;
+
+    public ObservableBuffer(Observable<T> source, int count) {
+        this.source = source;
+        this.count = count;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<List<T>> observer) {
+        BufferObserver<T> parent = new BufferObserver<>(observer, count);
+        observer.onSubscribe(parent);
+        parent.setUpstream(source.subscribe(parent));
+        return parent;
+    }
+
+    static final class BufferObserver<T> implements Observer<T>, Subscription {
+        private final Observer<List<T>> downstream;
+        private final int count;
+        private List<T> buffer;
+        private volatile Subscription upstream;
+        private volatile boolean cancelled;
+
+        BufferObserver(Observer<List<T>> downstream, int count) {
+            this.downstream = downstream;
+            this.count = count;
+            this.buffer = new ArrayList<>(count);
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if (cancelled && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (cancelled) {
+                return;
+            }
+            List<T> b = buffer;
+            b.add(item);
+            if (b.size() == count) {
+                buffer = new ArrayList<>(count);
+                downstream.onNext(b);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!cancelled) {
+                cancelled = true;
+                buffer = null;
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!cancelled) {
+                cancelled = true;
+                List<T> b = buffer;
+                buffer = null;
+                if (!b.isEmpty()) {
+                    downstream.onNext(b);
+                }
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
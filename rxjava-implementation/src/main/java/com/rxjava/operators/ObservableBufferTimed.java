@@ -0,0 +1,215 @@
+package com.rxjava.operators;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.internal.MpscLinkedQueue;
+import com.rxjava.schedulers.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Выдает накопленные элементы раз в timespan или раньше, как только набралось maxSize.
+ * Пустые списки по таймеру не выдаются; новый буфер создается емкостью предыдущего.
+ * Под блокировкой наблюдателя только меняется буфер, а готовые списки выдаются вне ее,
+ * по одному через счетчик wip: списки от источника и от таймера приходят по порядку,
+ * а медленный получатель (например, запись в БД) не держит источник в onNext.
+ */
+public final class ObservableBufferTimed<T> extends Observable<List<T>> {
+    private final Observable<T> source;
+    private final long timespan;
+    private final TimeUnit unit;
+    private final int maxSize;
+    private final Scheduler scheduler;
+
+    public ObservableBufferTimed(Observable<T> source, long timespan, TimeUnit unit, int maxSize, Scheduler scheduler) {
+        this.source = source;
+        this.timespan = timespan;
+        this.unit = unit;
+        this.maxSize = maxSize;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<List<T>> observer) {
+        BufferTimedObserver<T> parent = new BufferTimedObserver<>(observer, maxSize, scheduler);
+        observer.onSubscribe(parent);
+        parent.worker.schedulePeriodically(parent, timespan, timespan, unit);
+        parent.setUpstream(source.subscribe(parent));
+        return parent;
+    }
+
+    static final class BufferTimedObserver<T> extends AtomicInteger implements Observer<T>, Subscription, Runnable {
+        private final Observer<List<T>> downstream;
+        private final int maxSize;
+        final Scheduler.Worker worker;
+        /** Готовые списки в порядке обмена; пополняется под блокировкой, выдается вне ее. */
+        private final MpscLinkedQueue<List<T>> ready = new MpscLinkedQueue<>();
+        private List<T> buffer;
+        private volatile Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private Throwable error;
+
+        BufferTimedObserver(Observer<List<T>> downstream, int maxSize, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.maxSize = maxSize;
+            this.worker = scheduler.createWorker(this::workerRejected);
+            this.buffer = new ArrayList<>(Math.min(maxSize, 1024));
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if ((cancelled || done) && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            synchronized (this) {
+                List<T> b = buffer;
+                if (b == null) {
+                    return;
+                }
+                b.add(item);
+                if (b.size() < maxSize) {
+                    return;
+                }
+                buffer = new ArrayList<>(b.size());
+                ready.offer(b);
+            }
+            drain();
+        }
+
+        /**
+         * Срабатывание таймера.
+         */
+        @Override
+        public void run() {
+            synchronized (this) {
+                List<T> b = buffer;
+                if (b == null || b.isEmpty()) {
+                    return;
+                }
+                buffer = new ArrayList<>(b.size());
+                ready.offer(b);
+            }
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            synchronized (this) {
+                if (buffer == null) {
+                    return;
+                }
+                buffer = null;
+                error = t;
+                done = true;
+            }
+            worker.dispose();
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                List<T> b = buffer;
+                if (b == null) {
+                    return;
+                }
+                buffer = null;
+                if (!b.isEmpty()) {
+                    ready.offer(b);
+                }
+                done = true;
+            }
+            worker.dispose();
+            drain();
+        }
+
+        /**
+         * Выдать готовые списки в потоке, который первым увеличил wip; остальные потоки только
+         * добавляют списки в очередь и сразу возвращаются.
+         */
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            MpscLinkedQueue<List<T>> q = ready;
+            Observer<List<T>> a = downstream;
+            for (;;) {
+                for (;;) {
+                    if (cancelled) {
+                        q.clear();
+                        return;
+                    }
+                    boolean d = done;
+                    List<T> b = q.poll();
+                    if (b == null) {
+                        if (d) {
+                            cancelled = true;
+                            Throwable e = error;
+                            if (e != null) {
+                                a.onError(e);
+                            } else {
+                                a.onComplete();
+                            }
+                            return;
+                        }
+                        break;
+                    }
+                    a.onNext(b);
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Планировщик не принял задачу Worker таймера: подписка завершается ошибкой.
+         */
+        private void workerRejected(Throwable e) {
+            Subscription s = upstream;
+            if (s != null) {
+                s.unsubscribe();
+            }
+            onError(e);
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+                worker.dispose();
+                synchronized (this) {
+                    buffer = null;
+                }
+                if (getAndIncrement() == 0) {
+                    ready.clear();
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
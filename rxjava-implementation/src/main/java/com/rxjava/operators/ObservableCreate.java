@@ -0,0 +1,119 @@
+package com.rxjava.operators;
+
+import com.rxjava.Cancellable;
+import com.rxjava.Observable;
+import com.rxjava.ObservableEmitter;
+import com.rxjava.ObservableOnSubscribe;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Источник из ObservableOnSubscribe. Эмиттер передается подписчику через onSubscribe
+ * до запуска источника, поэтому отписка видна источнику уже во время эмиссии.
+ */
+public final class ObservableCreate<T> extends Observable<T> {
+    private final ObservableOnSubscribe<T> source;
+
+    public ObservableCreate(ObservableOnSubscribe<T> source) {
+        this.source = source;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<T> observer) {
+        CreateEmitter<T> emitter = new CreateEmitter<>(observer);
+        observer.onSubscribe(emitter);
+        try {
+            source.subscribe(emitter);
+        } catch (Exception e) {
+            emitter.onError(e);
+        }
+        return emitter;
+    }
+
+    static final class CreateEmitter<T> extends AtomicReference<Cancellable>
+            implements ObservableEmitter<T>, Subscription {
+        private static final Cancellable DISPOSED = () -> {};
+
+        private final Observer<T> downstream;
+
+        CreateEmitter(Observer<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!isDisposed()) {
+                downstream.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!isDisposed()) {
+                try {
+                    downstream.onError(t);
+                } finally {
+                    unsubscribe();
+                }
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!isDisposed()) {
+                try {
+                    downstream.onComplete();
+                } finally {
+                    unsubscribe();
+                }
+            }
+        }
+
+        @Override
+        public void setCancellable(Cancellable cancellable) {
+            for (;;) {
+                Cancellable current = get();
+                if (current == DISPOSED) {
+                    cancel(cancellable);
+                    return;
+                }
+                if (compareAndSet(current, cancellable)) {
+                    cancel(current);
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get() == DISPOSED;
+        }
+
+        @Override
+        public void unsubscribe() {
+            Cancellable current = getAndSet(DISPOSED);
+            if (current != DISPOSED) {
+                cancel(current);
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return isDisposed();
+        }
+
+        private static void cancel(Cancellable cancellable) {
+            if (cancellable == null) {
+                return;
+            }
+            try {
+                cancellable.cancel();
+            } catch (Exception e) {
+                Thread current = Thread.currentThread();
+                current.getUncaughtExceptionHandler().uncaughtException(current, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.rxjava.operators;
+
+import com.rxjava.Disposable;
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Выдает элемент, только если за ним в течение timeout не пришел следующий.
+ * Каждый элемент переставляет один отложенный таймер (отмена на колесе стоит O(1));
+ * устаревшую задачу отсекает номер элемента. Последний ожидающий элемент
+ * выдается перед завершением.
+ */
+public final class ObservableDebounce<T> extends Observable<T> {
+    private final Observable<T> source;
+    private final long timeout;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    public ObservableDebounce(Observable<T> source, long timeout, TimeUnit unit, Scheduler scheduler) {
+        this.source = source;
+        this.timeout = timeout;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<T> observer) {
+        DebounceObserver<T> parent = new DebounceObserver<>(observer, timeout, unit, scheduler);
+        observer.onSubscribe(parent);
+        parent.setUpstream(source.subscribe(parent));
+        return parent;
+    }
+
+    static final class DebounceObserver<T> implements Observer<T>, Subscription {
+        private final Observer<T> downstream;
+        private final long timeout;
+        private final TimeUnit unit;
+        private final Scheduler.Worker worker;
+        private T pending;
+        private long index;
+        private boolean done;
+        private Disposable timer;
+        private volatile Subscription upstream;
+        private volatile boolean cancelled;
+
+        DebounceObserver(Observer<T> downstream, long timeout, TimeUnit unit, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.timeout = timeout;
+            this.unit = unit;
+            this.worker = scheduler.createWorker(this::workerRejected);
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if (cancelled && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            long idx;
+            Disposable previous;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                pending = item;
+                idx = ++index;
+                previous = timer;
+                timer = null;
+            }
+            if (previous != null) {
+                previous.dispose();
+            }
+            Disposable next = worker.schedule(() -> emit(idx), timeout, unit);
+            synchronized (this) {
+                if (index == idx && !done) {
+                    timer = next;
+                    return;
+                }
+            }
+            next.dispose();
+        }
+
+        private synchronized void emit(long idx) {
+            if (!done && index == idx && pending != null) {
+                T item = pending;
+                pending = null;
+                timer = null;
+                downstream.onNext(item);
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                pending = null;
+                worker.dispose();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (!done) {
+                done = true;
+                worker.dispose();
+                T item = pending;
+                pending = null;
+                if (item != null) {
+                    downstream.onNext(item);
+                }
+                downstream.onComplete();
+            }
+        }
+
+        /**
+         * Планировщик не принял задачу Worker таймера: подписка завершается ошибкой.
+         */
+        private void workerRejected(Throwable e) {
+            cancelled = true;
+            Subscription s = upstream;
+            if (s != null) {
+                s.unsubscribe();
+            }
+            onError(e);
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+                worker.dispose();
+                synchronized (this) {
+                    done = true;
+                    pending = null;
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.rxjava.operators;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+
+/**
+ * Разбивает поток байтовых кусков на строки. Байты декодируются прямо из пришедшего буфера,
+ * без промежуточного массива; строка может пересекать границы кусков. Многобайтовый символ,
+ * разрезанный границей куска, сохраняется в маленьком буфере переноса, поэтому кусок можно
+ * переиспользовать сразу после onNext. Разделитель - '\n', завершающий '\r' отбрасывается.
+ */
+public final class ObservableDecodeLines extends Observable<String> {
+    private static final int CHAR_BUFFER_SIZE = 8192;
+
+    private final Observable<ByteBuffer> source;
+    private final Charset charset;
+
+    public ObservableDecodeLines(Observable<ByteBuffer> source, Charset charset) {
+        this.source = source;
+        this.charset = charset;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<String> observer) {
+        DecodeObserver parent = new DecodeObserver(observer, charset.newDecoder());
+        observer.onSubscribe(parent);
+        parent.setUpstream(source.subscribe(parent));
+        return parent;
+    }
+
+    static final class DecodeObserver implements Observer<ByteBuffer>, Subscription {
+        private final Observer<String> downstream;
+        private final CharsetDecoder decoder;
+        private final CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+        // Хвост незавершенного многобайтового символа; для любой кодировки хватает нескольких байт
+        private final ByteBuffer carry = ByteBuffer.allocate(16);
+        private final StringBuilder line = new StringBuilder();
+        private boolean done;
+        private volatile Subscription upstream;
+        private volatile boolean cancelled;
+
+        DecodeObserver(Observer<String> downstream, CharsetDecoder decoder) {
+            this.downstream = downstream;
+            this.decoder = decoder;
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if (cancelled && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        public void onNext(ByteBuffer chunk) {
+            if (done) {
+                return;
+            }
+            try {
+                // Сначала дополняем перенесенный символ байтами нового куска
+                while (carry.position() > 0 && chunk.hasRemaining()) {
+                    carry.put(chunk.get());
+                    carry.flip();
+                    decode(carry, false);
+                    carry.compact();
+                }
+                decode(chunk, false);
+                if (chunk.hasRemaining()) {
+                    carry.put(chunk);
+                }
+            } catch (Throwable t) {
+                fail(t);
+            }
+        }
+
+        private void decode(ByteBuffer in, boolean endOfInput) throws CharacterCodingException {
+            for (;;) {
+                CoderResult result = decoder.decode(in, chars, endOfInput);
+                if (result.isError()) {
+                    result.throwException();
+                }
+                drainChars();
+                if (result.isUnderflow()) {
+                    return;
+                }
+            }
+        }
+
+        private void drainChars() {
+            chars.flip();
+            while (chars.hasRemaining() && !done && !cancelled) {
+                char c = chars.get();
+                if (c == '\n') {
+                    emitLine();
+                } else {
+                    line.append(c);
+                }
+            }
+            chars.clear();
+        }
+
+        private void emitLine() {
+            int length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                line.setLength(length - 1);
+            }
+            String value = line.toString();
+            line.setLength(0);
+            downstream.onNext(value);
+        }
+
+        private void fail(Throwable t) {
+            if (!done) {
+                done = true;
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            try {
+                carry.flip();
+                decode(carry, true);
+                CoderResult result = decoder.flush(chars);
+                if (result.isError()) {
+                    result.throwException();
+                }
+                drainChars();
+            } catch (Throwable t) {
+                fail(t);
+                return;
+            }
+            if (line.length() > 0) {
+                emitLine();
+            }
+            done = true;
+            downstream.onComplete();
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
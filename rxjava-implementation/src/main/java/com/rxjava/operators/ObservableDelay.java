@@ -0,0 +1,127 @@
+package com.rxjava.operators;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сдвигает каждый элемент и завершение на заданную задержку. Все сигналы идут через один
+ * Worker, поэтому порядок сохраняется; ошибка доставляется без задержки.
+ */
+public final class ObservableDelay<T> extends Observable<T> {
+    private final Observable<T> source;
+    private final long delay;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    public ObservableDelay(Observable<T> source, long delay, TimeUnit unit, Scheduler scheduler) {
+        this.source = source;
+        this.delay = delay;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<T> observer) {
+        DelayObserver<T> parent = new DelayObserver<>(observer, scheduler, delay, unit);
+        observer.onSubscribe(parent);
+        parent.setUpstream(source.subscribe(parent));
+        return parent;
+    }
+
+    static final class DelayObserver<T> implements Observer<T>, Subscription {
+        private final Observer<T> downstream;
+        private final Scheduler.Worker worker;
+        private final long delay;
+        private final TimeUnit unit;
+        private volatile Subscription upstream;
+        private volatile boolean cancelled;
+
+        DelayObserver(Observer<T> downstream, Scheduler scheduler, long delay, TimeUnit unit) {
+            this.downstream = downstream;
+            this.worker = scheduler.createWorker(this::workerRejected);
+            this.delay = delay;
+            this.unit = unit;
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if (cancelled && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            worker.schedule(() -> {
+                if (!cancelled) {
+                    downstream.onNext(item);
+                }
+            }, delay, unit);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            worker.execute(() -> {
+                if (!cancelled) {
+                    cancelled = true;
+                    downstream.onError(t);
+                    worker.dispose();
+                }
+            });
+        }
+
+        @Override
+        public void onComplete() {
+            worker.schedule(() -> {
+                if (!cancelled) {
+                    cancelled = true;
+                    downstream.onComplete();
+                    worker.dispose();
+                }
+            }, delay, unit);
+        }
+
+        /**
+         * Планировщик не принял задачу Worker: задачи Worker не выполняются, отложенные сняты с таймера,
+         * поэтому ошибка доставляется сразу, в потоке таймера или источника.
+         */
+        private void workerRejected(Throwable e) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            Subscription s = upstream;
+            if (s != null) {
+                s.unsubscribe();
+            }
+            downstream.onError(e);
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            Subscription s = upstream;
+            if (s != null) {
+                s.unsubscribe();
+            }
+            worker.dispose();
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
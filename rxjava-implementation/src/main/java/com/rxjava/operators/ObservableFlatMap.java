@@ -0,0 +1,295 @@
+package com.rxjava.operators;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.internal.MpscLinkedQueue;
+import com.rxjava.schedulers.Scheduler;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * flatMap с ограничением числа одновременно активных внутренних Observable.
+ * Элементы внутренних источников сериализуются: при отсутствии конкуренции они
+ * выдаются напрямую, иначе попадают в общую MPSC-очередь и выдаются drain-циклом.
+ * Результат завершается только после завершения внешнего и всех внутренних источников.
+ */
+public final class ObservableFlatMap<T, R> extends Observable<R> {
+    private final Observable<T> source;
+    private final Function<T, Observable<R>> mapper;
+    private final int maxConcurrency;
+    private final Scheduler scheduler;
+
+    public ObservableFlatMap(Observable<T> source, Function<T, Observable<R>> mapper,
+                             int maxConcurrency, Scheduler scheduler) {
+        this.source = source;
+        this.mapper = mapper;
+        this.maxConcurrency = maxConcurrency;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<R> observer) {
+        MergeObserver<T, R> parent = new MergeObserver<>(observer, mapper, maxConcurrency, scheduler);
+        observer.onSubscribe(parent);
+        parent.setUpstream(source.subscribe(parent));
+        return parent;
+    }
+
+    static final class MergeObserver<T, R> extends AtomicInteger implements Observer<T>, Subscription {
+        private final Observer<R> downstream;
+        private final Function<T, Observable<R>> mapper;
+        private final int maxConcurrency;
+        private final Scheduler scheduler;
+
+        private final MpscLinkedQueue<R> queue = new MpscLinkedQueue<>();
+        private final Queue<T> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final Set<InnerObserver<R>> inners = ConcurrentHashMap.newKeySet();
+
+        private volatile Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+
+        MergeObserver(Observer<R> downstream, Function<T, Observable<R>> mapper,
+                      int maxConcurrency, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+            this.maxConcurrency = maxConcurrency;
+            this.scheduler = scheduler;
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if (cancelled && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            if (maxConcurrency == Integer.MAX_VALUE) {
+                active.incrementAndGet();
+                subscribeInner(item);
+            } else {
+                pending.offer(item);
+                tryStartInners();
+            }
+        }
+
+        private void tryStartInners() {
+            for (;;) {
+                int a = active.get();
+                if (a >= maxConcurrency || pending.isEmpty() || cancelled) {
+                    return;
+                }
+                if (active.compareAndSet(a, a + 1)) {
+                    T item = pending.poll();
+                    if (item == null) {
+                        active.decrementAndGet();
+                        continue;
+                    }
+                    subscribeInner(item);
+                }
+            }
+        }
+
+        private void subscribeInner(T item) {
+            Observable<R> inner;
+            try {
+                inner = mapper.apply(item);
+            } catch (Exception e) {
+                active.decrementAndGet();
+                onError(e);
+                return;
+            }
+            if (scheduler != null) {
+                inner = inner.subscribeOn(scheduler);
+            }
+            InnerObserver<R> innerObserver = new InnerObserver<>(this);
+            inners.add(innerObserver);
+            if (cancelled) {
+                // Отписка могла пройти по inners до добавления этого источника
+                inners.remove(innerObserver);
+                return;
+            }
+            innerObserver.setSubscription(inner.subscribe(innerObserver));
+        }
+
+        void innerNext(R item) {
+            if (get() == 0 && compareAndSet(0, 1)) {
+                downstream.onNext(item);
+                if (decrementAndGet() == 0) {
+                    return;
+                }
+            } else {
+                queue.offer(item);
+                if (getAndIncrement() != 0) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        void innerComplete(InnerObserver<R> inner) {
+            inners.remove(inner);
+            active.decrementAndGet();
+            if (maxConcurrency != Integer.MAX_VALUE) {
+                tryStartInners();
+            }
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (error.compareAndSet(null, t)) {
+                done = true;
+                drain();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        private void drain() {
+            if (getAndIncrement() == 0) {
+                drainLoop();
+            }
+        }
+
+        private void drainLoop() {
+            int missed = 1;
+            MpscLinkedQueue<R> q = queue;
+            Observer<R> a = downstream;
+            for (;;) {
+                for (;;) {
+                    if (cancelled) {
+                        q.clear();
+                        return;
+                    }
+                    Throwable ex = error.get();
+                    if (ex != null) {
+                        unsubscribe();
+                        q.clear();
+                        a.onError(ex);
+                        return;
+                    }
+                    boolean d = done && active.get() == 0 && pending.isEmpty();
+                    R item = q.poll();
+                    if (item == null) {
+                        if (d) {
+                            cancelled = true;
+                            a.onComplete();
+                            return;
+                        }
+                        break;
+                    }
+                    a.onNext(item);
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            Subscription s = upstream;
+            if (s != null) {
+                s.unsubscribe();
+            }
+            for (InnerObserver<R> inner : inners) {
+                inner.unsubscribe();
+            }
+            inners.clear();
+            pending.clear();
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+
+    static final class InnerObserver<R> implements Observer<R> {
+        private final MergeObserver<?, R> parent;
+        private volatile Subscription subscription;
+        private volatile boolean cancelled;
+        private boolean done;
+
+        InnerObserver(MergeObserver<?, R> parent) {
+            this.parent = parent;
+        }
+
+        void setSubscription(Subscription s) {
+            subscription = s;
+            if (cancelled && s != null) {
+                s.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            setSubscription(s);
+        }
+
+        void unsubscribe() {
+            cancelled = true;
+            Subscription s = subscription;
+            if (s != null) {
+                s.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onNext(R item) {
+            if (!done && !cancelled) {
+                parent.innerNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            parent.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            parent.innerComplete(this);
+        }
+    }
+}
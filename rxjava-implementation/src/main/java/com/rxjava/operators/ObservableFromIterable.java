@@ -0,0 +1,98 @@
+package com.rxjava.operators;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.internal.SimpleQueue;
+import com.rxjava.internal.SyncFuseable;
+
+import java.util.Iterator;
+
+/**
+ * Синхронный источник из Iterable. Поддерживает queue fusion: observeOn и слитые
+ * map/filter могут забирать элементы прямо из итератора.
+ */
+public final class ObservableFromIterable<T> extends Observable<T> implements SyncFuseable<T> {
+    private final Iterable<? extends T> source;
+
+    public ObservableFromIterable(Iterable<? extends T> source) {
+        this.source = source;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<T> observer) {
+        IterableSubscription subscription = new IterableSubscription();
+        observer.onSubscribe(subscription);
+        try {
+            Iterator<? extends T> it = source.iterator();
+            while (!subscription.unsubscribed && it.hasNext()) {
+                observer.onNext(it.next());
+            }
+        } catch (Exception e) {
+            subscription.unsubscribed = true;
+            observer.onError(e);
+            return subscription;
+        }
+        if (!subscription.unsubscribed) {
+            observer.onComplete();
+        }
+        return subscription;
+    }
+
+    @Override
+    public SimpleQueue<T> openSync() {
+        return new IteratorQueue<>(source.iterator());
+    }
+
+    static final class IterableSubscription implements Subscription {
+        volatile boolean unsubscribed;
+
+        @Override
+        public void unsubscribe() {
+            unsubscribed = true;
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return unsubscribed;
+        }
+    }
+
+    static final class IteratorQueue<T> implements SimpleQueue<T> {
+        private Iterator<? extends T> iterator;
+
+        IteratorQueue(Iterator<? extends T> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean offer(T item) {
+            throw new UnsupportedOperationException("Слитая очередь доступна только для чтения");
+        }
+
+        @Override
+        public T poll() {
+            Iterator<? extends T> it = iterator;
+            if (it == null || !it.hasNext()) {
+                iterator = null;
+                return null;
+            }
+            T item = it.next();
+            if (item == null) {
+                throw new NullPointerException("Iterable вернул null элемент");
+            }
+            return item;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            Iterator<? extends T> it = iterator;
+            return it == null || !it.hasNext();
+        }
+
+        @Override
+        public void clear() {
+            iterator = null;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.rxjava.operators;
+
+import com.rxjava.Disposable;
+import com.rxjava.GroupedObservable;
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.internal.SpscLinkedArrayQueue;
+import com.rxjava.schedulers.Scheduler;
+import com.rxjava.subjects.PublishSubject;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Делит поток на группы по ключу. Группа - горячий источник, как окно window():
+ * подписываться на нее нужно в onNext, до прихода следующего элемента.
+ * Группы хранятся в порядке последней активности; при превышении maxGroups завершается
+ * самая давно активная группа, а группа без элементов дольше idleTimeout завершается таймером.
+ * Следующий элемент с тем же ключом открывает новую группу.
+ * С планировщиком каждая группа получает свой Worker: элементы одного ключа обрабатываются
+ * по порядку, разные ключи - параллельно. Без планировщика группы получают элементы в потоке источника.
+ * Выбор группы и вытеснение выполняются под блокировкой наблюдателя.
+ */
+public final class ObservableGroupBy<T, K> extends Observable<GroupedObservable<K, T>> {
+    private final Observable<T> source;
+    private final Function<T, K> keySelector;
+    private final int maxGroups;
+    private final long idleTimeoutNanos;
+    private final Scheduler scheduler;
+
+    public ObservableGroupBy(Observable<T> source, Function<T, K> keySelector, int maxGroups,
+                             long idleTimeout, TimeUnit unit, Scheduler scheduler) {
+        this.source = source;
+        this.keySelector = keySelector;
+        this.maxGroups = maxGroups;
+        this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<GroupedObservable<K, T>> observer) {
+        GroupByObserver<T, K> parent = new GroupByObserver<>(observer, keySelector, maxGroups, idleTimeoutNanos, scheduler);
+        observer.onSubscribe(parent);
+        if (scheduler != null && idleTimeoutNanos > 0) {
+            // Проверка раз в половину idleTimeout: группа завершается через idleTimeout..1.5 * idleTimeout простоя
+            long period = Math.max(1L, idleTimeoutNanos / 2);
+            parent.setSweeper(scheduler.schedulePeriodically(parent, period, period, TimeUnit.NANOSECONDS));
+        }
+        parent.setUpstream(source.subscribe(parent));
+        return parent;
+    }
+
+    static final class GroupByObserver<T, K> implements Observer<T>, Subscription, Runnable {
+        private final Observer<GroupedObservable<K, T>> downstream;
+        private final Function<T, K> keySelector;
+        private final int maxGroups;
+        private final long idleTimeoutNanos;
+        private final Scheduler scheduler;
+        // Порядок доступа: первой идет самая давно активная группа
+        private final LinkedHashMap<K, Group<K, T>> groups = new LinkedHashMap<>(16, 0.75f, true);
+        private boolean done;
+        private volatile Disposable sweeper;
+        private volatile Subscription upstream;
+        private volatile boolean cancelled;
+
+        GroupByObserver(Observer<GroupedObservable<K, T>> downstream, Function<T, K> keySelector, int maxGroups,
+                        long idleTimeoutNanos, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.keySelector = keySelector;
+            this.maxGroups = maxGroups;
+            this.idleTimeoutNanos = idleTimeoutNanos;
+            this.scheduler = scheduler;
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if (cancelled && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        void setSweeper(Disposable d) {
+            sweeper = d;
+            if (cancelled) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            K key;
+            try {
+                key = keySelector.apply(item);
+            } catch (RuntimeException e) {
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+                onError(e);
+                return;
+            }
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                Group<K, T> group = groups.get(key);
+                if (group == null) {
+                    if (groups.size() == maxGroups) {
+                        Iterator<Group<K, T>> it = groups.values().iterator();
+                        Group<K, T> eldest = it.next();
+                        it.remove();
+                        eldest.complete();
+                    }
+                    group = new Group<>(key, scheduler, this);
+                    groups.put(key, group);
+                    downstream.onNext(group);
+                }
+                if (scheduler != null) {
+                    group.lastActive = scheduler.now(TimeUnit.NANOSECONDS);
+                }
+                group.onNext(item);
+            }
+        }
+
+        /**
+         * Срабатывание таймера: завершить группы, простаивающие дольше idleTimeout.
+         */
+        @Override
+        public synchronized void run() {
+            if (done) {
+                return;
+            }
+            long now = scheduler.now(TimeUnit.NANOSECONDS);
+            Iterator<Group<K, T>> it = groups.values().iterator();
+            while (it.hasNext()) {
+                Group<K, T> group = it.next();
+                if (now - group.lastActive < idleTimeoutNanos) {
+                    // Дальше идут только более поздние по активности группы
+                    break;
+                }
+                it.remove();
+                group.complete();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            List<Group<K, T>> active = terminate();
+            if (active != null) {
+                for (Group<K, T> group : active) {
+                    group.error(t);
+                }
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            List<Group<K, T>> active = terminate();
+            if (active != null) {
+                for (Group<K, T> group : active) {
+                    group.complete();
+                }
+                downstream.onComplete();
+            }
+        }
+
+        /**
+         * Планировщик не принял задачу группы: поток групп завершается ошибкой.
+         */
+        void groupRejected(Throwable e) {
+            Subscription s = upstream;
+            if (s != null) {
+                s.unsubscribe();
+            }
+            onError(e);
+        }
+
+        private List<Group<K, T>> terminate() {
+            List<Group<K, T>> active;
+            synchronized (this) {
+                if (done) {
+                    return null;
+                }
+                done = true;
+                active = new ArrayList<>(groups.values());
+                groups.clear();
+            }
+            Disposable d = sweeper;
+            if (d != null) {
+                d.dispose();
+            }
+            return active;
+        }
+
+        /**
+         * Отписка отменяет источник и завершает открытые группы.
+         */
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+                List<Group<K, T>> active = terminate();
+                if (active != null) {
+                    for (Group<K, T> group : active) {
+                        group.complete();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * Группа: свой PublishSubject и, с планировщиком, своя SPSC-очередь с drain-циклом на Worker.
+     * Элементы кладет только поток источника под блокировкой GroupByObserver.
+     */
+    static final class Group<K, T> extends GroupedObservable<K, T> implements Runnable {
+        private final PublishSubject<T> subject = PublishSubject.create();
+        private final GroupByObserver<T, K> parent;
+        private final Scheduler.Worker worker;
+        private final SpscLinkedArrayQueue<T> queue;
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean done;
+        private Throwable error;
+        long lastActive;
+
+        Group(K key, Scheduler scheduler, GroupByObserver<T, K> parent) {
+            super(key);
+            this.parent = parent;
+            this.worker = scheduler == null ? null : scheduler.createWorker(this::workerRejected);
+            this.queue = worker == null ? null : new SpscLinkedArrayQueue<>(Observable.bufferSize());
+        }
+
+        /**
+         * Планировщик не принял drain-цикл группы: цикл не запущен и больше не запустится
+         * (wip не обнуляется), поэтому группа сразу завершается ошибкой, а за ней и весь поток.
+         */
+        private void workerRejected(Throwable e) {
+            queue.clear();
+            subject.onError(e);
+            parent.groupRejected(e);
+        }
+
+        @Override
+        public Subscription subscribe(Observer<T> observer) {
+            return subject.subscribe(observer);
+        }
+
+        void onNext(T item) {
+            if (worker == null) {
+                subject.onNext(item);
+                return;
+            }
+            queue.offer(item);
+            schedule();
+        }
+
+        void complete() {
+            if (worker == null) {
+                subject.onComplete();
+                return;
+            }
+            done = true;
+            schedule();
+        }
+
+        void error(Throwable t) {
+            if (worker == null) {
+                subject.onError(t);
+                return;
+            }
+            error = t;
+            done = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                worker.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            SpscLinkedArrayQueue<T> q = queue;
+            for (;;) {
+                for (;;) {
+                    boolean d = done;
+                    T item = q.poll();
+                    if (d && item == null) {
+                        worker.dispose();
+                        Throwable e = error;
+                        if (e != null) {
+                            subject.onError(e);
+                        } else {
+                            subject.onComplete();
+                        }
+                        return;
+                    }
+                    if (item == null) {
+                        break;
+                    }
+                    subject.onNext(item);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+}
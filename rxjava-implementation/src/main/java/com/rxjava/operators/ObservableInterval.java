@@ -0,0 +1,87 @@
+package com.rxjava.operators;
+
+import com.rxjava.Disposable;
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бесконечная последовательность 0, 1, 2, ... с фиксированным периодом.
+ * Тики доставляются через Worker, поэтому не перекрываются даже на многопоточном планировщике.
+ */
+public final class ObservableInterval extends Observable<Long> {
+    private final long initialDelay;
+    private final long period;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    public ObservableInterval(long initialDelay, long period, TimeUnit unit, Scheduler scheduler) {
+        this.initialDelay = initialDelay;
+        this.period = period;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<Long> observer) {
+        IntervalTask task = new IntervalTask(observer, scheduler);
+        observer.onSubscribe(task);
+        task.timer = task.worker.schedulePeriodically(task, initialDelay, period, unit);
+        if (task.isUnsubscribed()) {
+            task.timer.dispose();
+        }
+        return task;
+    }
+
+    static final class IntervalTask implements Runnable, Subscription {
+        private final Observer<Long> downstream;
+        final Scheduler.Worker worker;
+        volatile Disposable timer;
+        private volatile boolean cancelled;
+        private long count;
+
+        IntervalTask(Observer<Long> downstream, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.worker = scheduler.createWorker(this::workerRejected);
+        }
+
+        /**
+         * Планировщик не принял очередной тик: интервал останавливается с ошибкой.
+         */
+        private void workerRejected(Throwable e) {
+            if (!cancelled) {
+                cancelled = true;
+                Disposable d = timer;
+                if (d != null) {
+                    d.dispose();
+                }
+                downstream.onError(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (!cancelled) {
+                downstream.onNext(count++);
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            cancelled = true;
+            Disposable d = timer;
+            if (d != null) {
+                d.dispose();
+            }
+            worker.dispose();
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
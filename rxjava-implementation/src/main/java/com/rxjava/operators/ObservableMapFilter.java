@@ -0,0 +1,204 @@
+package com.rxjava.operators;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.internal.SimpleQueue;
+import com.rxjava.internal.SyncFuseable;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Слитая цепочка подряд идущих map и filter (macro fusion).
+ * Вместо отдельного Observable и Observer на каждую стадию цепочка собирается при сборке
+ * в один массив шагов, который выполняется в одном onNext с одним try/catch.
+ */
+public final class ObservableMapFilter<T, R> extends Observable<R> implements SyncFuseable<R> {
+    private static final Object SKIP = new Object();
+
+    private final Observable<T> source;
+    private final Function<Object, Object>[] steps;
+
+    private ObservableMapFilter(Observable<T> source, Function<Object, Object>[] steps) {
+        this.source = source;
+        this.steps = steps;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T, R> Observable<R> map(Observable<T> source, Function<T, R> mapper) {
+        return append(source, (Function<Object, Object>) mapper);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Observable<T> filter(Observable<T> source, Predicate<T> predicate) {
+        Predicate<Object> p = (Predicate<Object>) predicate;
+        return append(source, v -> p.test(v) ? v : SKIP);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T, R> Observable<R> append(Observable<T> source, Function<Object, Object> step) {
+        if (source instanceof ObservableMapFilter) {
+            ObservableMapFilter<?, ?> fused = (ObservableMapFilter<?, ?>) source;
+            Function<Object, Object>[] steps = Arrays.copyOf(fused.steps, fused.steps.length + 1);
+            steps[steps.length - 1] = step;
+            return new ObservableMapFilter(fused.source, steps);
+        }
+        return new ObservableMapFilter<T, R>(source, new Function[] { step });
+    }
+
+    /**
+     * Применить все шаги к элементу; SKIP означает, что элемент отброшен фильтром.
+     * null из map недопустим в обоих режимах: в слитом poll() == null означает конец источника,
+     * поэтому и обычный onNext завершает поток NullPointerException.
+     */
+    static Object apply(Function<Object, Object>[] steps, Object value) {
+        for (Function<Object, Object> step : steps) {
+            value = step.apply(value);
+            if (value == SKIP) {
+                return SKIP;
+            }
+            if (value == null) {
+                throw new NullPointerException("map вернул null");
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<R> observer) {
+        MapFilterObserver<T, R> parent = new MapFilterObserver<>(observer, steps);
+        observer.onSubscribe(parent);
+        parent.setUpstream(source.subscribe(parent));
+        return parent;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public SimpleQueue<R> openSync() throws Exception {
+        if (!(source instanceof SyncFuseable)) {
+            return null;
+        }
+        SimpleQueue<T> upstream = ((SyncFuseable<T>) source).openSync();
+        if (upstream == null) {
+            return null;
+        }
+        return new MapFilterQueue<>(upstream, steps);
+    }
+
+    static final class MapFilterObserver<T, R> implements Observer<T>, Subscription {
+        private final Observer<R> downstream;
+        private final Function<Object, Object>[] steps;
+        private volatile Subscription upstream;
+        private volatile boolean cancelled;
+
+        MapFilterObserver(Observer<R> downstream, Function<Object, Object>[] steps) {
+            this.downstream = downstream;
+            this.steps = steps;
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if (cancelled && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNext(T item) {
+            if (cancelled) {
+                return;
+            }
+            Object v;
+            try {
+                v = apply(steps, item);
+            } catch (Exception e) {
+                unsubscribe();
+                downstream.onError(e);
+                return;
+            }
+            if (v != SKIP) {
+                downstream.onNext((R) v);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!cancelled) {
+                cancelled = true;
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!cancelled) {
+                cancelled = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+
+    static final class MapFilterQueue<T, R> implements SimpleQueue<R> {
+        private final SimpleQueue<T> upstream;
+        private final Function<Object, Object>[] steps;
+
+        MapFilterQueue(SimpleQueue<T> upstream, Function<Object, Object>[] steps) {
+            this.upstream = upstream;
+            this.steps = steps;
+        }
+
+        @Override
+        public boolean offer(R item) {
+            throw new UnsupportedOperationException("Слитая очередь доступна только для чтения");
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public R poll() throws Exception {
+            for (;;) {
+                T item = upstream.poll();
+                if (item == null) {
+                    return null;
+                }
+                Object v = apply(steps, item);
+                if (v != SKIP) {
+                    return (R) v;
+                }
+            }
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return upstream.isEmpty();
+        }
+
+        @Override
+        public void clear() {
+            upstream.clear();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.rxjava.operators;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.internal.SimpleQueue;
+import com.rxjava.internal.SpscLinkedArrayQueue;
+import com.rxjava.internal.SyncFuseable;
+import com.rxjava.schedulers.Scheduler;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * observeOn на основе SPSC-очереди и единственного drain-цикла на подписку.
+ * Задача в Worker планировщика отправляется только при переходе очереди из пустого состояния
+ * в непустое, поэтому элементы доставляются пачками и строго по порядку
+ * даже на многопоточных планировщиках.
+ * Если источник синхронный и поддерживает queue fusion, drain-цикл забирает элементы
+ * прямо из него, без промежуточной очереди и без onNext на стороне производителя.
+ */
+public final class ObservableObserveOn<T> extends Observable<T> {
+    private final Observable<T> source;
+    private final Scheduler scheduler;
+    private final Supplier<SimpleQueue<T>> queueSupplier;
+
+    public ObservableObserveOn(Observable<T> source, Scheduler scheduler, int bufferSize) {
+        this(source, scheduler, () -> new SpscLinkedArrayQueue<>(bufferSize));
+    }
+
+    /**
+     * observeOn с собственной очередью между производителем и drain-циклом
+     * (например, с выгрузкой на диск). Исключение из offer() завершает поток ошибкой.
+     */
+    public ObservableObserveOn(Observable<T> source, Scheduler scheduler, Supplier<SimpleQueue<T>> queueSupplier) {
+        this.source = source;
+        this.scheduler = scheduler;
+        this.queueSupplier = queueSupplier;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Subscription subscribe(Observer<T> observer) {
+        if (source instanceof SyncFuseable) {
+            SimpleQueue<T> fused;
+            try {
+                fused = ((SyncFuseable<T>) source).openSync();
+            } catch (Exception e) {
+                ObserveOnObserver<T> parent = new ObserveOnObserver<>(observer, scheduler, null, true);
+                observer.onSubscribe(parent);
+                observer.onError(e);
+                return parent;
+            }
+            if (fused != null) {
+                ObserveOnObserver<T> parent = new ObserveOnObserver<>(observer, scheduler, fused, true);
+                observer.onSubscribe(parent);
+                parent.schedule();
+                return parent;
+            }
+        }
+        ObserveOnObserver<T> parent = new ObserveOnObserver<>(observer, scheduler, queueSupplier.get(), false);
+        observer.onSubscribe(parent);
+        parent.setUpstream(source.subscribe(parent));
+        return parent;
+    }
+
+    static final class ObserveOnObserver<T> extends AtomicInteger implements Observer<T>, Subscription, Runnable {
+        private final Observer<T> downstream;
+        private final Scheduler.Worker worker;
+        private final SimpleQueue<T> queue;
+
+        private volatile Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private Throwable error;
+
+        ObserveOnObserver(Observer<T> downstream, Scheduler scheduler, SimpleQueue<T> queue, boolean syncFused) {
+            this.downstream = downstream;
+            this.worker = scheduler.createWorker(this::workerRejected);
+            this.queue = queue;
+            // В синхронном режиме источник уже полностью доступен: poll() == null означает завершение
+            this.done = syncFused;
+            this.cancelled = queue == null;
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if (cancelled && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            try {
+                queue.offer(item);
+            } catch (RuntimeException e) {
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+                onError(e);
+                return;
+            }
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            schedule();
+        }
+
+        void schedule() {
+            if (getAndIncrement() == 0) {
+                worker.execute(this);
+            }
+        }
+
+        /**
+         * Планировщик не принял drain-цикл: цикл не запущен и уже не запустится,
+         * поэтому ошибка доставляется сразу, в потоке, отправлявшем задачу.
+         */
+        private void workerRejected(Throwable e) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            Subscription s = upstream;
+            if (s != null) {
+                s.unsubscribe();
+            }
+            if (queue != null) {
+                queue.clear();
+            }
+            downstream.onError(e);
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            SimpleQueue<T> q = queue;
+            Observer<T> a = downstream;
+            for (;;) {
+                for (;;) {
+                    if (cancelled) {
+                        q.clear();
+                        worker.dispose();
+                        return;
+                    }
+                    boolean d = done;
+                    T item;
+                    try {
+                        item = q.poll();
+                    } catch (Exception e) {
+                        cancelled = true;
+                        q.clear();
+                        worker.dispose();
+                        a.onError(e);
+                        return;
+                    }
+                    boolean empty = item == null;
+                    if (d && empty) {
+                        cancelled = true;
+                        // Освобождает ресурсы очереди (например, файлы сегментов)
+                        q.clear();
+                        worker.dispose();
+                        Throwable e = error;
+                        if (e != null) {
+                            a.onError(e);
+                        } else {
+                            a.onComplete();
+                        }
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    a.onNext(item);
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+                if (getAndIncrement() == 0) {
+                    if (queue != null) {
+                        queue.clear();
+                    }
+                    worker.dispose();
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.rxjava.operators;
+
+import com.rxjava.ConnectableObservable;
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.subjects.Subject;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * ConnectableObservable поверх Subject: наблюдатели подписываются на Subject текущего подключения,
+ * а connect() один раз подписывает Subject на источник. После отключения или завершения источника
+ * следующее подключение создает новый Subject; поздние подписчики завершенного подключения
+ * получают его терминальное событие (и историю, если Subject ее хранит).
+ */
+public final class ObservablePublish<T> extends ConnectableObservable<T> {
+    private final Observable<T> source;
+    private final Supplier<? extends Subject<T>> subjectFactory;
+    private final AtomicReference<Connection<T>> current = new AtomicReference<>();
+
+    public ObservablePublish(Observable<T> source, Supplier<? extends Subject<T>> subjectFactory) {
+        this.source = source;
+        this.subjectFactory = subjectFactory;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<T> observer) {
+        return currentConnection().subject.subscribe(observer);
+    }
+
+    @Override
+    public Subscription connect() {
+        for (;;) {
+            Connection<T> conn = currentConnection();
+            if (conn.terminated) {
+                // Источник завершился: следующий connect() начинает новое подключение
+                current.compareAndSet(conn, null);
+                continue;
+            }
+            if (conn.connected.compareAndSet(false, true)) {
+                conn.setUpstream(source.subscribe(conn));
+            }
+            return conn;
+        }
+    }
+
+    @Override
+    protected void reset(Subscription connection) {
+        Connection<T> conn = current.get();
+        if (conn == connection) {
+            current.compareAndSet(conn, null);
+        }
+    }
+
+    private Connection<T> currentConnection() {
+        for (;;) {
+            Connection<T> conn = current.get();
+            if (conn != null && !conn.disposed) {
+                return conn;
+            }
+            Connection<T> fresh = new Connection<>(this, subjectFactory.get());
+            if (current.compareAndSet(conn, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    /**
+     * Одно подключение: единственный подписчик источника, передающий сигналы в свой Subject.
+     */
+    static final class Connection<T> implements Observer<T>, Subscription {
+        private final ObservablePublish<T> parent;
+        final Subject<T> subject;
+        final AtomicBoolean connected = new AtomicBoolean();
+        private volatile Subscription upstream;
+        volatile boolean terminated;
+        volatile boolean disposed;
+
+        Connection(ObservablePublish<T> parent, Subject<T> subject) {
+            this.parent = parent;
+            this.subject = subject;
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if (disposed && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!disposed) {
+                subject.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!disposed) {
+                terminated = true;
+                subject.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!disposed) {
+                terminated = true;
+                subject.onComplete();
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!disposed) {
+                disposed = true;
+                parent.current.compareAndSet(this, null);
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return disposed || terminated;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.rxjava.operators;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.internal.SimpleQueue;
+import com.rxjava.internal.SyncFuseable;
+
+/**
+ * Синхронный источник последовательности целых чисел с поддержкой queue fusion.
+ */
+public final class ObservableRange extends Observable<Integer> implements SyncFuseable<Integer> {
+    private final int start;
+    private final long end;
+
+    public ObservableRange(int start, int count) {
+        this.start = start;
+        this.end = (long) start + count;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<Integer> observer) {
+        ObservableFromIterable.IterableSubscription subscription = new ObservableFromIterable.IterableSubscription();
+        observer.onSubscribe(subscription);
+        for (long i = start; i != end && !subscription.unsubscribed; i++) {
+            observer.onNext((int) i);
+        }
+        if (!subscription.unsubscribed) {
+            observer.onComplete();
+        }
+        return subscription;
+    }
+
+    @Override
+    public SimpleQueue<Integer> openSync() {
+        return new RangeQueue(start, end);
+    }
+
+    static final class RangeQueue implements SimpleQueue<Integer> {
+        private final long end;
+        private long index;
+
+        RangeQueue(long start, long end) {
+            this.index = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean offer(Integer item) {
+            throw new UnsupportedOperationException("Слитая очередь доступна только для чтения");
+        }
+
+        @Override
+        public Integer poll() {
+            long i = index;
+            if (i == end) {
+                return null;
+            }
+            index = i + 1;
+            return (int) i;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return index == end;
+        }
+
+        @Override
+        public void clear() {
+            index = end;
+        }
+    }
+}
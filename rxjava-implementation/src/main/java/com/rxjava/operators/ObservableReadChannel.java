@@ -0,0 +1,180 @@
+package com.rxjava.operators;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.internal.ByteBufferPool;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousByteChannel;
+import java.nio.channels.AsynchronousChannel;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Чтение асинхронного канала кусками. Следующее чтение запускается после того, как onNext
+ * обработал предыдущий кусок, поэтому память ограничена одним буфером при любом размере файла,
+ * а поток не блокируется в ожидании данных: обработчики завершения выполняет пул канала.
+ * Кусок - представление только для чтения над буфером из пула без копирования; оно действительно
+ * только до возврата из onNext. Канал закрывается по завершении, ошибке или отписке.
+ */
+public final class ObservableReadChannel extends Observable<ByteBuffer> {
+    private final ChannelOpener opener;
+    private final ByteBufferPool pool;
+
+    /**
+     * Открывает канал при подписке. Поддерживаются AsynchronousFileChannel (чтение по позиции)
+     * и AsynchronousByteChannel (сокеты).
+     */
+    public interface ChannelOpener {
+        AsynchronousChannel open() throws IOException;
+    }
+
+    public ObservableReadChannel(ChannelOpener opener, int chunkSize) {
+        this.opener = opener;
+        this.pool = ByteBufferPool.forSize(chunkSize);
+    }
+
+    @Override
+    public Subscription subscribe(Observer<ByteBuffer> observer) {
+        ReadSubscription parent = new ReadSubscription(observer, pool);
+        observer.onSubscribe(parent);
+        AsynchronousChannel channel;
+        try {
+            channel = opener.open();
+        } catch (Throwable t) {
+            parent.release();
+            observer.onError(t);
+            return parent;
+        }
+        if (!(channel instanceof AsynchronousFileChannel) && !(channel instanceof AsynchronousByteChannel)) {
+            closeQuietly(channel);
+            parent.release();
+            observer.onError(new IllegalArgumentException("Unsupported channel: " + channel.getClass().getName()));
+            return parent;
+        }
+        parent.start(channel);
+        return parent;
+    }
+
+    static void closeQuietly(AsynchronousChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Закрытие при отмене или после ошибки: сообщать уже некому
+        }
+    }
+
+    static final class ReadSubscription implements CompletionHandler<Integer, Void>, Subscription {
+        private final Observer<ByteBuffer> downstream;
+        private final ByteBufferPool pool;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final ByteBuffer buffer;
+        private volatile AsynchronousChannel channel;
+        private volatile boolean cancelled;
+        private long position;
+
+        ReadSubscription(Observer<ByteBuffer> downstream, ByteBufferPool pool) {
+            this.downstream = downstream;
+            this.pool = pool;
+            this.buffer = pool.acquire();
+        }
+
+        void start(AsynchronousChannel channel) {
+            this.channel = channel;
+            if (cancelled) {
+                terminate();
+                return;
+            }
+            readNext();
+        }
+
+        private void readNext() {
+            AsynchronousChannel ch = channel;
+            try {
+                if (ch instanceof AsynchronousFileChannel) {
+                    ((AsynchronousFileChannel) ch).read(buffer, position, null, this);
+                } else {
+                    ((AsynchronousByteChannel) ch).read(buffer, null, this);
+                }
+            } catch (Throwable t) {
+                failed(t, null);
+            }
+        }
+
+        @Override
+        public void completed(Integer read, Void attachment) {
+            if (cancelled) {
+                terminate();
+                return;
+            }
+            if (read < 0) {
+                terminate();
+                downstream.onComplete();
+                return;
+            }
+            position += read;
+            if (read > 0) {
+                buffer.flip();
+                try {
+                    downstream.onNext(buffer.asReadOnlyBuffer());
+                } catch (Throwable t) {
+                    terminate();
+                    downstream.onError(t);
+                    return;
+                }
+                buffer.clear();
+            }
+            if (cancelled) {
+                terminate();
+                return;
+            }
+            readNext();
+        }
+
+        @Override
+        public void failed(Throwable t, Void attachment) {
+            terminate();
+            // AsynchronousCloseException после отписки - ожидаемое следствие закрытия канала
+            if (!cancelled) {
+                downstream.onError(t);
+            }
+        }
+
+        /**
+         * Вызывается, когда чтение в буфер уже не идет: только тогда буфер можно вернуть в пул.
+         */
+        private void terminate() {
+            AsynchronousChannel ch = channel;
+            if (ch != null) {
+                closeQuietly(ch);
+            }
+            release();
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                pool.release(buffer);
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                // Прерывает ожидающее чтение из сокета; буфер вернет обработчик завершения
+                AsynchronousChannel ch = channel;
+                if (ch != null) {
+                    closeQuietly(ch);
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.rxjava.operators;
+
+import com.rxjava.ConnectableObservable;
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Подключает ConnectableObservable при первом наблюдателе и отключает, когда последний
+ * отписывается или получает терминальное событие. Счетчик ведется на поколение подключения,
+ * поэтому запоздавший connect() старого поколения не может затереть новое. Уходящее подключение
+ * сбрасывается в источнике под блокировкой, так что следующий наблюдатель начинает новое.
+ */
+public final class ObservableRefCount<T> extends Observable<T> {
+    private final ConnectableObservable<T> source;
+    private final Consumer<? super Subscription> reset;
+    private RefConnection current;
+
+    /**
+     * reset - ConnectableObservable.reset(connection) источника: вызывается под блокировкой
+     * при отключении, пока connection еще не отписано.
+     */
+    public ObservableRefCount(ConnectableObservable<T> source, Consumer<? super Subscription> reset) {
+        this.source = source;
+        this.reset = reset;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<T> observer) {
+        RefConnection conn;
+        boolean connect;
+        synchronized (this) {
+            conn = current;
+            if (conn == null) {
+                conn = new RefConnection();
+                current = conn;
+            }
+            // Последний наблюдатель ушел, пока connect() еще шел: подключение достается новому
+            conn.disconnected = false;
+            conn.subscribers++;
+            connect = !conn.connected;
+            conn.connected = true;
+        }
+        RefCountObserver<T> parent = new RefCountObserver<>(observer, this, conn);
+        observer.onSubscribe(parent);
+        parent.setUpstream(source.subscribe(parent));
+        if (connect) {
+            Subscription connection = source.connect();
+            boolean disconnected;
+            synchronized (this) {
+                conn.connection = connection;
+                disconnected = conn.disconnected;
+                if (disconnected) {
+                    detach(conn);
+                }
+            }
+            if (disconnected) {
+                connection.unsubscribe();
+            }
+        }
+        return parent;
+    }
+
+    void release(RefConnection conn) {
+        Subscription connection;
+        synchronized (this) {
+            if (--conn.subscribers != 0) {
+                return;
+            }
+            conn.disconnected = true;
+            connection = conn.connection;
+            if (connection == null) {
+                // connect() еще не вернулся: отключит поток, который подключает, если никто не придет
+                return;
+            }
+            detach(conn);
+        }
+        connection.unsubscribe();
+    }
+
+    private void detach(RefConnection conn) {
+        if (current == conn) {
+            current = null;
+        }
+        reset.accept(conn.connection);
+    }
+
+    /**
+     * Поколение подключения; поля защищены монитором ObservableRefCount.
+     */
+    static final class RefConnection {
+        long subscribers;
+        boolean connected;
+        boolean disconnected;
+        Subscription connection;
+    }
+
+    static final class RefCountObserver<T> implements Observer<T>, Subscription {
+        private final Observer<T> downstream;
+        private final ObservableRefCount<T> parent;
+        private final RefConnection conn;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile Subscription upstream;
+
+        RefCountObserver(Observer<T> downstream, ObservableRefCount<T> parent, RefConnection conn) {
+            this.downstream = downstream;
+            this.parent = parent;
+            this.conn = conn;
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if (released.get() && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!released.get()) {
+                downstream.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (released.compareAndSet(false, true)) {
+                parent.release(conn);
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (released.compareAndSet(false, true)) {
+                parent.release(conn);
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (released.compareAndSet(false, true)) {
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+                parent.release(conn);
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return released.get();
+        }
+    }
+}
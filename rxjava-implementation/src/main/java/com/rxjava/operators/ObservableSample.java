@@ -0,0 +1,136 @@
+package com.rxjava.operators;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Раз в period выдает последний пришедший элемент, если с прошлой выборки был новый.
+ * Источник только перезаписывает ссылку на последний элемент, без блокировок;
+ * выдача по таймеру и завершение сериализуются блокировкой наблюдателя.
+ */
+public final class ObservableSample<T> extends Observable<T> {
+    private final Observable<T> source;
+    private final long period;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    public ObservableSample(Observable<T> source, long period, TimeUnit unit, Scheduler scheduler) {
+        this.source = source;
+        this.period = period;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<T> observer) {
+        SampleObserver<T> parent = new SampleObserver<>(observer, scheduler);
+        observer.onSubscribe(parent);
+        parent.worker.schedulePeriodically(parent, period, period, unit);
+        parent.setUpstream(source.subscribe(parent));
+        return parent;
+    }
+
+    static final class SampleObserver<T> extends AtomicReference<T> implements Observer<T>, Subscription, Runnable {
+        private final Observer<T> downstream;
+        final Scheduler.Worker worker;
+        private boolean done;
+        private volatile Subscription upstream;
+        private volatile boolean cancelled;
+
+        SampleObserver(Observer<T> downstream, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.worker = scheduler.createWorker(this::workerRejected);
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if (cancelled && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            lazySet(item);
+        }
+
+        /**
+         * Срабатывание таймера.
+         */
+        @Override
+        public synchronized void run() {
+            if (!done) {
+                T item = getAndSet(null);
+                if (item != null) {
+                    downstream.onNext(item);
+                }
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                worker.dispose();
+                lazySet(null);
+                downstream.onError(t);
+            }
+        }
+
+        /**
+         * Последний невыданный элемент выдается перед завершением.
+         */
+        @Override
+        public synchronized void onComplete() {
+            if (!done) {
+                done = true;
+                worker.dispose();
+                T item = getAndSet(null);
+                if (item != null) {
+                    downstream.onNext(item);
+                }
+                downstream.onComplete();
+            }
+        }
+
+        /**
+         * Планировщик не принял задачу Worker таймера: подписка завершается ошибкой.
+         */
+        private void workerRejected(Throwable e) {
+            cancelled = true;
+            Subscription s = upstream;
+            if (s != null) {
+                s.unsubscribe();
+            }
+            onError(e);
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+                worker.dispose();
+                lazySet(null);
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.rxjava.operators;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.schedulers.Scheduler;
+
+/**
+ * Подписка на источник в потоке планировщика. Возвращаемая подписка действует сразу:
+ * отписка до старта задачи отменяет подписку на источник, после старта отменяет сам источник.
+ */
+public final class ObservableSubscribeOn<T> extends Observable<T> {
+    private final Observable<T> source;
+    private final Scheduler scheduler;
+
+    public ObservableSubscribeOn(Observable<T> source, Scheduler scheduler) {
+        this.source = source;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<T> observer) {
+        SubscribeOnObserver<T> parent = new SubscribeOnObserver<>(observer);
+        observer.onSubscribe(parent);
+        scheduler.execute(() -> {
+            if (!parent.cancelled) {
+                parent.setUpstream(source.subscribe(parent));
+            }
+        });
+        return parent;
+    }
+
+    static final class SubscribeOnObserver<T> implements Observer<T>, Subscription {
+        private final Observer<T> downstream;
+        private volatile Subscription upstream;
+        volatile boolean cancelled;
+
+        SubscribeOnObserver(Observer<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if (cancelled && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!cancelled) {
+                downstream.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!cancelled) {
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!cancelled) {
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.rxjava.operators;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Выдает элемент и отбрасывает следующие, пока не пройдет window.
+ * Таймер не нужен: время берется из scheduler.now() в момент прихода элемента.
+ */
+public final class ObservableThrottleFirst<T> extends Observable<T> {
+    private final Observable<T> source;
+    private final long windowNanos;
+    private final Scheduler scheduler;
+
+    public ObservableThrottleFirst(Observable<T> source, long window, TimeUnit unit, Scheduler scheduler) {
+        this.source = source;
+        this.windowNanos = unit.toNanos(window);
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<T> observer) {
+        ThrottleFirstObserver<T> parent = new ThrottleFirstObserver<>(observer, windowNanos, scheduler);
+        observer.onSubscribe(parent);
+        parent.setUpstream(source.subscribe(parent));
+        return parent;
+    }
+
+    static final class ThrottleFirstObserver<T> implements Observer<T>, Subscription {
+        private final Observer<T> downstream;
+        private final long windowNanos;
+        private final Scheduler scheduler;
+        private boolean gated;
+        private long gateEnd;
+        private volatile Subscription upstream;
+        private volatile boolean cancelled;
+
+        ThrottleFirstObserver(Observer<T> downstream, long windowNanos, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.windowNanos = windowNanos;
+            this.scheduler = scheduler;
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if (cancelled && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (cancelled) {
+                return;
+            }
+            long now = scheduler.now(TimeUnit.NANOSECONDS);
+            if (gated && now - gateEnd < 0) {
+                return;
+            }
+            gated = true;
+            gateEnd = now + windowNanos;
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!cancelled) {
+                cancelled = true;
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!cancelled) {
+                cancelled = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.rxjava.operators;
+
+import com.rxjava.Disposable;
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Завершает поток TimeoutException, если между элементами (или до первого элемента)
+ * прошло больше заданного времени. Гонка между элементом и таймером решается
+ * через CAS индекса: побеждает тот, кто первым сдвинул индекс.
+ */
+public final class ObservableTimeout<T> extends Observable<T> {
+    private final Observable<T> source;
+    private final long timeout;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    public ObservableTimeout(Observable<T> source, long timeout, TimeUnit unit, Scheduler scheduler) {
+        this.source = source;
+        this.timeout = timeout;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<T> observer) {
+        TimeoutObserver<T> parent = new TimeoutObserver<>(observer, timeout, unit, scheduler);
+        observer.onSubscribe(parent);
+        parent.startTimeout(0L);
+        parent.setUpstream(source.subscribe(parent));
+        return parent;
+    }
+
+    static final class TimeoutObserver<T> extends AtomicLong implements Observer<T>, Subscription {
+        private final Observer<T> downstream;
+        private final long timeout;
+        private final TimeUnit unit;
+        private final Scheduler scheduler;
+        private final AtomicReference<Disposable> timer = new AtomicReference<>();
+        private volatile Subscription upstream;
+
+        TimeoutObserver(Observer<T> downstream, long timeout, TimeUnit unit, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.timeout = timeout;
+            this.unit = unit;
+            this.scheduler = scheduler;
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if (get() == Long.MAX_VALUE && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        void startTimeout(long index) {
+            Disposable next = scheduler.schedule(() -> onTimeout(index), timeout, unit);
+            Disposable previous = timer.getAndSet(next);
+            if (previous != null) {
+                previous.dispose();
+            }
+            if (get() == Long.MAX_VALUE) {
+                next.dispose();
+            }
+        }
+
+        private void onTimeout(long index) {
+            if (compareAndSet(index, Long.MAX_VALUE)) {
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+                downstream.onError(new TimeoutException(
+                        "Нет элементов в течение " + timeout + " " + unit.toString().toLowerCase()));
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            long index = get();
+            if (index == Long.MAX_VALUE || !compareAndSet(index, index + 1)) {
+                return;
+            }
+            Disposable current = timer.get();
+            if (current != null) {
+                current.dispose();
+            }
+            downstream.onNext(item);
+            startTimeout(index + 1);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (getAndSet(Long.MAX_VALUE) != Long.MAX_VALUE) {
+                disposeTimer();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (getAndSet(Long.MAX_VALUE) != Long.MAX_VALUE) {
+                disposeTimer();
+                downstream.onComplete();
+            }
+        }
+
+        private void disposeTimer() {
+            Disposable d = timer.get();
+            if (d != null) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (getAndSet(Long.MAX_VALUE) != Long.MAX_VALUE) {
+                disposeTimer();
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return get() == Long.MAX_VALUE;
+        }
+    }
+}
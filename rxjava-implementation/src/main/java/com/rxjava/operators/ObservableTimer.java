@@ -0,0 +1,68 @@
+package com.rxjava.operators;
+
+import com.rxjava.Disposable;
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Выдает 0L через заданную задержку и завершается.
+ */
+public final class ObservableTimer extends Observable<Long> {
+    private final long delay;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    public ObservableTimer(long delay, TimeUnit unit, Scheduler scheduler) {
+        this.delay = delay;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<Long> observer) {
+        TimerTask task = new TimerTask(observer);
+        observer.onSubscribe(task);
+        task.timer = scheduler.schedule(task, delay, unit);
+        if (task.isUnsubscribed()) {
+            task.timer.dispose();
+        }
+        return task;
+    }
+
+    static final class TimerTask implements Runnable, Subscription {
+        private final Observer<Long> downstream;
+        volatile Disposable timer;
+        private volatile boolean cancelled;
+
+        TimerTask(Observer<Long> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void run() {
+            if (!cancelled) {
+                cancelled = true;
+                downstream.onNext(0L);
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            cancelled = true;
+            Disposable d = timer;
+            if (d != null) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.rxjava.operators;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.subjects.PublishSubject;
+
+/**
+ * Делит поток на окна по count элементов. Окно открывается с первым своим элементом,
+ * поэтому пустые окна не выдаются. Окно - горячий источник: подписываться на него
+ * нужно в onNext, до прихода следующего элемента.
+ */
+public final class ObservableWindow<T> extends Observable<Observable<T>> {
+    private final Observable<T> source;
+    private final int count;
+
+    public ObservableWindow(Observable<T> source, int count) {
+        this.source = source;
+        this.count = count;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<Observable<T>> observer) {
+        WindowObserver<T> parent = new WindowObserver<>(observer, count);
+        observer.onSubscribe(parent);
+        parent.setUpstream(source.subscribe(parent));
+        return parent;
+    }
+
+    static final class WindowObserver<T> implements Observer<T>, Subscription {
+        private final Observer<Observable<T>> downstream;
+        private final int count;
+        private PublishSubject<T> window;
+        private int size;
+        private volatile Subscription upstream;
+        private volatile boolean cancelled;
+
+        WindowObserver(Observer<Observable<T>> downstream, int count) {
+            this.downstream = downstream;
+            this.count = count;
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if (cancelled && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (cancelled) {
+                return;
+            }
+            PublishSubject<T> w = window;
+            if (w == null) {
+                w = PublishSubject.create();
+                window = w;
+                downstream.onNext(w);
+            }
+            w.onNext(item);
+            if (++size == count) {
+                window = null;
+                size = 0;
+                w.onComplete();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!cancelled) {
+                cancelled = true;
+                PublishSubject<T> w = window;
+                window = null;
+                if (w != null) {
+                    w.onError(t);
+                }
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!cancelled) {
+                cancelled = true;
+                PublishSubject<T> w = window;
+                window = null;
+                if (w != null) {
+                    w.onComplete();
+                }
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
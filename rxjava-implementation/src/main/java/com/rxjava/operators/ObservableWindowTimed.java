@@ -0,0 +1,140 @@
+package com.rxjava.operators;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.schedulers.Scheduler;
+import com.rxjava.subjects.PublishSubject;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Открывает новое окно каждые timespan. Смена окна по таймеру и доставка элементов
+ * выполняются под блокировкой наблюдателя, поэтому элемент всегда попадает в одно окно.
+ */
+public final class ObservableWindowTimed<T> extends Observable<Observable<T>> {
+    private final Observable<T> source;
+    private final long timespan;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    public ObservableWindowTimed(Observable<T> source, long timespan, TimeUnit unit, Scheduler scheduler) {
+        this.source = source;
+        this.timespan = timespan;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<Observable<T>> observer) {
+        WindowTimedObserver<T> parent = new WindowTimedObserver<>(observer, scheduler);
+        observer.onSubscribe(parent);
+        parent.open();
+        parent.worker.schedulePeriodically(parent, timespan, timespan, unit);
+        parent.setUpstream(source.subscribe(parent));
+        return parent;
+    }
+
+    static final class WindowTimedObserver<T> implements Observer<T>, Subscription, Runnable {
+        private final Observer<Observable<T>> downstream;
+        final Scheduler.Worker worker;
+        private PublishSubject<T> window;
+        private boolean done;
+        private volatile Subscription upstream;
+        private volatile boolean cancelled;
+
+        WindowTimedObserver(Observer<Observable<T>> downstream, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.worker = scheduler.createWorker(this::workerRejected);
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if (cancelled && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        synchronized void open() {
+            if (!done) {
+                window = PublishSubject.create();
+                downstream.onNext(window);
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        public synchronized void onNext(T item) {
+            if (!done) {
+                window.onNext(item);
+            }
+        }
+
+        /**
+         * Срабатывание таймера: закрыть текущее окно и открыть следующее.
+         */
+        @Override
+        public synchronized void run() {
+            if (!done) {
+                window.onComplete();
+                open();
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                worker.dispose();
+                window.onError(t);
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (!done) {
+                done = true;
+                worker.dispose();
+                window.onComplete();
+                downstream.onComplete();
+            }
+        }
+
+        /**
+         * Планировщик не принял задачу Worker таймера: подписка завершается ошибкой.
+         */
+        private void workerRejected(Throwable e) {
+            cancelled = true;
+            Subscription s = upstream;
+            if (s != null) {
+                s.unsubscribe();
+            }
+            onError(e);
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+                worker.dispose();
+                synchronized (this) {
+                    done = true;
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
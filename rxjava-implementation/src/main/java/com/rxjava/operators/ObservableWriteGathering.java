@@ -0,0 +1,155 @@
+package com.rxjava.operators;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+
+/**
+ * Записывает буферы в канал пачками одним вызовом write(ByteBuffer[]) (gathering write),
+ * без склейки в промежуточный буфер. По завершении источника выдает число записанных байт.
+ * Буферы только для чтения считаются заимствованными (их выдают fromFile/fromChannel и они
+ * переиспользуются после onNext), поэтому они записываются вместе с накопленной пачкой до
+ * возврата из onNext. Запись блокирующая: канал должен быть в блокирующем режиме, а вызывающий
+ * поток - подходящим для ввода-вывода. Канал не закрывается.
+ */
+public final class ObservableWriteGathering extends Observable<Long> {
+    private final Observable<ByteBuffer> source;
+    private final GatheringByteChannel channel;
+    private final int maxBatch;
+
+    public ObservableWriteGathering(Observable<ByteBuffer> source, GatheringByteChannel channel, int maxBatch) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch > 0 required but it was " + maxBatch);
+        }
+        this.source = source;
+        this.channel = channel;
+        this.maxBatch = maxBatch;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<Long> observer) {
+        WriteObserver parent = new WriteObserver(observer, channel, maxBatch);
+        observer.onSubscribe(parent);
+        parent.setUpstream(source.subscribe(parent));
+        return parent;
+    }
+
+    static final class WriteObserver implements Observer<ByteBuffer>, Subscription {
+        private final Observer<Long> downstream;
+        private final GatheringByteChannel channel;
+        private final ByteBuffer[] batch;
+        private int count;
+        private long written;
+        private boolean done;
+        private volatile Subscription upstream;
+        private volatile boolean cancelled;
+
+        WriteObserver(Observer<Long> downstream, GatheringByteChannel channel, int maxBatch) {
+            this.downstream = downstream;
+            this.channel = channel;
+            this.batch = new ByteBuffer[maxBatch];
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if (cancelled && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            if (done || !buffer.hasRemaining()) {
+                return;
+            }
+            batch[count++] = buffer;
+            if (count == batch.length || buffer.isReadOnly()) {
+                try {
+                    flush();
+                } catch (IOException e) {
+                    fail(e);
+                }
+            }
+        }
+
+        private void flush() throws IOException {
+            int offset = 0;
+            while (offset < count) {
+                written += channel.write(batch, offset, count - offset);
+                while (offset < count && !batch[offset].hasRemaining()) {
+                    batch[offset++] = null;
+                }
+            }
+            count = 0;
+        }
+
+        private void fail(Throwable t) {
+            if (!done) {
+                done = true;
+                clearBatch();
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+                downstream.onError(t);
+            }
+        }
+
+        private void clearBatch() {
+            for (int i = 0; i < count; i++) {
+                batch[i] = null;
+            }
+            count = 0;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                clearBatch();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            try {
+                flush();
+            } catch (IOException e) {
+                fail(e);
+                return;
+            }
+            done = true;
+            downstream.onNext(written);
+            downstream.onComplete();
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
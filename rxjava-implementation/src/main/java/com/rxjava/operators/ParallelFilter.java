@@ -0,0 +1,90 @@
+package com.rxjava.operators;
+
+import com.rxjava.ParallelObservable;
+import com.rxjava.RailObserver;
+import com.rxjava.Subscription;
+
+import java.util.function.Predicate;
+
+/**
+ * filter в каждой ветке; выполняется в потоке ветки.
+ */
+public final class ParallelFilter<T> extends ParallelObservable<T> {
+    private final ParallelObservable<T> source;
+    private final Predicate<T> predicate;
+
+    public ParallelFilter(ParallelObservable<T> source, Predicate<T> predicate) {
+        this.source = source;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public int parallelism() {
+        return source.parallelism();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void subscribe(RailObserver<T>[] rails) {
+        RailObserver<T>[] parents = new RailObserver[rails.length];
+        for (int i = 0; i < rails.length; i++) {
+            parents[i] = new FilterRail<>(rails[i], predicate);
+        }
+        source.subscribe(parents);
+    }
+
+    static final class FilterRail<T> implements RailObserver<T> {
+        private final RailObserver<T> downstream;
+        private final Predicate<T> predicate;
+        private Subscription upstream;
+        private boolean done;
+
+        FilterRail(RailObserver<T> downstream, Predicate<T> predicate) {
+            this.downstream = downstream;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(long index, T item) {
+            if (done) {
+                return;
+            }
+            boolean pass;
+            try {
+                pass = predicate.test(item);
+            } catch (Throwable t) {
+                done = true;
+                if (upstream != null) {
+                    upstream.unsubscribe();
+                }
+                downstream.onError(t);
+                return;
+            }
+            if (pass) {
+                downstream.onNext(index, item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+    }
+}
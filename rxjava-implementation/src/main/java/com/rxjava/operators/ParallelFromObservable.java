@@ -0,0 +1,104 @@
+package com.rxjava.operators;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.ParallelObservable;
+import com.rxjava.RailObserver;
+import com.rxjava.Subscription;
+
+/**
+ * Раздает элементы источника веткам по кругу и нумерует их. Сама раздача выполняется
+ * в потоке источника; параллельность появляется только после runOn.
+ */
+public final class ParallelFromObservable<T> extends ParallelObservable<T> {
+    private final Observable<T> source;
+    private final int parallelism;
+
+    public ParallelFromObservable(Observable<T> source, int parallelism) {
+        this.source = source;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public int parallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void subscribe(RailObserver<T>[] rails) {
+        DispatchObserver<T> parent = new DispatchObserver<>(rails);
+        for (RailObserver<T> rail : rails) {
+            rail.onSubscribe(parent);
+        }
+        parent.setUpstream(source.subscribe(parent));
+    }
+
+    static final class DispatchObserver<T> implements Observer<T>, Subscription {
+        private final RailObserver<T>[] rails;
+        private long index;
+        private boolean done;
+        private volatile Subscription upstream;
+        private volatile boolean cancelled;
+
+        DispatchObserver(RailObserver<T>[] rails) {
+            this.rails = rails;
+        }
+
+        void setUpstream(Subscription subscription) {
+            upstream = subscription;
+            if (cancelled && subscription != null) {
+                subscription.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            setUpstream(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            long i = index++;
+            rails[(int) (i % rails.length)].onNext(i, item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                for (RailObserver<T> rail : rails) {
+                    rail.onError(t);
+                }
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                for (RailObserver<T> rail : rails) {
+                    rail.onComplete();
+                }
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
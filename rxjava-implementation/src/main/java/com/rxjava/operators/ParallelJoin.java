@@ -0,0 +1,201 @@
+package com.rxjava.operators;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.ParallelObservable;
+import com.rxjava.RailObserver;
+import com.rxjava.Subscription;
+import com.rxjava.internal.SpscLinkedArrayQueue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Слияние веток без сохранения порядка. Каждая ветка пишет в свою SPSC-очередь; выдачу
+ * в наблюдателя сериализует общий drain-цикл. Если цикл свободен и очередь ветки пуста,
+ * элемент выдается напрямую, без очереди.
+ */
+public final class ParallelJoin<T> extends Observable<T> {
+    private final ParallelObservable<T> source;
+    private final int bufferSize;
+
+    public ParallelJoin(ParallelObservable<T> source, int bufferSize) {
+        this.source = source;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<T> observer) {
+        JoinSubscription<T> parent = new JoinSubscription<>(observer, source.parallelism(), bufferSize);
+        observer.onSubscribe(parent);
+        source.subscribe(parent.rails);
+        return parent;
+    }
+
+    static final class JoinSubscription<T> extends AtomicInteger implements Subscription {
+        private final Observer<T> downstream;
+        final JoinRail<T>[] rails;
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private volatile boolean cancelled;
+
+        @SuppressWarnings("unchecked")
+        JoinSubscription(Observer<T> downstream, int parallelism, int bufferSize) {
+            this.downstream = downstream;
+            this.rails = new JoinRail[parallelism];
+            for (int i = 0; i < parallelism; i++) {
+                rails[i] = new JoinRail<>(this, bufferSize);
+            }
+        }
+
+        void onNext(JoinRail<T> rail, T item) {
+            if (get() == 0 && compareAndSet(0, 1)) {
+                if (rail.queue.isEmpty()) {
+                    if (!cancelled) {
+                        downstream.onNext(item);
+                    }
+                } else {
+                    rail.queue.offer(item);
+                }
+                if (decrementAndGet() == 0) {
+                    return;
+                }
+            } else {
+                rail.queue.offer(item);
+                if (getAndIncrement() != 0) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        void onError(Throwable t) {
+            if (error.compareAndSet(null, t)) {
+                cancelAll();
+                drain();
+            }
+        }
+
+        void onComplete() {
+            completed.incrementAndGet();
+            drain();
+        }
+
+        void drain() {
+            if (getAndIncrement() == 0) {
+                drainLoop();
+            }
+        }
+
+        private void drainLoop() {
+            int missed = 1;
+            for (;;) {
+                for (;;) {
+                    if (cancelled) {
+                        clearAll();
+                        return;
+                    }
+                    Throwable e = error.get();
+                    if (e != null) {
+                        cancelled = true;
+                        clearAll();
+                        downstream.onError(e);
+                        return;
+                    }
+                    boolean d = completed.get() == rails.length;
+                    boolean empty = true;
+                    for (JoinRail<T> rail : rails) {
+                        T item;
+                        while (!cancelled && (item = rail.queue.poll()) != null) {
+                            empty = false;
+                            downstream.onNext(item);
+                        }
+                    }
+                    if (d && empty) {
+                        cancelled = true;
+                        downstream.onComplete();
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private void cancelAll() {
+            for (JoinRail<T> rail : rails) {
+                rail.cancel();
+            }
+        }
+
+        private void clearAll() {
+            for (JoinRail<T> rail : rails) {
+                rail.queue.clear();
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                cancelAll();
+                if (getAndIncrement() == 0) {
+                    clearAll();
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+
+    static final class JoinRail<T> implements RailObserver<T> {
+        private final JoinSubscription<T> parent;
+        final SpscLinkedArrayQueue<T> queue;
+        private volatile Subscription upstream;
+        private volatile boolean cancelled;
+
+        JoinRail(JoinSubscription<T> parent, int bufferSize) {
+            this.parent = parent;
+            this.queue = new SpscLinkedArrayQueue<>(bufferSize);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            if (cancelled) {
+                subscription.unsubscribe();
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            Subscription s = upstream;
+            if (s != null) {
+                s.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onNext(long index, T item) {
+            parent.onNext(this, item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            parent.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            parent.onComplete();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.rxjava.operators;
+
+import com.rxjava.ParallelObservable;
+import com.rxjava.RailObserver;
+import com.rxjava.Subscription;
+
+import java.util.function.Function;
+
+/**
+ * map в каждой ветке; выполняется в потоке ветки.
+ */
+public final class ParallelMap<T, R> extends ParallelObservable<R> {
+    private final ParallelObservable<T> source;
+    private final Function<T, R> mapper;
+
+    public ParallelMap(ParallelObservable<T> source, Function<T, R> mapper) {
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public int parallelism() {
+        return source.parallelism();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void subscribe(RailObserver<R>[] rails) {
+        RailObserver<T>[] parents = new RailObserver[rails.length];
+        for (int i = 0; i < rails.length; i++) {
+            parents[i] = new MapRail<>(rails[i], mapper);
+        }
+        source.subscribe(parents);
+    }
+
+    static final class MapRail<T, R> implements RailObserver<T> {
+        private final RailObserver<R> downstream;
+        private final Function<T, R> mapper;
+        private Subscription upstream;
+        private boolean done;
+
+        MapRail(RailObserver<R> downstream, Function<T, R> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(long index, T item) {
+            if (done) {
+                return;
+            }
+            R result;
+            try {
+                result = mapper.apply(item);
+            } catch (Throwable t) {
+                done = true;
+                if (upstream != null) {
+                    upstream.unsubscribe();
+                }
+                downstream.onError(t);
+                return;
+            }
+            downstream.onNext(index, result);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+    }
+}
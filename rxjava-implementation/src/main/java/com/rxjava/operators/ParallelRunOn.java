@@ -0,0 +1,176 @@
+package com.rxjava.operators;
+
+import com.rxjava.ParallelObservable;
+import com.rxjava.RailObserver;
+import com.rxjava.Subscription;
+import com.rxjava.internal.SpscLinkedArrayQueue;
+import com.rxjava.schedulers.Scheduler;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * observeOn для каждой ветки: своя SPSC-очередь и свой Worker, поэтому ветки обрабатываются
+ * параллельно, а внутри ветки порядок сохраняется. Производитель всех очередей - поток раздачи.
+ */
+public final class ParallelRunOn<T> extends ParallelObservable<T> {
+    private final ParallelObservable<T> source;
+    private final Scheduler scheduler;
+    private final int bufferSize;
+
+    public ParallelRunOn(ParallelObservable<T> source, Scheduler scheduler, int bufferSize) {
+        this.source = source;
+        this.scheduler = scheduler;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public int parallelism() {
+        return source.parallelism();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void subscribe(RailObserver<T>[] rails) {
+        RailObserver<T>[] parents = new RailObserver[rails.length];
+        for (int i = 0; i < rails.length; i++) {
+            parents[i] = new RunOnRail<>(rails[i], scheduler, bufferSize);
+        }
+        source.subscribe(parents);
+    }
+
+    static final class RunOnRail<T> extends AtomicInteger implements RailObserver<T>, Subscription, Runnable {
+        private final RailObserver<T> downstream;
+        private final Scheduler.Worker worker;
+        private final SpscLinkedArrayQueue<RailItem<T>> queue;
+        private final RailItem.Pool<T> pool;
+        private volatile Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private Throwable error;
+
+        RunOnRail(RailObserver<T> downstream, Scheduler scheduler, int bufferSize) {
+            this.downstream = downstream;
+            this.worker = scheduler.createWorker(this::workerRejected);
+            this.queue = new SpscLinkedArrayQueue<>(bufferSize);
+            this.pool = new RailItem.Pool<>(bufferSize);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(long index, T item) {
+            if (done) {
+                return;
+            }
+            queue.offer(pool.obtain(index, item));
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (getAndIncrement() == 0) {
+                worker.execute(this);
+            }
+        }
+
+        /**
+         * Планировщик не принял drain-цикл ветки: ошибка доставляется сразу, отменяя всю цепочку.
+         */
+        private void workerRejected(Throwable e) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            Subscription s = upstream;
+            if (s != null) {
+                s.unsubscribe();
+            }
+            queue.clear();
+            downstream.onError(e);
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            for (;;) {
+                for (;;) {
+                    if (cancelled) {
+                        queue.clear();
+                        worker.dispose();
+                        return;
+                    }
+                    boolean d = done;
+                    RailItem<T> item = queue.poll();
+                    boolean empty = item == null;
+                    if (d && empty) {
+                        cancelled = true;
+                        worker.dispose();
+                        Throwable e = error;
+                        if (e != null) {
+                            downstream.onError(e);
+                        } else {
+                            downstream.onComplete();
+                        }
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    long index = item.index;
+                    T value = item.value;
+                    pool.recycle(item);
+                    downstream.onNext(index, value);
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Отменяет всю цепочку: подписка источника общая для всех веток.
+         */
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                Subscription s = upstream;
+                if (s != null) {
+                    s.unsubscribe();
+                }
+                if (getAndIncrement() == 0) {
+                    queue.clear();
+                    worker.dispose();
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.rxjava.operators;
+
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.ParallelObservable;
+import com.rxjava.RailObserver;
+import com.rxjava.Subscription;
+import com.rxjava.internal.SpscLinkedArrayQueue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Слияние веток с восстановлением исходного порядка. Внутри ветки номера элементов возрастают,
+ * поэтому достаточно слияния k упорядоченных очередей: выдается элемент с наименьшим номером,
+ * как только у каждой незавершенной ветки известен очередной элемент. Элементы, отброшенные
+ * filter, просто отсутствуют и выдачу не блокируют.
+ */
+public final class ParallelSortedJoin<T> extends Observable<T> {
+    private final ParallelObservable<T> source;
+    private final int bufferSize;
+
+    public ParallelSortedJoin(ParallelObservable<T> source, int bufferSize) {
+        this.source = source;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<T> observer) {
+        SortedJoinSubscription<T> parent = new SortedJoinSubscription<>(observer, source.parallelism(), bufferSize);
+        observer.onSubscribe(parent);
+        source.subscribe(parent.rails);
+        return parent;
+    }
+
+    static final class SortedJoinSubscription<T> extends AtomicInteger implements Subscription {
+        private final Observer<T> downstream;
+        final SortedRail<T>[] rails;
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private volatile boolean cancelled;
+
+        @SuppressWarnings("unchecked")
+        SortedJoinSubscription(Observer<T> downstream, int parallelism, int bufferSize) {
+            this.downstream = downstream;
+            this.rails = new SortedRail[parallelism];
+            for (int i = 0; i < parallelism; i++) {
+                rails[i] = new SortedRail<>(this, bufferSize);
+            }
+        }
+
+        void onError(Throwable t) {
+            if (error.compareAndSet(null, t)) {
+                cancelAll();
+                drain();
+            }
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                for (;;) {
+                    if (cancelled) {
+                        clearAll();
+                        return;
+                    }
+                    Throwable e = error.get();
+                    if (e != null) {
+                        cancelled = true;
+                        clearAll();
+                        downstream.onError(e);
+                        return;
+                    }
+                    SortedRail<T> min = null;
+                    boolean blocked = false;
+                    for (SortedRail<T> rail : rails) {
+                        // done читается до poll: пустая очередь завершенной ветки окончательно пуста
+                        boolean d = rail.done;
+                        if (rail.head == null) {
+                            rail.head = rail.queue.poll();
+                        }
+                        RailItem<T> head = rail.head;
+                        if (head == null) {
+                            if (!d) {
+                                blocked = true;
+                                break;
+                            }
+                        } else if (min == null || head.index < min.head.index) {
+                            min = rail;
+                        }
+                    }
+                    if (blocked) {
+                        break;
+                    }
+                    if (min == null) {
+                        cancelled = true;
+                        downstream.onComplete();
+                        return;
+                    }
+                    RailItem<T> head = min.head;
+                    T value = head.value;
+                    min.head = null;
+                    min.pool.recycle(head);
+                    downstream.onNext(value);
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private void cancelAll() {
+            for (SortedRail<T> rail : rails) {
+                rail.cancel();
+            }
+        }
+
+        private void clearAll() {
+            for (SortedRail<T> rail : rails) {
+                rail.head = null;
+                rail.queue.clear();
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                cancelAll();
+                if (getAndIncrement() == 0) {
+                    clearAll();
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+
+    static final class SortedRail<T> implements RailObserver<T> {
+        private final SortedJoinSubscription<T> parent;
+        final SpscLinkedArrayQueue<RailItem<T>> queue;
+        final RailItem.Pool<T> pool;
+        // Доступен только drain-циклу
+        RailItem<T> head;
+        volatile boolean done;
+        private volatile Subscription upstream;
+        private volatile boolean cancelled;
+
+        SortedRail(SortedJoinSubscription<T> parent, int bufferSize) {
+            this.parent = parent;
+            this.queue = new SpscLinkedArrayQueue<>(bufferSize);
+            this.pool = new RailItem.Pool<>(bufferSize);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            if (cancelled) {
+                subscription.unsubscribe();
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            Subscription s = upstream;
+            if (s != null) {
+                s.unsubscribe();
+            }
+        }
+
+        @Override
+        public void onNext(long index, T item) {
+            queue.offer(pool.obtain(index, item));
+            parent.drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            parent.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            parent.drain();
+        }
+    }
+}
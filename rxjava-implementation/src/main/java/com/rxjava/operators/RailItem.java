@@ -0,0 +1,45 @@
+package com.rxjava.operators;
+
+import com.rxjava.internal.SpscArrayQueue;
+
+/**
+ * Элемент ветки вместе с его номером, для очередей между потоками.
+ * Держатели переиспользуются: потребитель возвращает их производителю через обратную
+ * SPSC-очередь, поэтому в установившемся режиме новые держатели не создаются.
+ */
+final class RailItem<T> {
+    long index;
+    T value;
+
+    /**
+     * Обратная очередь держателей. Ее производитель - потребитель основной очереди и наоборот.
+     */
+    static final class Pool<T> {
+        private final SpscArrayQueue<RailItem<T>> free;
+
+        Pool(int capacity) {
+            this.free = new SpscArrayQueue<>(capacity);
+        }
+
+        /**
+         * Вызывается производителем основной очереди.
+         */
+        RailItem<T> obtain(long index, T value) {
+            RailItem<T> item = free.poll();
+            if (item == null) {
+                item = new RailItem<>();
+            }
+            item.index = index;
+            item.value = value;
+            return item;
+        }
+
+        /**
+         * Вызывается потребителем основной очереди после того, как элемент выдан.
+         */
+        void recycle(RailItem<T> item) {
+            item.value = null;
+            free.offer(item);
+        }
+    }
+}
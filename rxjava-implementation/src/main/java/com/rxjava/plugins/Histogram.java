@@ -0,0 +1,101 @@
+package com.rxjava.plugins;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Потокобезопасная гистограмма неотрицательных значений (например, наносекунд)
+ * в духе HdrHistogram: логарифмические интервалы, каждый поделен на 64 линейных
+ * подынтервала, поэтому относительная погрешность не больше 1/64 во всем диапазоне long.
+ * Запись - вычисление индекса и один атомарный инкремент, без аллокаций и блокировок.
+ */
+public final class Histogram {
+    private static final int SUB_BITS = 6;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    /** Значения меньше LINEAR хранятся точно, по одному на ячейку. */
+    private static final int LINEAR = SUB_COUNT << 1;
+    private static final int LINEAR_BITS = SUB_BITS + 1;
+    private static final int SIZE = LINEAR + (63 - LINEAR_BITS) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(SIZE);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.getAndIncrement(indexOf(value));
+        total.getAndIncrement();
+        sum.getAndAdd(value);
+        long m = max.get();
+        while (value > m && !max.compareAndSet(m, value)) {
+            m = max.get();
+        }
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BITS;
+        int sub = (int) (value >>> shift) - SUB_COUNT;
+        return LINEAR + (exponent - LINEAR_BITS) * SUB_COUNT + sub;
+    }
+
+    /**
+     * Нижняя граница значений ячейки.
+     */
+    static long valueOf(int index) {
+        if (index < LINEAR) {
+            return index;
+        }
+        int offset = index - LINEAR;
+        int exponent = offset / SUB_COUNT + LINEAR_BITS;
+        long sub = offset % SUB_COUNT + SUB_COUNT;
+        return sub << (exponent - SUB_BITS);
+    }
+
+    public long count() {
+        return total.get();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public double mean() {
+        long n = total.get();
+        return n == 0 ? 0.0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Значение, не превышенное долей percentile (0..100) записей.
+     */
+    public long percentile(double percentile) {
+        long n = total.get();
+        if (n == 0) {
+            return 0;
+        }
+        long target = Math.max(1L, (long) Math.ceil(n * Math.min(100.0, percentile) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < SIZE; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(valueOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < SIZE; i++) {
+            counts.set(i, 0);
+        }
+        total.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+}
@@ -0,0 +1,98 @@
+package com.rxjava.plugins;
+
+import com.rxjava.ConnectableObservable;
+import com.rxjava.Observable;
+import com.rxjava.schedulers.Scheduler;
+import com.rxjava.subjects.Subject;
+
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Глобальные точки расширения для инструментирования.
+ * Пока обработчик не установлен, каждая точка стоит одно чтение volatile-поля:
+ * при сборке цепочки, при отправке задачи в планировщик и при создании Subject.
+ * На доставку элементов неустановленные обработчики не влияют.
+ */
+public final class RxJavaPlugins {
+    private static volatile Function<? super Observable<?>, ? extends Observable<?>> onObservableAssembly;
+    private static volatile Function<? super ConnectableObservable<?>, ? extends ConnectableObservable<?>> onConnectableAssembly;
+    private static volatile BiFunction<? super Scheduler, ? super Runnable, ? extends Runnable> onSchedule;
+    private static volatile Consumer<? super Subject<?>> onSubjectCreated;
+
+    private RxJavaPlugins() {
+    }
+
+    /**
+     * Обработчик каждого Observable, созданного фабричным методом или оператором.
+     * Может вернуть обертку, например для подсчета элементов.
+     */
+    public static void setOnObservableAssembly(Function<? super Observable<?>, ? extends Observable<?>> handler) {
+        onObservableAssembly = handler;
+    }
+
+    /**
+     * Обработчик каждого ConnectableObservable (publish(), replay()): обертка должна остаться
+     * ConnectableObservable и передавать connect() и reset() исходному.
+     */
+    public static void setOnConnectableAssembly(
+            Function<? super ConnectableObservable<?>, ? extends ConnectableObservable<?>> handler) {
+        onConnectableAssembly = handler;
+    }
+
+    /**
+     * Обработчик каждой задачи, отправляемой в поток планировщика.
+     * Может вернуть обертку, например для замера времени ожидания и выполнения.
+     */
+    public static void setScheduleHandler(BiFunction<? super Scheduler, ? super Runnable, ? extends Runnable> handler) {
+        onSchedule = handler;
+    }
+
+    public static void setOnSubjectCreated(Consumer<? super Subject<?>> handler) {
+        onSubjectCreated = handler;
+    }
+
+    /**
+     * Снять все обработчики.
+     */
+    public static void reset() {
+        onObservableAssembly = null;
+        onConnectableAssembly = null;
+        onSchedule = null;
+        onSubjectCreated = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Observable<T> onAssembly(Observable<T> source) {
+        Function<? super Observable<?>, ? extends Observable<?>> f = onObservableAssembly;
+        if (f == null) {
+            return source;
+        }
+        return (Observable<T>) f.apply(source);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> ConnectableObservable<T> onAssembly(ConnectableObservable<T> source) {
+        Function<? super ConnectableObservable<?>, ? extends ConnectableObservable<?>> f = onConnectableAssembly;
+        if (f == null) {
+            return source;
+        }
+        return (ConnectableObservable<T>) f.apply(source);
+    }
+
+    public static Runnable onSchedule(Scheduler scheduler, Runnable task) {
+        BiFunction<? super Scheduler, ? super Runnable, ? extends Runnable> f = onSchedule;
+        if (f == null) {
+            return task;
+        }
+        return f.apply(scheduler, task);
+    }
+
+    public static void onSubjectCreated(Subject<?> subject) {
+        Consumer<? super Subject<?>> f = onSubjectCreated;
+        if (f != null) {
+            f.accept(subject);
+        }
+    }
+}
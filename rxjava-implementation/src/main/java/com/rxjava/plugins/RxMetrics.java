@@ -0,0 +1,343 @@
+package com.rxjava.plugins;
+
+import com.rxjava.ConnectableObservable;
+import com.rxjava.Observable;
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.schedulers.Scheduler;
+import com.rxjava.subjects.SerializedSubject;
+import com.rxjava.subjects.Subject;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Сбор метрик поверх {@link RxJavaPlugins}: число onNext по операторам, очередь, активные задачи,
+ * время ожидания и выполнения задач по планировщикам, число подписчиков Subject.
+ * Пока метрики выключены, обработчики не установлены и горячий путь не меняется.
+ * Включенные метрики оборачивают каждый оператор, поэтому слияние (fusion) операторов отключается.
+ */
+public final class RxMetrics implements RxMetricsMXBean {
+    public static final String OBJECT_NAME = "com.rxjava:type=Metrics";
+
+    private static final RxMetrics INSTANCE = new RxMetrics();
+
+    private final Map<String, LongAdder> operators = new ConcurrentHashMap<>();
+    // Ключ - сам планировщик (equals не переопределен), хранится слабо, как и Subject: метрики
+    // не удерживают планировщик, созданный на одну операцию. SchedulerStats не ссылается на него
+    private final Map<Scheduler, SchedulerStats> schedulers = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Set<Subject<?>> subjects = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private volatile boolean enabled;
+
+    private RxMetrics() {
+    }
+
+    /**
+     * Установить обработчики и зарегистрировать MXBean. Учитываются только цепочки,
+     * собранные после вызова, и Subject, созданные после вызова.
+     */
+    public static synchronized void enable() {
+        RxJavaPlugins.setOnObservableAssembly(INSTANCE::meter);
+        RxJavaPlugins.setOnConnectableAssembly(INSTANCE::meterConnectable);
+        RxJavaPlugins.setScheduleHandler(INSTANCE::meter);
+        RxJavaPlugins.setOnSubjectCreated(INSTANCE::track);
+        INSTANCE.enabled = true;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Уже зарегистрирован предыдущим enable()
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Снять обработчики и MXBean. Уже собранные цепочки продолжают считать onNext.
+     */
+    public static synchronized void disable() {
+        INSTANCE.enabled = false;
+        RxJavaPlugins.reset();
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+        } catch (InstanceNotFoundException e) {
+            // Не был зарегистрирован
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister " + OBJECT_NAME, e);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return INSTANCE.enabled;
+    }
+
+    public static RxMetricsMXBean get() {
+        return INSTANCE;
+    }
+
+    public static long operatorOnNextCount(String operator) {
+        LongAdder counter = INSTANCE.operators.get(operator);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Статистика планировщика или null, если через него еще не прошло ни одной задачи.
+     */
+    public static SchedulerStats schedulerStats(Scheduler scheduler) {
+        return INSTANCE.schedulers.get(scheduler);
+    }
+
+    private Observable<?> meter(Observable<?> source) {
+        if (source instanceof MeteredObservable) {
+            return source;
+        }
+        LongAdder counter = operators.computeIfAbsent(source.getClass().getSimpleName(), k -> new LongAdder());
+        return new MeteredObservable<>(source, counter);
+    }
+
+    private ConnectableObservable<?> meterConnectable(ConnectableObservable<?> source) {
+        if (source instanceof MeteredConnectable) {
+            return source;
+        }
+        LongAdder counter = operators.computeIfAbsent(source.getClass().getSimpleName(), k -> new LongAdder());
+        return new MeteredConnectable<>(source, counter);
+    }
+
+    private Runnable meter(Scheduler scheduler, Runnable task) {
+        if (task instanceof MeteredTask) {
+            return task;
+        }
+        SchedulerStats stats = schedulers.computeIfAbsent(scheduler, SchedulerStats::new);
+        stats.submitted.increment();
+        return new MeteredTask(task, stats, System.nanoTime());
+    }
+
+    private void track(Subject<?> subject) {
+        // Обертка делегирует подписчиков исходному Subject, который уже учтен
+        if (!(subject instanceof SerializedSubject)) {
+            subjects.add(subject);
+        }
+    }
+
+    private List<Subject<?>> liveSubjects() {
+        synchronized (subjects) {
+            return new ArrayList<>(subjects);
+        }
+    }
+
+    private Map<String, Long> bySchedulers(ToLongFunction<SchedulerStats> metric) {
+        List<SchedulerStats> live;
+        synchronized (schedulers) {
+            live = new ArrayList<>(schedulers.values());
+        }
+        Map<String, Long> result = new TreeMap<>();
+        for (SchedulerStats stats : live) {
+            result.merge(stats.name, metric.applyAsLong(stats), Long::sum);
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getOperatorOnNextCounts() {
+        Map<String, Long> result = new TreeMap<>();
+        operators.forEach((name, counter) -> result.put(name, counter.sum()));
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getSchedulerQueueSizes() {
+        return bySchedulers(SchedulerStats::queueSize);
+    }
+
+    @Override
+    public Map<String, Long> getSchedulerActiveTasks() {
+        return bySchedulers(SchedulerStats::activeTasks);
+    }
+
+    @Override
+    public Map<String, Long> getSchedulerWaitTimeP99Nanos() {
+        return bySchedulers(stats -> stats.waitTime.percentile(99));
+    }
+
+    @Override
+    public Map<String, Long> getSchedulerExecutionTimeP99Nanos() {
+        return bySchedulers(stats -> stats.executionTime.percentile(99));
+    }
+
+    @Override
+    public int getSubjectCount() {
+        return liveSubjects().size();
+    }
+
+    @Override
+    public long getSubjectSubscriberCount() {
+        long total = 0;
+        for (Subject<?> subject : liveSubjects()) {
+            total += subject.subscriberCount();
+        }
+        return total;
+    }
+
+    @Override
+    public void reset() {
+        operators.clear();
+        schedulers.clear();
+        subjects.clear();
+    }
+
+    /**
+     * Счетчики одного планировщика. Очередь - задачи, отправленные, но еще не начатые.
+     */
+    public static final class SchedulerStats {
+        final String name;
+        final LongAdder submitted = new LongAdder();
+        final LongAdder started = new LongAdder();
+        final LongAdder completed = new LongAdder();
+        final Histogram waitTime = new Histogram();
+        final Histogram executionTime = new Histogram();
+
+        SchedulerStats(Scheduler scheduler) {
+            this.name = scheduler.getClass().getSimpleName();
+        }
+
+        public long submittedTasks() {
+            return submitted.sum();
+        }
+
+        public long completedTasks() {
+            return completed.sum();
+        }
+
+        public long queueSize() {
+            return Math.max(0, submitted.sum() - started.sum());
+        }
+
+        public long activeTasks() {
+            return Math.max(0, started.sum() - completed.sum());
+        }
+
+        /**
+         * Время от отправки задачи до начала выполнения, в наносекундах.
+         */
+        public Histogram waitTime() {
+            return waitTime;
+        }
+
+        /**
+         * Время выполнения задачи, в наносекундах.
+         */
+        public Histogram executionTime() {
+            return executionTime;
+        }
+    }
+
+    static final class MeteredTask implements Runnable {
+        private final Runnable actual;
+        private final SchedulerStats stats;
+        private final long submittedAt;
+
+        MeteredTask(Runnable actual, SchedulerStats stats, long submittedAt) {
+            this.actual = actual;
+            this.stats = stats;
+            this.submittedAt = submittedAt;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            stats.started.increment();
+            stats.waitTime.record(start - submittedAt);
+            try {
+                actual.run();
+            } finally {
+                stats.executionTime.record(System.nanoTime() - start);
+                stats.completed.increment();
+            }
+        }
+    }
+
+    static final class MeteredObservable<T> extends Observable<T> {
+        private final Observable<T> source;
+        private final LongAdder counter;
+
+        MeteredObservable(Observable<T> source, LongAdder counter) {
+            this.source = source;
+            this.counter = counter;
+        }
+
+        @Override
+        public Subscription subscribe(Observer<T> observer) {
+            return source.subscribe(new MeteredObserver<>(observer, counter));
+        }
+    }
+
+    static final class MeteredConnectable<T> extends ConnectableObservable<T> {
+        private final ConnectableObservable<T> source;
+        private final LongAdder counter;
+
+        MeteredConnectable(ConnectableObservable<T> source, LongAdder counter) {
+            this.source = source;
+            this.counter = counter;
+        }
+
+        @Override
+        public Subscription subscribe(Observer<T> observer) {
+            return source.subscribe(new MeteredObserver<>(observer, counter));
+        }
+
+        @Override
+        public Subscription connect() {
+            return source.connect();
+        }
+
+        @Override
+        protected void reset(Subscription connection) {
+            resetConnection(source, connection);
+        }
+    }
+
+    static final class MeteredObserver<T> implements Observer<T> {
+        private final Observer<T> downstream;
+        private final LongAdder counter;
+
+        MeteredObserver(Observer<T> downstream, LongAdder counter) {
+            this.downstream = downstream;
+            this.counter = counter;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            counter.increment();
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.rxjava.plugins;
+
+import java.util.Map;
+
+/**
+ * Метрики, публикуемые через JMX под именем {@value RxMetrics#OBJECT_NAME}.
+ * Ключи - имя класса оператора или планировщика.
+ */
+public interface RxMetricsMXBean {
+    Map<String, Long> getOperatorOnNextCounts();
+
+    Map<String, Long> getSchedulerQueueSizes();
+
+    Map<String, Long> getSchedulerActiveTasks();
+
+    Map<String, Long> getSchedulerWaitTimeP99Nanos();
+
+    Map<String, Long> getSchedulerExecutionTimeP99Nanos();
+
+    int getSubjectCount();
+
+    long getSubjectSubscriberCount();
+
+    void reset();
+}
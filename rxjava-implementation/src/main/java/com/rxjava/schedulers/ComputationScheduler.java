@@ -1,17 +1,311 @@
 package com.rxjava.schedulers;
 
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import com.rxjava.internal.MpscLinkedQueue;
+import com.rxjava.plugins.RxJavaPlugins;
 
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Планировщик вычислений на основе event loop: по одному потоку на ядро, у каждого своя очередь.
+ * createWorker() закрепляет Worker за одним потоком по кругу, поэтому задачи одной подписки
+ * выполняются по порядку и в одном потоке (лучше локальность кэша). Задачи execute()
+ * распределяются по кругу и при включенном work stealing могут быть забраны простаивающим потоком.
+ * Потоки создаются при первой задаче или start() и останавливаются shutdown(); очередь каждого
+ * потока ограничена queueCapacity, при переполнении срабатывает RejectionPolicy.
+ */
 public class ComputationScheduler implements Scheduler {
-    private final Executor executor;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1 << 16;
+
+    private static final AtomicInteger SCHEDULER_IDS = new AtomicInteger();
+
+    private final int id = SCHEDULER_IDS.incrementAndGet();
+    private final int parallelism;
+    private final boolean workStealing;
+    private final int queueCapacity;
+    private final RejectionPolicy rejectionPolicy;
+    private final AtomicInteger nextTask = new AtomicInteger();
+    private final AtomicInteger nextWorker = new AtomicInteger();
+    private volatile EventLoop[] loops;
+    private volatile boolean shutdown;
 
     public ComputationScheduler() {
-        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this(Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    public ComputationScheduler(int parallelism, boolean workStealing) {
+        this(parallelism, workStealing, DEFAULT_QUEUE_CAPACITY, RejectionPolicy.CALLER_RUNS);
+    }
+
+    public ComputationScheduler(int parallelism, boolean workStealing, int queueCapacity, RejectionPolicy rejectionPolicy) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism > 0 required but it was " + parallelism);
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity > 0 required but it was " + queueCapacity);
+        }
+        this.parallelism = parallelism;
+        this.workStealing = workStealing;
+        this.queueCapacity = queueCapacity;
+        this.rejectionPolicy = rejectionPolicy;
     }
 
     @Override
     public void execute(Runnable task) {
-        executor.execute(task);
+        EventLoop[] l = loops();
+        if (l == null) {
+            return;
+        }
+        task = RxJavaPlugins.onSchedule(this, task);
+        EventLoop target = l[Math.floorMod(nextTask.getAndIncrement(), l.length)];
+        if (!target.offerShared(task)) {
+            rejectionPolicy.reject(task);
+            return;
+        }
+        if (!target.wakeUp() && workStealing) {
+            wakeIdleLoop(l, target);
+        }
+    }
+
+    @Override
+    public Worker createWorker(Consumer<? super RejectedExecutionException> onRejected) {
+        EventLoop[] l = loops();
+        if (l == null) {
+            // Остановленный планировщик: задачи Worker отбрасываются
+            return new SerialWorker(task -> { }, onRejected);
+        }
+        EventLoop loop = l[Math.floorMod(nextWorker.getAndIncrement(), l.length)];
+        return new SerialWorker(task -> {
+            task = RxJavaPlugins.onSchedule(this, task);
+            if (!loop.offerPinned(task)) {
+                rejectionPolicy.rejectWorker(task);
+            }
+        }, onRejected);
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    private EventLoop[] loops() {
+        EventLoop[] l = loops;
+        if (l == null && !shutdown) {
+            l = startIfNeeded();
+        }
+        return l;
+    }
+
+    private synchronized EventLoop[] startIfNeeded() {
+        if (loops == null && !shutdown) {
+            loops = createLoops();
+        }
+        return loops;
+    }
+
+    private EventLoop[] createLoops() {
+        EventLoop[] l = new EventLoop[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            l[i] = new EventLoop(this, "ComputationScheduler-" + id + "-loop-" + i, queueCapacity);
+        }
+        for (EventLoop loop : l) {
+            loop.start();
+        }
+        return l;
+    }
+
+    @Override
+    public synchronized void start() {
+        shutdown = false;
+        if (loops == null) {
+            loops = createLoops();
+        }
+    }
+
+    /**
+     * Остановить потоки; задачи в очередях отбрасываются. Worker, созданные до остановки,
+     * больше ничего не выполняют.
+     */
+    @Override
+    public synchronized void shutdown() {
+        shutdown = true;
+        EventLoop[] l = loops;
+        loops = null;
+        if (l != null) {
+            for (EventLoop loop : l) {
+                loop.shutdown();
+            }
+        }
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Задачи, ожидающие в очередях всех потоков.
+     */
+    public int queuedTasks() {
+        EventLoop[] l = loops;
+        int total = 0;
+        if (l != null) {
+            for (EventLoop loop : l) {
+                total += loop.size.get();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Целевой поток занят: будим простаивающий, чтобы он забрал задачу.
+     */
+    private void wakeIdleLoop(EventLoop[] l, EventLoop busy) {
+        for (EventLoop loop : l) {
+            if (loop != busy && loop.wakeUp()) {
+                return;
+            }
+        }
+    }
+
+    Runnable steal(EventLoop thief) {
+        EventLoop[] l = loops;
+        if (!workStealing || l == null) {
+            return null;
+        }
+        for (EventLoop loop : l) {
+            if (loop != thief) {
+                Runnable task = loop.pollShared();
+                if (task != null) {
+                    return task;
+                }
+            }
+        }
+        return null;
+    }
+
+    boolean hasStealableWork(EventLoop thief) {
+        EventLoop[] l = loops;
+        if (!workStealing || l == null) {
+            return false;
+        }
+        for (EventLoop loop : l) {
+            if (loop != thief && !loop.shared.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static final class EventLoop extends Thread {
+        private final ComputationScheduler parent;
+        private final int capacity;
+        // Задачи закрепленных Worker: выполняются только этим потоком
+        final MpscLinkedQueue<Runnable> pinned = new MpscLinkedQueue<>();
+        // Задачи execute(): могут быть украдены другими потоками
+        final Queue<Runnable> shared = new ConcurrentLinkedQueue<>();
+        // Общий размер обеих очередей, для ограничения емкости
+        final AtomicInteger size = new AtomicInteger();
+        private volatile boolean parked;
+        private volatile boolean stopped;
+
+        EventLoop(ComputationScheduler parent, String name, int capacity) {
+            super(name);
+            this.parent = parent;
+            this.capacity = capacity;
+            setDaemon(true);
+        }
+
+        /**
+         * false - очередь заполнена. После остановки задачи молча отбрасываются.
+         */
+        boolean offerPinned(Runnable task) {
+            if (stopped) {
+                return true;
+            }
+            if (!reserve()) {
+                return false;
+            }
+            pinned.offer(task);
+            wakeUp();
+            return true;
+        }
+
+        boolean offerShared(Runnable task) {
+            if (stopped) {
+                return true;
+            }
+            if (!reserve()) {
+                return false;
+            }
+            shared.offer(task);
+            return true;
+        }
+
+        private boolean reserve() {
+            if (size.incrementAndGet() > capacity) {
+                size.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        Runnable pollShared() {
+            Runnable task = shared.poll();
+            if (task != null) {
+                size.decrementAndGet();
+            }
+            return task;
+        }
+
+        /**
+         * Разбудить поток, если он припаркован; возвращает false, если поток и так работает.
+         */
+        boolean wakeUp() {
+            if (parked) {
+                LockSupport.unpark(this);
+                return true;
+            }
+            return false;
+        }
+
+        void shutdown() {
+            stopped = true;
+            LockSupport.unpark(this);
+        }
+
+        @Override
+        public void run() {
+            while (!stopped) {
+                boolean worked = false;
+                Runnable task = pinned.poll();
+                if (task != null) {
+                    size.decrementAndGet();
+                    SerialWorker.runSafely(task);
+                    worked = true;
+                }
+                task = pollShared();
+                if (task == null) {
+                    task = parent.steal(this);
+                }
+                if (task != null) {
+                    SerialWorker.runSafely(task);
+                    worked = true;
+                }
+                if (!worked) {
+                    parked = true;
+                    if (pinned.isEmpty() && shared.isEmpty() && !parent.hasStealableWork(this) && !stopped) {
+                        LockSupport.park(this);
+                    }
+                    parked = false;
+                }
+            }
+            pinned.clear();
+            shared.clear();
+            size.set(0);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+package com.rxjava.schedulers;
+
+import com.rxjava.plugins.RxJavaPlugins;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Consumer;
+
+/**
+ * Основа планировщиков поверх ThreadPoolExecutor: пул создается при первой задаче или start(),
+ * останавливается shutdown() и может быть запущен снова. Пока пул остановлен, задачи отбрасываются.
+ * Пул сообщает о переполнении RejectedExecutionException, а решение принимает RejectionPolicy:
+ * для обычных задач и для задач Worker оно разное.
+ */
+abstract class ExecutorScheduler implements Scheduler {
+    private final RejectionPolicy rejectionPolicy;
+    private volatile ThreadPoolExecutor executor;
+    private volatile boolean shutdown;
+
+    ExecutorScheduler(RejectionPolicy rejectionPolicy) {
+        this.rejectionPolicy = rejectionPolicy;
+    }
+
+    /**
+     * Новый пул; вызывается под блокировкой планировщика. При переполнении пул должен
+     * бросать RejectedExecutionException.
+     */
+    abstract ThreadPoolExecutor createExecutor();
+
+    @Override
+    public void execute(Runnable task) {
+        submit(task, false);
+    }
+
+    @Override
+    public Worker createWorker(Consumer<? super RejectedExecutionException> onRejected) {
+        return new SerialWorker(task -> submit(task, true), onRejected);
+    }
+
+    private void submit(Runnable task, boolean workerTask) {
+        ThreadPoolExecutor e = executor;
+        if (e == null) {
+            e = startIfNeeded();
+            if (e == null) {
+                return;
+            }
+        }
+        Runnable r = RxJavaPlugins.onSchedule(this, task);
+        try {
+            e.execute(r);
+        } catch (RejectedExecutionException ex) {
+            if (e.isShutdown()) {
+                // Остановленный планировщик не выполняет работу ни в каком потоке
+                return;
+            }
+            if (workerTask) {
+                rejectionPolicy.rejectWorker(r);
+            } else {
+                rejectionPolicy.reject(r);
+            }
+        }
+    }
+
+    private synchronized ThreadPoolExecutor startIfNeeded() {
+        if (executor == null && !shutdown) {
+            executor = createExecutor();
+        }
+        return executor;
+    }
+
+    @Override
+    public synchronized void start() {
+        shutdown = false;
+        if (executor == null) {
+            executor = createExecutor();
+        }
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        shutdown = true;
+        ThreadPoolExecutor e = executor;
+        executor = null;
+        if (e != null) {
+            e.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Текущее число потоков пула; 0, если пул еще не запущен.
+     */
+    public int poolSize() {
+        ThreadPoolExecutor e = executor;
+        return e == null ? 0 : e.getPoolSize();
+    }
+
+    /**
+     * Число задач в очереди пула.
+     */
+    public int queuedTasks() {
+        ThreadPoolExecutor e = executor;
+        return e == null ? 0 : e.getQueue().size();
+    }
+}
@@ -0,0 +1,256 @@
+package com.rxjava.schedulers;
+
+import com.rxjava.Disposable;
+import com.rxjava.internal.MpscLinkedQueue;
+import com.rxjava.internal.Pow2;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Таймер на хешированном колесе (hashed wheel): один поток, O(1) на постановку и отмену.
+ * Таймауты раскладываются по корзинам колеса по номеру тика; поток таймера раз в тик
+ * обходит одну корзину. Подходит для сотен тысяч одновременно ожидающих таймаутов,
+ * точность ограничена длительностью тика. Задачи таймера должны быть короткими:
+ * планировщики лишь передают из них работу в свой execute.
+ */
+public final class HashedWheelTimer {
+    private static final int INIT = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+    private static final int MAX_TRANSFER_PER_TICK = 100_000;
+
+    private static final AtomicInteger TIMER_IDS = new AtomicInteger();
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final MpscLinkedQueue<Timeout> pending = new MpscLinkedQueue<>();
+    private final MpscLinkedQueue<Timeout> cancelled = new MpscLinkedQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final Thread worker;
+    private final long startTime = System.nanoTime();
+    private long tick;
+
+    public HashedWheelTimer() {
+        this(1, TimeUnit.MILLISECONDS, 512);
+    }
+
+    public HashedWheelTimer(long tickDuration, TimeUnit unit, int wheelSize) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration > 0 required but it was " + tickDuration);
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = Pow2.roundToPowerOfTwo(Math.max(1, wheelSize));
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.worker = new Thread(this::run, "HashedWheelTimer-" + TIMER_IDS.incrementAndGet());
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * Общий таймер для всех планировщиков.
+     */
+    public static HashedWheelTimer shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        return enqueue(task, unit.toNanos(Math.max(0, delay)), 0L);
+    }
+
+    public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period > 0 required but it was " + period);
+        }
+        return enqueue(task, unit.toNanos(Math.max(0, initialDelay)), unit.toNanos(period));
+    }
+
+    private Disposable enqueue(Runnable task, long delayNanos, long periodNanos) {
+        start();
+        long deadline = System.nanoTime() - startTime + delayNanos;
+        Timeout timeout = new Timeout(this, task, deadline, periodNanos);
+        pending.offer(timeout);
+        return timeout;
+    }
+
+    private void start() {
+        if (!started.get() && started.compareAndSet(false, true)) {
+            worker.start();
+        }
+    }
+
+    private void run() {
+        // Поток стартует лениво: начинаем с текущего тика, а не с момента создания таймера
+        tick = (System.nanoTime() - startTime) / tickNanos;
+        for (;;) {
+            long deadline = waitForNextTick();
+            processCancelled();
+            transferPending();
+            wheel[(int) (tick & mask)].expire(deadline, this);
+            tick++;
+        }
+    }
+
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        for (;;) {
+            long current = System.nanoTime() - startTime;
+            long sleepNanos = deadline - current;
+            if (sleepNanos <= 0) {
+                return current;
+            }
+            LockSupport.parkNanos(this, sleepNanos);
+        }
+    }
+
+    private void processCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            Bucket bucket = timeout.bucket;
+            if (bucket != null) {
+                bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+            Timeout timeout = pending.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() == CANCELLED) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    void reschedule(Timeout timeout) {
+        timeout.deadline += timeout.periodNanos;
+        pending.offer(timeout);
+    }
+
+    static final class Timeout implements Disposable {
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        final long periodNanos;
+        final AtomicInteger state = new AtomicInteger(INIT);
+        long deadline;
+        long remainingRounds;
+        Bucket bucket;
+        Timeout prev;
+        Timeout next;
+
+        Timeout(HashedWheelTimer timer, Runnable task, long deadline, long periodNanos) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+            this.periodNanos = periodNanos;
+        }
+
+        void expire() {
+            if (periodNanos == 0L) {
+                if (!state.compareAndSet(INIT, EXPIRED)) {
+                    return;
+                }
+                SerialWorker.runSafely(task);
+                return;
+            }
+            if (state.get() != INIT) {
+                return;
+            }
+            SerialWorker.runSafely(task);
+            if (state.get() == INIT) {
+                timer.reschedule(this);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (state.compareAndSet(INIT, CANCELLED)) {
+                timer.cancelled.offer(this);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return state.get() != INIT;
+        }
+    }
+
+    /**
+     * Корзина колеса: двусвязный список, доступный только потоку таймера.
+     */
+    static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(long deadline, HashedWheelTimer timer) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.deadline <= deadline) {
+                        timeout.expire();
+                    } else {
+                        // Не должно происходить: таймаут попал в более раннюю корзину
+                        timer.pending.offer(timeout);
+                    }
+                } else if (timeout.state.get() == CANCELLED) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    private static final class SharedHolder {
+        static final HashedWheelTimer INSTANCE = new HashedWheelTimer();
+    }
+}
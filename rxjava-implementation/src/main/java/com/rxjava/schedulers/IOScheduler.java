@@ -1,17 +1,126 @@
 package com.rxjava.schedulers;
 
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
-public class IOScheduler implements Scheduler {
-    private final Executor executor;
+/**
+ * Планировщик для блокирующего ввода-вывода. Задача отдается простаивающему потоку,
+ * если такой есть, иначе создается новый поток (до maxThreads); потоки, простаивавшие
+ * дольше keepAlive, завершаются, поэтому простаивающий планировщик не держит потоков.
+ * Когда заняты все maxThreads, задачи ждут в очереди до queueCapacity; при ее переполнении
+ * срабатывает RejectionPolicy.
+ */
+public class IOScheduler extends ExecutorScheduler {
+    public static final int DEFAULT_MAX_THREADS = 256;
+    public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+    public static final long DEFAULT_KEEP_ALIVE_SECONDS = 60;
+
+    private final int maxThreads;
+    private final int queueCapacity;
+    private final long keepAliveNanos;
 
     public IOScheduler() {
-        this.executor = Executors.newCachedThreadPool();
+        this(DEFAULT_MAX_THREADS, DEFAULT_QUEUE_CAPACITY, DEFAULT_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                RejectionPolicy.CALLER_RUNS);
+    }
+
+    public IOScheduler(int maxThreads, int queueCapacity, long keepAlive, TimeUnit unit, RejectionPolicy rejectionPolicy) {
+        super(rejectionPolicy);
+        if (maxThreads <= 0) {
+            throw new IllegalArgumentException("maxThreads > 0 required but it was " + maxThreads);
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity > 0 required but it was " + queueCapacity);
+        }
+        if (keepAlive <= 0) {
+            throw new IllegalArgumentException("keepAlive > 0 required but it was " + keepAlive);
+        }
+        this.maxThreads = maxThreads;
+        this.queueCapacity = queueCapacity;
+        this.keepAliveNanos = unit.toNanos(keepAlive);
     }
 
     @Override
-    public void execute(Runnable task) {
-        executor.execute(task);
+    ThreadPoolExecutor createExecutor() {
+        HandOffQueue queue = new HandOffQueue(queueCapacity);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(0, maxThreads, keepAliveNanos, TimeUnit.NANOSECONDS,
+                queue, new NamedThreadFactory("RxIoScheduler"),
+                (task, pool) -> {
+                    // Пул успел дорасти до maxThreads между проверкой и созданием потока
+                    if (pool.isShutdown() || !queue.offerBounded(task)) {
+                        throw new RejectedExecutionException("Scheduler queue is full");
+                    }
+                });
+        queue.pool = executor;
+        return executor;
+    }
+
+    /**
+     * Очередь, заставляющая ThreadPoolExecutor вести себя как cached-пул с ограничениями:
+     * offer передает задачу ожидающему потоку, а если такого нет и пул меньше максимума,
+     * отказывает, и пул создает новый поток. В очередь задача попадает, только когда
+     * заняты все потоки, и не сверх capacity.
+     */
+    static final class HandOffQueue extends LinkedTransferQueue<Runnable> {
+        private final int capacity;
+        private final AtomicInteger size = new AtomicInteger();
+        volatile ThreadPoolExecutor pool;
+
+        HandOffQueue(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public boolean offer(Runnable task) {
+            if (tryTransfer(task)) {
+                // Поток-получатель уменьшит счетчик в poll, поэтому учитываем и переданные задачи
+                size.incrementAndGet();
+                return true;
+            }
+            ThreadPoolExecutor p = pool;
+            if (p != null && p.getPoolSize() < p.getMaximumPoolSize()) {
+                return false;
+            }
+            return offerBounded(task);
+        }
+
+        boolean offerBounded(Runnable task) {
+            if (size.incrementAndGet() > capacity) {
+                size.decrementAndGet();
+                return false;
+            }
+            super.offer(task);
+            return true;
+        }
+
+        @Override
+        public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+            return taken(super.poll(timeout, unit));
+        }
+
+        @Override
+        public Runnable take() throws InterruptedException {
+            return taken(super.take());
+        }
+
+        @Override
+        public Runnable poll() {
+            return taken(super.poll());
+        }
+
+        private Runnable taken(Runnable task) {
+            if (task != null) {
+                size.decrementAndGet();
+            }
+            return task;
+        }
+
+        @Override
+        public int size() {
+            return size.get();
+        }
     }
-}
\ No newline at end of file
+}
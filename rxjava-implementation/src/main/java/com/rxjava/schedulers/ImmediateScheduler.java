@@ -0,0 +1,82 @@
+package com.rxjava.schedulers;
+
+import com.rxjava.Disposable;
+import com.rxjava.plugins.RxJavaPlugins;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Планировщик, выполняющий задачу сразу в вызывающем потоке, без очереди и переключения потоков.
+ * Исключение задачи выбрасывается вызывающему коду, как при прямом вызове.
+ * Вложенные вызовы execute растят стек; для рекурсивных цепочек нужен TrampolineScheduler.
+ * Worker по-прежнему сериализует свои задачи: вложенная задача Worker выполняется
+ * после текущей, а не внутри нее. Отложенные и периодические задачи не поддерживаются:
+ * выполнить их сразу нельзя, а перенос в поток общего таймера нарушил бы смысл планировщика,
+ * поэтому schedule() бросает UnsupportedOperationException. Для времени в вызывающем потоке
+ * есть TrampolineScheduler.
+ */
+public final class ImmediateScheduler implements Scheduler {
+
+    @Override
+    public void execute(Runnable task) {
+        RxJavaPlugins.onSchedule(this, task).run();
+    }
+
+    @Override
+    public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        throw delayedUnsupported();
+    }
+
+    @Override
+    public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        throw delayedUnsupported();
+    }
+
+    @Override
+    public Worker createWorker(Consumer<? super RejectedExecutionException> onRejected) {
+        return new ImmediateWorker(new SerialWorker(this::execute, onRejected));
+    }
+
+    static UnsupportedOperationException delayedUnsupported() {
+        return new UnsupportedOperationException(
+                "ImmediateScheduler does not support delayed tasks, use TrampolineScheduler");
+    }
+
+    /**
+     * Worker, сериализующий задачи и отклоняющий отложенные.
+     */
+    static final class ImmediateWorker implements Worker {
+        private final SerialWorker serial;
+
+        ImmediateWorker(SerialWorker serial) {
+            this.serial = serial;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            serial.execute(task);
+        }
+
+        @Override
+        public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+            throw delayedUnsupported();
+        }
+
+        @Override
+        public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+            throw delayedUnsupported();
+        }
+
+        @Override
+        public void dispose() {
+            serial.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return serial.isDisposed();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.rxjava.schedulers;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Что делать с задачей, если очередь планировщика заполнена.
+ */
+public enum RejectionPolicy {
+    /**
+     * Выполнить задачу в вызывающем потоке: производитель замедляется до скорости планировщика.
+     */
+    CALLER_RUNS {
+        @Override
+        void reject(Runnable task) {
+            task.run();
+        }
+    },
+    /**
+     * Молча отбросить задачу.
+     */
+    DROP {
+        @Override
+        void reject(Runnable task) {
+        }
+    },
+    /**
+     * Бросить RejectedExecutionException в вызывающий поток.
+     */
+    FAIL_FAST {
+        @Override
+        void reject(Runnable task) {
+            throw new RejectedExecutionException("Scheduler queue is full");
+        }
+    };
+
+    abstract void reject(Runnable task);
+
+    /**
+     * Отказ для задачи Worker: это его drain-цикл, и молча отбросить ее нельзя - вместе с ней
+     * пропали бы все задачи Worker. CALLER_RUNS выполняет ее в вызывающем потоке,
+     * DROP и FAIL_FAST сообщают об отказе исключением, и Worker завершает подписку ошибкой.
+     */
+    void rejectWorker(Runnable task) {
+        if (this == CALLER_RUNS) {
+            task.run();
+            return;
+        }
+        throw new RejectedExecutionException("Scheduler queue is full, worker task rejected by " + this);
+    }
+}
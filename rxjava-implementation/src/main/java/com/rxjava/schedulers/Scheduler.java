@@ -1,5 +1,81 @@
 package com.rxjava.schedulers;
 
+import com.rxjava.Disposable;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
 public interface Scheduler {
     void execute(Runnable task);
-}
\ No newline at end of file
+
+    /**
+     * Выполнить задачу на этом планировщике через delay.
+     * Ожидание ведет общий HashedWheelTimer, сама задача выполняется через execute.
+     */
+    default Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        return HashedWheelTimer.shared().schedule(() -> execute(task), delay, unit);
+    }
+
+    /**
+     * Выполнять задачу с фиксированной частотой, начиная через initialDelay.
+     */
+    default Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return HashedWheelTimer.shared().schedulePeriodically(() -> execute(task), initialDelay, period, unit);
+    }
+
+    /**
+     * Текущее время планировщика; используется операторами, зависящими от времени.
+     */
+    default long now(TimeUnit unit) {
+        return unit.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Создать Worker: задачи одного Worker выполняются последовательно, в порядке отправки.
+     * По умолчанию Worker сериализует задачи поверх execute; планировщики могут закреплять
+     * Worker за конкретным потоком.
+     */
+    default Worker createWorker() {
+        return createWorker(null);
+    }
+
+    /**
+     * Worker, сообщающий об отказе планировщика принять его задачи (очередь заполнена, политика
+     * DROP или FAIL_FAST): Worker освобождается, его очередь очищается, а onRejected вызывается
+     * в потоке, отправлявшем задачу. Задачи Worker в этот момент не выполняются, поэтому оператор
+     * может сразу завершить подписку ошибкой. Без обработчика исключение бросается из execute.
+     */
+    default Worker createWorker(Consumer<? super RejectedExecutionException> onRejected) {
+        return new SerialWorker(this::execute, onRejected);
+    }
+
+    /**
+     * Запустить потоки планировщика заранее или после shutdown(). Без вызова start()
+     * планировщики запускаются при первой задаче.
+     */
+    default void start() {
+    }
+
+    /**
+     * Остановить потоки; задачи в очередях и задачи, пришедшие до следующего start(), отбрасываются.
+     */
+    default void shutdown() {
+    }
+
+    default boolean isShutdown() {
+        return false;
+    }
+
+    interface Worker extends Disposable {
+        void execute(Runnable task);
+
+        default Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+            return HashedWheelTimer.shared().schedule(() -> execute(task), delay, unit);
+        }
+
+        default Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+            return HashedWheelTimer.shared().schedulePeriodically(() -> execute(task), initialDelay, period, unit);
+        }
+    }
+}
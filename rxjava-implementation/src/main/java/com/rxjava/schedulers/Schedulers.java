@@ -0,0 +1,85 @@
+package com.rxjava.schedulers;
+
+/**
+ * Общие планировщики приложения. Экземпляры создаются при первом обращении, а их потоки -
+ * при первой задаче, поэтому неиспользуемый планировщик не стоит ни потоков, ни очередей.
+ * Вместо new IOScheduler() в каждом сервисе стоит брать общий io(): потоки переиспользуются
+ * и останавливаются одним shutdown().
+ */
+public final class Schedulers {
+    private Schedulers() {
+    }
+
+    /**
+     * Event loop по числу ядер, для вычислений без блокировок.
+     */
+    public static ComputationScheduler computation() {
+        return ComputationHolder.INSTANCE;
+    }
+
+    /**
+     * Растущий пул с вытеснением простаивающих потоков, для блокирующего ввода-вывода.
+     */
+    public static IOScheduler io() {
+        return IoHolder.INSTANCE;
+    }
+
+    /**
+     * Один поток для строго последовательной работы.
+     */
+    public static SingleThreadScheduler single() {
+        return SingleHolder.INSTANCE;
+    }
+
+    /**
+     * Выполнение сразу в вызывающем потоке.
+     */
+    public static ImmediateScheduler immediate() {
+        return ImmediateHolder.INSTANCE;
+    }
+
+    /**
+     * Выполнение в вызывающем потоке через очередь потока, без роста стека на вложенных задачах.
+     */
+    public static TrampolineScheduler trampoline() {
+        return TrampolineHolder.INSTANCE;
+    }
+
+    /**
+     * Запустить потоки общих планировщиков заранее (или снова после shutdown()).
+     */
+    public static void start() {
+        computation().start();
+        io().start();
+        single().start();
+    }
+
+    /**
+     * Остановить потоки общих планировщиков. До следующего start() задачи отбрасываются.
+     */
+    public static void shutdown() {
+        computation().shutdown();
+        io().shutdown();
+        single().shutdown();
+    }
+
+    private static final class ComputationHolder {
+        static final ComputationScheduler INSTANCE = new ComputationScheduler();
+    }
+
+    private static final class IoHolder {
+        static final IOScheduler INSTANCE = new IOScheduler();
+    }
+
+    private static final class SingleHolder {
+        static final SingleThreadScheduler INSTANCE = new SingleThreadScheduler();
+    }
+
+    private static final class ImmediateHolder {
+        static final ImmediateScheduler INSTANCE = new ImmediateScheduler();
+    }
+
+    private static final class TrampolineHolder {
+        static final TrampolineScheduler INSTANCE = new TrampolineScheduler();
+    }
+}
@@ -0,0 +1,179 @@
+package com.rxjava.schedulers;
+
+import com.rxjava.Disposable;
+import com.rxjava.internal.MpscLinkedQueue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Worker, выполняющий свои задачи строго по одной и по порядку поверх любого Executor.
+ * В целевой Executor отправляется только сам Worker и только когда его очередь становится непустой.
+ * Отложенные задачи Worker запоминает, чтобы dispose() снимал их с таймера сразу, а не по срабатыванию.
+ * Если Executor отказывается принять Worker, тот освобождается и сообщает об отказе onRejected:
+ * иначе счетчик wip не вернулся бы к нулю и Worker больше никогда не отправил бы свои задачи.
+ */
+final class SerialWorker extends AtomicInteger implements Scheduler.Worker, Runnable {
+    private final Executor target;
+    private final Consumer<? super RejectedExecutionException> onRejected;
+    private final MpscLinkedQueue<Runnable> queue = new MpscLinkedQueue<>();
+    private final Set<TimedTask> timed = ConcurrentHashMap.newKeySet();
+    private volatile boolean disposed;
+
+    SerialWorker(Executor target, Consumer<? super RejectedExecutionException> onRejected) {
+        this.target = target;
+        this.onRejected = onRejected;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (disposed) {
+            return;
+        }
+        queue.offer(task);
+        if (getAndIncrement() == 0) {
+            try {
+                target.execute(this);
+            } catch (RejectedExecutionException e) {
+                rejected(e);
+            }
+        }
+    }
+
+    private void rejected(RejectedExecutionException e) {
+        dispose();
+        queue.clear();
+        set(0);
+        if (onRejected == null) {
+            throw e;
+        }
+        onRejected.accept(e);
+    }
+
+    @Override
+    public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        return track(new TimedTask(this, task, false), delay, 0L, unit);
+    }
+
+    @Override
+    public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return track(new TimedTask(this, task, true), initialDelay, period, unit);
+    }
+
+    private Disposable track(TimedTask task, long delay, long period, TimeUnit unit) {
+        if (disposed) {
+            task.disposed = true;
+            return task;
+        }
+        timed.add(task);
+        task.timer = task.periodic
+                ? HashedWheelTimer.shared().schedulePeriodically(task, delay, period, unit)
+                : HashedWheelTimer.shared().schedule(task, delay, unit);
+        if (disposed || task.disposed) {
+            task.dispose();
+        }
+        return task;
+    }
+
+    @Override
+    public void run() {
+        int missed = 1;
+        MpscLinkedQueue<Runnable> q = queue;
+        for (;;) {
+            Runnable task;
+            while ((task = q.poll()) != null) {
+                if (disposed) {
+                    q.clear();
+                    return;
+                }
+                runSafely(task);
+            }
+            missed = addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    static void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable e) {
+            Thread current = Thread.currentThread();
+            current.getUncaughtExceptionHandler().uncaughtException(current, e);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (!disposed) {
+            disposed = true;
+            for (TimedTask task : timed) {
+                task.dispose();
+            }
+            if (getAndIncrement() == 0) {
+                queue.clear();
+            }
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    /**
+     * Отложенная задача Worker: по срабатыванию таймера передается в очередь Worker.
+     */
+    static final class TimedTask implements Runnable, Disposable {
+        private final SerialWorker worker;
+        private final Runnable task;
+        // Создается один раз: периодическая задача не выделяет память на каждое срабатывание
+        private final Runnable delivery;
+        final boolean periodic;
+        volatile Disposable timer;
+        volatile boolean disposed;
+
+        TimedTask(SerialWorker worker, Runnable task, boolean periodic) {
+            this.worker = worker;
+            this.task = task;
+            this.periodic = periodic;
+            this.delivery = () -> {
+                if (!disposed) {
+                    this.task.run();
+                }
+            };
+        }
+
+        @Override
+        public void run() {
+            if (disposed) {
+                return;
+            }
+            if (!periodic) {
+                worker.timed.remove(this);
+            }
+            worker.execute(delivery);
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            worker.timed.remove(this);
+            Disposable d = timer;
+            if (d != null) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -1,17 +1,34 @@
 package com.rxjava.schedulers;
 
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
-public class SingleThreadScheduler implements Scheduler {
-    private final Executor executor;
+/**
+ * Планировщик с одним потоком: задачи выполняются строго по очереди. Очередь ограничена,
+ * при переполнении срабатывает RejectionPolicy. По умолчанию это FAIL_FAST: CALLER_RUNS выполнил бы
+ * задачу в чужом потоке параллельно с задачами планировщика и нарушил бы порядок.
+ */
+public class SingleThreadScheduler extends ExecutorScheduler {
+    public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+
+    private final int queueCapacity;
     
     public SingleThreadScheduler() {
-        this.executor = Executors.newSingleThreadExecutor();
+        this(DEFAULT_QUEUE_CAPACITY, RejectionPolicy.FAIL_FAST);
+    }
+
+    public SingleThreadScheduler(int queueCapacity, RejectionPolicy rejectionPolicy) {
+        super(rejectionPolicy);
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity > 0 required but it was " + queueCapacity);
+        }
+        this.queueCapacity = queueCapacity;
     }
     
     @Override
-    public void execute(Runnable task) {
-        executor.execute(task);
+    ThreadPoolExecutor createExecutor() {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new NamedThreadFactory("RxSingleScheduler"));
     }
-}
\ No newline at end of file
+}
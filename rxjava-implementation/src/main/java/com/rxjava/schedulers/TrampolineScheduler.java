@@ -0,0 +1,227 @@
+package com.rxjava.schedulers;
+
+import com.rxjava.Disposable;
+import com.rxjava.plugins.RxJavaPlugins;
+
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Планировщик, выполняющий задачи в вызывающем потоке без переключения потоков.
+ * Первый execute в потоке становится drain-циклом: задачи, отправленные во время выполнения
+ * другой задачи, встают в очередь этого потока и выполняются после нее, по порядку.
+ * Поэтому рекурсивная переподписка (повторы через flatMap и т.п.) идет итеративно
+ * и не переполняет стек. Отложенные и периодические задачи тоже встают в очередь потока
+ * по времени срабатывания: drain-цикл спит до их срока. Поэтому interval, delay и debounce
+ * выполняются в вызывающем потоке и блокируют его, а не уходят в поток общего таймера;
+ * бесконечный interval нужно отписывать из onNext, иначе subscribe не вернется.
+ */
+public final class TrampolineScheduler implements Scheduler {
+    private static final ThreadLocal<Trampoline> TRAMPOLINE = ThreadLocal.withInitial(Trampoline::new);
+
+    @Override
+    public void execute(Runnable task) {
+        enqueue(new TimedTask(RxJavaPlugins.onSchedule(this, task), System.nanoTime(), 0L, false));
+    }
+
+    @Override
+    public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        TimedTask t = new TimedTask(task, System.nanoTime() + unit.toNanos(delay), 0L, true);
+        enqueue(t);
+        return t;
+    }
+
+    @Override
+    public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        TimedTask t = new TimedTask(task, System.nanoTime() + unit.toNanos(initialDelay), unit.toNanos(period), true);
+        enqueue(t);
+        return t;
+    }
+
+    @Override
+    public Worker createWorker(Consumer<? super RejectedExecutionException> onRejected) {
+        return new TrampolineWorker(this, onRejected);
+    }
+
+    void enqueue(TimedTask task) {
+        Trampoline t = TRAMPOLINE.get();
+        t.offer(task);
+        if (t.draining) {
+            return;
+        }
+        t.draining = true;
+        try {
+            drain(t);
+        } finally {
+            t.draining = false;
+        }
+    }
+
+    private void drain(Trampoline t) {
+        TimedTask next;
+        while ((next = t.queue.poll()) != null) {
+            if (next.disposed) {
+                continue;
+            }
+            long wait = next.due - System.nanoTime();
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    // Прерванный поток не ждет отложенные задачи: очередь потока отбрасывается
+                    Thread.currentThread().interrupt();
+                    t.queue.clear();
+                    return;
+                }
+                if (next.disposed) {
+                    continue;
+                }
+            }
+            SerialWorker.runSafely(next.timed ? RxJavaPlugins.onSchedule(this, next.task) : next.task);
+            if (next.period > 0 && !next.disposed) {
+                next.due += next.period;
+                t.offer(next);
+            }
+        }
+    }
+
+    /**
+     * Очередь задач одного потока по времени срабатывания; доступна только этому потоку.
+     */
+    static final class Trampoline {
+        final PriorityQueue<TimedTask> queue = new PriorityQueue<>();
+        private long sequence;
+        boolean draining;
+
+        void offer(TimedTask task) {
+            // При одинаковом сроке задачи выполняются в порядке отправки
+            task.sequence = sequence++;
+            queue.offer(task);
+        }
+    }
+
+    /**
+     * Задача очереди потока. timed - отложенная или периодическая: обработчик планировщика
+     * оборачивает ее при каждом срабатывании, а не при отправке.
+     */
+    static final class TimedTask implements Disposable, Comparable<TimedTask> {
+        final Runnable task;
+        final long period;
+        final boolean timed;
+        long due;
+        long sequence;
+        volatile boolean disposed;
+
+        TimedTask(Runnable task, long due, long period, boolean timed) {
+            this.task = task;
+            this.due = due;
+            this.period = period;
+            this.timed = timed;
+        }
+
+        @Override
+        public int compareTo(TimedTask o) {
+            int c = Long.compare(due - o.due, 0L);
+            return c != 0 ? c : Long.compare(sequence, o.sequence);
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    /**
+     * Worker поверх очереди потока. Задачи по-прежнему сериализуются SerialWorker, а отложенные
+     * регистрируются до постановки в очередь: dispose() из самой задачи (отписка в onNext interval)
+     * останавливает периодическую задачу, даже пока schedulePeriodically еще не вернулся.
+     */
+    static final class TrampolineWorker implements Worker {
+        private final TrampolineScheduler scheduler;
+        private final SerialWorker serial;
+        private final Set<TimedTask> timed = ConcurrentHashMap.newKeySet();
+        private volatile boolean disposed;
+
+        TrampolineWorker(TrampolineScheduler scheduler, Consumer<? super RejectedExecutionException> onRejected) {
+            this.scheduler = scheduler;
+            this.serial = new SerialWorker(scheduler::execute, onRejected);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            serial.execute(task);
+        }
+
+        @Override
+        public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+            return track(task, System.nanoTime() + unit.toNanos(delay), 0L);
+        }
+
+        @Override
+        public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+            return track(task, System.nanoTime() + unit.toNanos(initialDelay), unit.toNanos(period));
+        }
+
+        private Disposable track(Runnable task, long due, long period) {
+            Delivery delivery = new Delivery(this, task);
+            TimedTask t = new TimedTask(delivery, due, period, true);
+            delivery.timer = t;
+            timed.add(t);
+            if (disposed) {
+                t.dispose();
+                timed.remove(t);
+                return t;
+            }
+            scheduler.enqueue(t);
+            return t;
+        }
+
+        @Override
+        public void dispose() {
+            if (!disposed) {
+                disposed = true;
+                serial.dispose();
+                for (TimedTask t : timed) {
+                    t.dispose();
+                }
+                timed.clear();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    /**
+     * Срабатывание отложенной задачи Worker: передает ее в очередь Worker.
+     */
+    static final class Delivery implements Runnable {
+        private final TrampolineWorker worker;
+        private final Runnable task;
+        TimedTask timer;
+
+        Delivery(TrampolineWorker worker, Runnable task) {
+            this.worker = worker;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (timer.period == 0) {
+                worker.timed.remove(timer);
+            }
+            worker.execute(task);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.rxjava.schedulers;
+
+import com.rxjava.plugins.RxJavaPlugins;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Планировщик для блокирующих операций (JDBC, файлы), запускающий каждую задачу
+ * в отдельном виртуальном потоке. В отличие от IOScheduler не создает платформенных
+ * потоков со стеком по 1 МБ на каждую заблокированную задачу.
+ * Требует Java 21+; проект собирается под Java 11, поэтому фабрика виртуальных потоков
+ * находится через MethodHandle во время выполнения.
+ */
+public class VirtualThreadScheduler implements Scheduler {
+    private static final MethodHandle NEW_VIRTUAL_EXECUTOR = findVirtualExecutorFactory();
+
+    private final Executor executor;
+
+    public VirtualThreadScheduler() {
+        if (NEW_VIRTUAL_EXECUTOR == null) {
+            throw new UnsupportedOperationException(
+                    "Виртуальные потоки недоступны в Java " + Runtime.version().feature() + ", требуется Java 21+");
+        }
+        try {
+            this.executor = (ExecutorService) NEW_VIRTUAL_EXECUTOR.invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Не удалось создать executor виртуальных потоков", e);
+        }
+    }
+
+    /**
+     * Проверить, поддерживает ли текущая JVM виртуальные потоки.
+     */
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_EXECUTOR != null;
+    }
+
+    private static MethodHandle findVirtualExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        executor.execute(RxJavaPlugins.onSchedule(this, task));
+    }
+}
@@ -4,8 +4,8 @@ import com.rxjava.Observer;
 import com.rxjava.Subscription;
 
 public class BehaviorSubject<T> extends Subject<T> {
-    private T lastValue;
-    private boolean hasValue = false;
+    private volatile T lastValue;
+    private volatile boolean hasValue = false;
     
     public static <T> BehaviorSubject<T> create() {
         return new BehaviorSubject<>();
@@ -25,11 +25,13 @@ public class BehaviorSubject<T> extends Subject<T> {
     @Override
     public Subscription subscribe(Observer<T> observer) {
         if (error != null) {
+            observer.onSubscribe(createEmptySubscription());
             observer.onError(error);
             return createEmptySubscription();
         }
         
         if (completed) {
+            observer.onSubscribe(createEmptySubscription());
             if (hasValue) {
                 observer.onNext(lastValue);
             }
@@ -37,29 +39,21 @@ public class BehaviorSubject<T> extends Subject<T> {
             return createEmptySubscription();
         }
         
+        Subscription subscription = createSubscription(observer);
+        observer.onSubscribe(subscription);
         observers.add(observer);
+        if (subscription.isUnsubscribed()) {
+            // Отписка могла выполниться до добавления в реестр
+            observers.remove(observer);
+            return subscription;
+        }
         
         // Отправляем последнее значение новому подписчику
         if (hasValue) {
             observer.onNext(lastValue);
         }
         
-        return new Subscription() {
-            private boolean unsubscribed = false;
-            
-            @Override
-            public void unsubscribe() {
-                if (!unsubscribed) {
-                    unsubscribed = true;
-                    observers.remove(observer);
-                }
-            }
-            
-            @Override
-            public boolean isUnsubscribed() {
-                return unsubscribed;
-            }
-        };
+        return subscription;
     }
     
     @Override
@@ -82,16 +76,4 @@ public class BehaviorSubject<T> extends Subject<T> {
     public boolean hasValue() {
         return hasValue;
     }
-    
-    private Subscription createEmptySubscription() {
-        return new Subscription() {
-            @Override
-            public void unsubscribe() {}
-            
-            @Override
-            public boolean isUnsubscribed() {
-                return true;
-            }
-        };
-    }
 }
\ No newline at end of file
@@ -0,0 +1,247 @@
+package com.rxjava.subjects;
+
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.internal.Pow2;
+import com.rxjava.schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Subject, повторяющий новым подписчикам последние maxSize элементов
+ * (и, во временном режиме, только не старше maxAge).
+ * История хранится в заранее выделенном кольцевом буфере, память ограничена емкостью.
+ * Каждый подписчик читает буфер по своему курсору: производитель никогда не ждет
+ * подписчиков, а отставший больше чем на емкость буфера подписчик пропускает
+ * перезаписанные элементы и продолжает с самого старого сохраненного.
+ * Как и остальные Subject, рассчитан на одного производителя (см. toSerialized()).
+ */
+public final class ReplaySubject<T> extends Subject<T> {
+    private final int maxSize;
+    private final long maxAgeNanos;
+    private final Scheduler scheduler;
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> values;
+    private final AtomicLongArray timestamps;
+    /** Номер следующего записываемого элемента; растет до записи в слот. */
+    private final AtomicLong claimed = new AtomicLong();
+    /** Число опубликованных элементов; растет после записи в слот. */
+    private final AtomicLong produced = new AtomicLong();
+
+    private ReplaySubject(int maxSize, long maxAgeNanos, Scheduler scheduler) {
+        this.maxSize = maxSize;
+        this.maxAgeNanos = maxAgeNanos;
+        this.scheduler = scheduler;
+        this.capacity = Pow2.roundToPowerOfTwo(maxSize);
+        this.mask = capacity - 1;
+        this.values = new AtomicReferenceArray<>(capacity);
+        this.timestamps = scheduler != null ? new AtomicLongArray(capacity) : null;
+    }
+
+    /**
+     * Повторять новым подписчикам последние maxSize элементов.
+     */
+    public static <T> ReplaySubject<T> createWithSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        return new ReplaySubject<>(maxSize, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * Повторять элементы не старше maxAge по часам планировщика, но не больше maxSize:
+     * кольцевой буфер выделяется заранее, поэтому емкость нужна и во временном режиме.
+     */
+    public static <T> ReplaySubject<T> createWithTimeAndSize(long maxAge, TimeUnit unit, int maxSize, Scheduler scheduler) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        if (maxAge <= 0) {
+            throw new IllegalArgumentException("maxAge > 0 required but it was " + maxAge);
+        }
+        return new ReplaySubject<>(maxSize, unit.toNanos(maxAge), scheduler);
+    }
+
+    @Override
+    public Subscription subscribe(Observer<T> observer) {
+        ReplayObserver<T> replay = new ReplayObserver<>(this, observer);
+        observer.onSubscribe(replay);
+        if (replay.cancelled) {
+            return replay;
+        }
+        replay.cursor = startIndex();
+        observers.add(replay);
+        if (replay.cancelled) {
+            observers.remove(replay);
+            return replay;
+        }
+        replay(replay);
+        return replay;
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (completed || error != null) {
+            return;
+        }
+        long index = claimed.get();
+        int offset = (int) index & mask;
+        // Сначала объявляем слот занятым, чтобы читатели могли обнаружить перезапись
+        claimed.set(index + 1);
+        if (timestamps != null) {
+            timestamps.lazySet(offset, scheduler.now(TimeUnit.NANOSECONDS));
+        }
+        values.lazySet(offset, item);
+        produced.lazySet(index + 1);
+        observers.onNext(item);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (completed || error != null) {
+            return;
+        }
+        error = t;
+        observers.onError(t);
+        observers.clear();
+    }
+
+    @Override
+    public void onComplete() {
+        if (completed || error != null) {
+            return;
+        }
+        completed = true;
+        observers.onComplete();
+        observers.clear();
+    }
+
+    /**
+     * Число элементов, которые получит новый подписчик.
+     */
+    public int size() {
+        long p = produced.get();
+        return (int) (p - startIndex(p));
+    }
+
+    private long startIndex() {
+        return startIndex(produced.get());
+    }
+
+    private long startIndex(long p) {
+        long index = Math.max(0L, p - maxSize);
+        if (timestamps == null) {
+            return index;
+        }
+        long oldest = scheduler.now(TimeUnit.NANOSECONDS) - maxAgeNanos;
+        while (index < p) {
+            long ts = timestamps.get((int) index & mask);
+            if (claimed.get() - capacity > index) {
+                // Слот уже перезаписан, пропускаем к самому старому сохраненному
+                index = claimed.get() - capacity;
+                continue;
+            }
+            if (ts - oldest >= 0) {
+                break;
+            }
+            index++;
+        }
+        return index;
+    }
+
+    void replay(ReplayObserver<T> replay) {
+        if (replay.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        Observer<T> a = replay.downstream;
+        for (;;) {
+            long index = replay.cursor;
+            for (;;) {
+                if (replay.cancelled) {
+                    return;
+                }
+                boolean d = completed || error != null;
+                long p = produced.get();
+                if (index == p) {
+                    if (d) {
+                        replay.cancelled = true;
+                        // Подписчик мог попасть в реестр уже после его очистки в onComplete
+                        observers.remove(replay);
+                        Throwable e = error;
+                        if (e != null) {
+                            a.onError(e);
+                        } else {
+                            a.onComplete();
+                        }
+                        return;
+                    }
+                    break;
+                }
+                T item = values.get((int) index & mask);
+                long overwrite = claimed.get() - capacity;
+                if (overwrite > index) {
+                    // Подписчик отстал больше чем на емкость буфера
+                    index = overwrite;
+                    continue;
+                }
+                a.onNext(item);
+                index++;
+            }
+            replay.cursor = index;
+            missed = replay.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Подписчик ReplaySubject: в реестре получает только сигнал "есть новые данные"
+     * и дочитывает их из буфера по своему курсору.
+     */
+    static final class ReplayObserver<T> extends AtomicInteger implements Observer<T>, Subscription {
+        private final ReplaySubject<T> parent;
+        final Observer<T> downstream;
+        long cursor;
+        volatile boolean cancelled;
+
+        ReplayObserver(ReplaySubject<T> parent, Observer<T> downstream) {
+            this.parent = parent;
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onNext(T item) {
+            parent.replay(this);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            parent.replay(this);
+        }
+
+        @Override
+        public void onComplete() {
+            parent.replay(this);
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                parent.observers.remove(this);
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.rxjava.subjects;
+
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.internal.Pow2;
+import com.rxjava.internal.Sequence;
+import com.rxjava.schedulers.Scheduler;
+
+import java.util.Arrays;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Multicast-Subject в стиле LMAX Disruptor. Производитель пишет элементы в заранее выделенное
+ * кольцо размера степени двойки и публикует их продвижением курсора. Каждый подписчик читает
+ * кольцо в своем потоке планировщика по своему курсору, пачками, ожидая новые элементы
+ * по своей WaitStrategy, поэтому медленный подписчик не задерживает остальных, пока у него
+ * есть место в кольце. Память ограничена: если самый медленный подписчик отстал на емкость
+ * кольца, производитель ждет его (обратное давление), а не теряет элементы.
+ * Цикл подписчика занимает поток планировщика до отписки или завершения, поэтому нужен
+ * планировщик с отдельными потоками (IOScheduler, SingleThreadScheduler, VirtualThreadScheduler);
+ * если планировщик не может запустить цикл, подписчик получает RejectedExecutionException.
+ * Как и остальные Subject, рассчитан на одного производителя (см. toSerialized()).
+ */
+public final class RingBufferSubject<T> extends Subject<T> {
+    private static final RingConsumer<?>[] EMPTY = new RingConsumer<?>[0];
+
+    private final Object[] entries;
+    private final int mask;
+    private final Scheduler scheduler;
+    private final WaitStrategy waitStrategy;
+    /** Номер последнего опубликованного элемента. */
+    private final Sequence cursor = new Sequence(-1L);
+    private final AtomicReference<RingConsumer<T>[]> consumers;
+    /** Кэш минимального курсора подписчиков: пересчитывается, только когда кольцо кажется заполненным. */
+    private long cachedGating = -1L;
+
+    @SuppressWarnings("unchecked")
+    private RingBufferSubject(int bufferSize, Scheduler scheduler, WaitStrategy waitStrategy) {
+        int capacity = Pow2.roundToPowerOfTwo(bufferSize);
+        this.entries = new Object[capacity];
+        this.mask = capacity - 1;
+        this.scheduler = scheduler;
+        this.waitStrategy = waitStrategy;
+        this.consumers = new AtomicReference<>((RingConsumer<T>[]) EMPTY);
+    }
+
+    /**
+     * Кольцо на bufferSize элементов (округляется до степени двойки); подписчики по умолчанию
+     * читают на scheduler с ожиданием waitStrategy.
+     */
+    public static <T> RingBufferSubject<T> create(int bufferSize, Scheduler scheduler, WaitStrategy waitStrategy) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        return new RingBufferSubject<>(bufferSize, scheduler, waitStrategy);
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+
+    @Override
+    public Subscription subscribe(Observer<T> observer) {
+        return subscribe(observer, scheduler, waitStrategy);
+    }
+
+    /**
+     * Подписаться со своим планировщиком и стратегией ожидания.
+     * Подписчик получает элементы, опубликованные после подписки.
+     */
+    public Subscription subscribe(Observer<T> observer, Scheduler scheduler, WaitStrategy waitStrategy) {
+        RingConsumer<T> consumer = new RingConsumer<>(this, observer, waitStrategy);
+        observer.onSubscribe(consumer);
+        if (consumer.cancelled) {
+            return consumer;
+        }
+        add(consumer);
+        if (consumer.cancelled) {
+            // Отписка между проверкой и add могла не найти подписчика в списке
+            remove(consumer);
+            return consumer;
+        }
+        // Начинаем с курсора, прочитанного уже после попадания в список: производитель
+        // не перезапишет ничего, что подписчику еще предстоит прочитать
+        consumer.sequence.set(cursor.get());
+        start(consumer, scheduler);
+        return consumer;
+    }
+
+    /**
+     * Запустить цикл подписчика. Если планировщик отказал (DROP, FAIL_FAST, остановлен) или выполнил
+     * цикл в подписывающем потоке (CALLER_RUNS, immediate), подписчик убирается из списка и получает
+     * ошибку: иначе его курсор не двигался бы и производитель ждал бы его вечно.
+     */
+    private void start(RingConsumer<T> consumer, Scheduler scheduler) {
+        Scheduler.Worker worker = scheduler.createWorker(consumer::abandon);
+        consumer.starter = Thread.currentThread();
+        try {
+            worker.execute(consumer);
+        } finally {
+            consumer.starter = null;
+        }
+        if (scheduler.isShutdown()) {
+            consumer.abandon(new RejectedExecutionException("Scheduler is shut down"));
+        }
+    }
+
+    @Override
+    public int subscriberCount() {
+        return consumers.get().length;
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (completed || error != null) {
+            return;
+        }
+        long next = cursor.get() + 1;
+        long wrapPoint = next - entries.length;
+        if (wrapPoint > cachedGating) {
+            long gating;
+            while (wrapPoint > (gating = minimumSequence(next - 1))) {
+                // Кольцо заполнено: ждем самого медленного подписчика
+                LockSupport.parkNanos(1L);
+            }
+            cachedGating = gating;
+        }
+        entries[(int) next & mask] = item;
+        cursor.lazySet(next);
+        signalConsumers();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (completed || error != null) {
+            return;
+        }
+        error = t;
+        signalConsumers();
+    }
+
+    @Override
+    public void onComplete() {
+        if (completed || error != null) {
+            return;
+        }
+        completed = true;
+        signalConsumers();
+    }
+
+    private void signalConsumers() {
+        for (RingConsumer<T> consumer : consumers.get()) {
+            consumer.waitStrategy.signalAllWhenBlocking();
+        }
+    }
+
+    private long minimumSequence(long minimum) {
+        for (RingConsumer<T> consumer : consumers.get()) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum;
+    }
+
+    @SuppressWarnings("unchecked")
+    T entryAt(long sequence) {
+        return (T) entries[(int) sequence & mask];
+    }
+
+    long cursor() {
+        return cursor.get();
+    }
+
+    boolean isTerminated() {
+        return completed || error != null;
+    }
+
+    private void add(RingConsumer<T> consumer) {
+        for (;;) {
+            RingConsumer<T>[] current = consumers.get();
+            RingConsumer<T>[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = consumer;
+            if (consumers.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void remove(RingConsumer<T> consumer) {
+        for (;;) {
+            RingConsumer<T>[] current = consumers.get();
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == consumer) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            RingConsumer<T>[] next;
+            if (current.length == 1) {
+                next = (RingConsumer<T>[]) EMPTY;
+            } else {
+                next = (RingConsumer<T>[]) new RingConsumer<?>[current.length - 1];
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            }
+            if (consumers.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Подписчик кольца: цикл чтения в потоке планировщика. Курсор подписчика - номер последнего
+     * прочитанного элемента; он продвигается после пачки и открывает производителю слоты.
+     */
+    static final class RingConsumer<T> implements Runnable, Subscription, WaitStrategy.SequenceBarrier {
+        private final RingBufferSubject<T> parent;
+        private final Observer<T> downstream;
+        final WaitStrategy waitStrategy;
+        final Sequence sequence = new Sequence(-1L);
+        private final AtomicBoolean started = new AtomicBoolean();
+        /** Подписывающий поток, пока идет отправка цикла в планировщик. */
+        volatile Thread starter;
+        volatile boolean cancelled;
+
+        RingConsumer(RingBufferSubject<T> parent, Observer<T> downstream, WaitStrategy waitStrategy) {
+            this.parent = parent;
+            this.downstream = downstream;
+            this.waitStrategy = waitStrategy;
+        }
+
+        @Override
+        public long cursor() {
+            return parent.cursor();
+        }
+
+        @Override
+        public boolean isAlerted() {
+            return cancelled || parent.isTerminated();
+        }
+
+        void abandon(RejectedExecutionException e) {
+            if (started.compareAndSet(false, true)) {
+                boolean wasCancelled = cancelled;
+                cancelled = true;
+                parent.remove(this);
+                if (!wasCancelled) {
+                    downstream.onError(e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            if (starter == Thread.currentThread()) {
+                abandon(new RejectedExecutionException("RingBufferSubject consumer requires a scheduler with its own threads"));
+                return;
+            }
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            Observer<T> a = downstream;
+            long next = sequence.get() + 1;
+            try {
+                for (;;) {
+                    if (cancelled) {
+                        parent.remove(this);
+                        return;
+                    }
+                    // Завершение читается до курсора: все элементы до него уже опубликованы
+                    boolean done = parent.isTerminated();
+                    long available = waitStrategy.waitFor(next, this);
+                    while (next <= available) {
+                        if (cancelled) {
+                            parent.remove(this);
+                            return;
+                        }
+                        a.onNext(parent.entryAt(next));
+                        next++;
+                    }
+                    sequence.lazySet(available);
+                    if (done && next > parent.cursor()) {
+                        cancelled = true;
+                        parent.remove(this);
+                        Throwable e = parent.error;
+                        if (e != null) {
+                            a.onError(e);
+                        } else {
+                            a.onComplete();
+                        }
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                unsubscribe();
+            } catch (Throwable t) {
+                // Ошибка подписчика не должна держать производителя на его курсоре
+                unsubscribe();
+                a.onError(t);
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!cancelled) {
+                cancelled = true;
+                parent.remove(this);
+                waitStrategy.signalAllWhenBlocking();
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.rxjava.subjects;
+
+import com.rxjava.Observer;
+import com.rxjava.Subscription;
+import com.rxjava.internal.MpscLinkedQueue;
+import com.rxjava.internal.NotificationLite;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Обертка над Subject, позволяющая вызывать onNext/onError/onComplete из нескольких потоков.
+ * Сигналы сериализуются без глобальной блокировки (queue-drain): поток, захвативший право
+ * эмиссии, отдает сигнал напрямую, остальные кладут его в MPSC-очередь, которую
+ * дочищает эмитирующий поток. Единственный производитель платит одним CAS на сигнал.
+ */
+public final class SerializedSubject<T> extends Subject<T> {
+    private final Subject<T> actual;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final MpscLinkedQueue<Object> queue = new MpscLinkedQueue<>();
+    private volatile boolean done;
+
+    SerializedSubject(Subject<T> actual) {
+        this.actual = actual;
+    }
+
+    @Override
+    public int subscriberCount() {
+        return actual.subscriberCount();
+    }
+
+    @Override
+    public Subscription subscribe(Observer<T> observer) {
+        return actual.subscribe(observer);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        emit(item);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (done) {
+            return;
+        }
+        done = true;
+        emit(NotificationLite.error(t));
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        emit(NotificationLite.complete());
+    }
+
+    @Override
+    public Subject<T> toSerialized() {
+        return this;
+    }
+
+    private void emit(Object notification) {
+        if (wip.get() == 0 && wip.compareAndSet(0, 1)) {
+            NotificationLite.accept(notification, actual);
+            if (wip.decrementAndGet() == 0) {
+                return;
+            }
+        } else {
+            queue.offer(notification);
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+        }
+        drainLoop();
+    }
+
+    private void drainLoop() {
+        int missed = 1;
+        for (;;) {
+            Object notification;
+            while ((notification = queue.poll()) != null) {
+                NotificationLite.accept(notification, actual);
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+}
@@ -3,30 +3,65 @@ package com.rxjava.subjects;
 import com.rxjava.Observable;
 import com.rxjava.Observer;
 import com.rxjava.Subscription;
-
-import java.util.concurrent.CopyOnWriteArrayList;
+import com.rxjava.internal.ObserverRegistry;
+import com.rxjava.plugins.RxJavaPlugins;
 
 public abstract class Subject<T> extends Observable<T> implements Observer<T> {
-    protected final CopyOnWriteArrayList<Observer<T>> observers = new CopyOnWriteArrayList<>();
-    protected boolean completed = false;
-    protected Throwable error = null;
+    private static final Subscription EMPTY_SUBSCRIPTION = new Subscription() {
+        @Override
+        public void unsubscribe() {}
+        
+        @Override
+        public boolean isUnsubscribed() {
+            return true;
+        }
+    };
+    
+    protected final ObserverRegistry<T> observers = new ObserverRegistry<>();
+    protected volatile boolean completed = false;
+    protected volatile Throwable error = null;
+    
+    protected Subject() {
+        RxJavaPlugins.onSubjectCreated(this);
+    }
+    
+    /**
+     * Текущее число подписчиков.
+     */
+    public int subscriberCount() {
+        return observers.size();
+    }
     
     @Override
     public Subscription subscribe(Observer<T> observer) {
         if (error != null) {
+            observer.onSubscribe(createEmptySubscription());
             observer.onError(error);
             return createEmptySubscription();
         }
         
         if (completed) {
+            observer.onSubscribe(createEmptySubscription());
             observer.onComplete();
             return createEmptySubscription();
         }
         
+        Subscription subscription = createSubscription(observer);
+        observer.onSubscribe(subscription);
         observers.add(observer);
-        
+        if (subscription.isUnsubscribed()) {
+            // Отписка могла выполниться до добавления в реестр
+            observers.remove(observer);
+        }
+        return subscription;
+    }
+    
+    /**
+     * Подписка, удаляющая наблюдателя из реестра при отписке.
+     */
+    protected Subscription createSubscription(Observer<T> observer) {
         return new Subscription() {
-            private boolean unsubscribed = false;
+            private volatile boolean unsubscribed = false;
             
             @Override
             public void unsubscribe() {
@@ -46,9 +81,7 @@ public abstract class Subject<T> extends Observable<T> implements Observer<T> {
     @Override
     public void onNext(T item) {
         if (!completed && error == null) {
-            for (Observer<T> observer : observers) {
-                observer.onNext(item);
-            }
+            observers.onNext(item);
         }
     }
     
@@ -56,9 +89,7 @@ public abstract class Subject<T> extends Observable<T> implements Observer<T> {
     public void onError(Throwable t) {
         if (!completed && error == null) {
             error = t;
-            for (Observer<T> observer : observers) {
-                observer.onError(t);
-            }
+            observers.onError(t);
             observers.clear();
         }
     }
@@ -67,22 +98,22 @@ public abstract class Subject<T> extends Observable<T> implements Observer<T> {
     public void onComplete() {
         if (!completed && error == null) {
             completed = true;
-            for (Observer<T> observer : observers) {
-                observer.onComplete();
-            }
+            observers.onComplete();
             observers.clear();
         }
     }
     
-    private Subscription createEmptySubscription() {
-        return new Subscription() {
-            @Override
-            public void unsubscribe() {}
-            
-            @Override
-            public boolean isUnsubscribed() {
-                return true;
-            }
-        };
+    /**
+     * Обернуть Subject так, чтобы onNext/onError/onComplete можно было вызывать из разных потоков.
+     */
+    public Subject<T> toSerialized() {
+        return new SerializedSubject<>(this);
+    }
+    
+    /**
+     * Подписка для уже завершенного Subject; состояния у нее нет, поэтому экземпляр общий.
+     */
+    protected Subscription createEmptySubscription() {
+        return EMPTY_SUBSCRIPTION;
     }
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+package com.rxjava.subjects;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Как подписчик RingBufferSubject ждет новых элементов: компромисс между задержкой и CPU.
+ * busySpin - минимальная задержка, но поток подписчика занимает ядро целиком;
+ * yielding - крутится, затем уступает процессор; blocking - засыпает до сигнала
+ * производителя, не тратя CPU, ценой пробуждения потока.
+ */
+public interface WaitStrategy {
+
+    /**
+     * Ждать, пока курсор производителя достигнет sequence или барьер будет поднят
+     * (отписка, завершение). Возвращает текущий курсор производителя, он может быть меньше sequence.
+     */
+    long waitFor(long sequence, SequenceBarrier barrier) throws InterruptedException;
+
+    /**
+     * Вызывается производителем после публикации и при завершении.
+     */
+    void signalAllWhenBlocking();
+
+    /**
+     * Что видит ожидающий подписчик: курсор производителя и признак прекращения ожидания.
+     */
+    interface SequenceBarrier {
+        long cursor();
+
+        boolean isAlerted();
+    }
+
+    static WaitStrategy busySpin() {
+        return BusySpin.INSTANCE;
+    }
+
+    static WaitStrategy yielding() {
+        return Yielding.INSTANCE;
+    }
+
+    /**
+     * Новый экземпляр со своей блокировкой; его можно разделять между подписчиками.
+     */
+    static WaitStrategy blocking() {
+        return new Blocking();
+    }
+
+    final class BusySpin implements WaitStrategy {
+        static final BusySpin INSTANCE = new BusySpin();
+
+        @Override
+        public long waitFor(long sequence, SequenceBarrier barrier) {
+            long available;
+            while ((available = barrier.cursor()) < sequence && !barrier.isAlerted()) {
+                Thread.onSpinWait();
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+        }
+    }
+
+    final class Yielding implements WaitStrategy {
+        static final Yielding INSTANCE = new Yielding();
+        private static final int SPIN_TRIES = 100;
+
+        @Override
+        public long waitFor(long sequence, SequenceBarrier barrier) {
+            long available;
+            int counter = SPIN_TRIES;
+            while ((available = barrier.cursor()) < sequence && !barrier.isAlerted()) {
+                if (counter > 0) {
+                    counter--;
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+        }
+    }
+
+    /**
+     * Блокировка берется производителем только если кто-то действительно спит:
+     * перед засыпанием подписчик поднимает флаг, производитель сбрасывает его атомарно.
+     */
+    final class Blocking implements WaitStrategy {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition published = lock.newCondition();
+        private final AtomicBoolean signalNeeded = new AtomicBoolean();
+
+        @Override
+        public long waitFor(long sequence, SequenceBarrier barrier) throws InterruptedException {
+            long available = barrier.cursor();
+            if (available >= sequence || barrier.isAlerted()) {
+                return available;
+            }
+            lock.lock();
+            try {
+                for (;;) {
+                    signalNeeded.getAndSet(true);
+                    available = barrier.cursor();
+                    if (available >= sequence || barrier.isAlerted()) {
+                        return available;
+                    }
+                    published.await();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+            if (signalNeeded.getAndSet(false)) {
+                lock.lock();
+                try {
+                    published.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.rxjava;
+
+import com.rxjava.schedulers.ComputationScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Регрессионный тест аллокаций: в установившемся режиме цепочка map/filter/observeOn
+ * не должна выделять память на элемент. Считаются байты, выделенные потоком-производителем
+ * и потоками ComputationScheduler (com.sun.management.ThreadMXBean).
+ */
+public class AllocationTest {
+    
+    private static final int BATCH = 64;
+    private static final int WARMUP_ITEMS = 500_000;
+    private static final int MEASURED_ITEMS = 2_000_000;
+    // Разовые аллокации подписки размазываются по миллионам элементов; один объект на элемент дал бы >= 16
+    private static final double MAX_BYTES_PER_ITEM = 0.5;
+    
+    @Test
+    void testMapFilterObserveOnDoesNotAllocatePerItem() throws InterruptedException {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "Нет учета аллокаций по потокам");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        
+        // Заранее упакованные значения: упаковка int за пределами кэша Integer - аллокация самого теста
+        Integer[] values = new Integer[1024];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 100_000 + i;
+        }
+        ComputationScheduler scheduler = new ComputationScheduler(1, false);
+        
+        run(values, scheduler, WARMUP_ITEMS);
+        
+        long[] ids = threadIds("ComputationScheduler-");
+        long before = allocated(threads, ids);
+        run(values, scheduler, MEASURED_ITEMS);
+        long after = allocated(threads, ids);
+        
+        double bytesPerItem = (double) (after - before) / MEASURED_ITEMS;
+        assertTrue(bytesPerItem < MAX_BYTES_PER_ITEM,
+            "Цепочка выделяет память на элемент: " + bytesPerItem + " байт");
+    }
+    
+    /**
+     * Пачки по BATCH элементов меньше буфера observeOn: очередь не растет,
+     * и измеряется установившийся режим, а не накопление отставания потребителя.
+     */
+    private static void run(Integer[] values, ComputationScheduler scheduler, int count) throws InterruptedException {
+        AtomicLong received = new AtomicLong();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        
+        Observable.<Integer>create(emitter -> {
+                for (int sent = 0; sent < count; ) {
+                    int end = Math.min(count, sent + BATCH);
+                    for (; sent < end; sent++) {
+                        emitter.onNext(values[sent & (values.length - 1)]);
+                    }
+                    long target = end / 2;
+                    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                    while (received.get() < target && System.nanoTime() < deadline) {
+                        Thread.onSpinWait();
+                    }
+                }
+                emitter.onComplete();
+            })
+            .map(x -> values[(x + 1) & (values.length - 1)])
+            .filter(x -> (x & 1) == 0)
+            .observeOn(scheduler)
+            .map(x -> values[(x + 3) & (values.length - 1)])
+            .subscribe(new Observer<Integer>() {
+                @Override
+                public void onNext(Integer item) {
+                    received.incrementAndGet();
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    error.set(t);
+                }
+                
+                @Override
+                public void onComplete() {}
+            });
+        
+        assertNull(error.get());
+        assertEquals(count / 2, received.get(), "Получены не все элементы");
+    }
+    
+    private static long[] threadIds(String prefix) {
+        List<Long> ids = new ArrayList<>();
+        ids.add(Thread.currentThread().getId());
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith(prefix)) {
+                ids.add(thread.getId());
+            }
+        }
+        long[] result = new long[ids.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids.get(i);
+        }
+        return result;
+    }
+    
+    private static long allocated(com.sun.management.ThreadMXBean threads, long[] ids) {
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(ids)) {
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+        return total;
+    }
+}
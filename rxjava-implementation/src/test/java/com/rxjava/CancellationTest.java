@@ -0,0 +1,235 @@
+package com.rxjava;
+
+import com.rxjava.schedulers.ComputationScheduler;
+import com.rxjava.schedulers.IOScheduler;
+import com.rxjava.schedulers.Scheduler;
+import com.rxjava.schedulers.SingleThreadScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class CancellationTest {
+    
+    @Test
+    void testUnsubscribeStopsInfiniteSourceOnSubscribeOn() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch stopped = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        
+        Observable<Long> infinite = Observable.create(emitter -> {
+            emitter.setCancellable(cancelled::countDown);
+            long i = 0;
+            while (!emitter.isDisposed()) {
+                emitter.onNext(i++);
+            }
+            stopped.countDown();
+        });
+        
+        Subscription subscription = infinite
+            .subscribeOn(new IOScheduler())
+            .map(x -> x * 2)
+            .filter(x -> x % 3 == 0)
+            .subscribe(new Observer<Long>() {
+                @Override
+                public void onNext(Long item) {
+                    started.countDown();
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                    fail("Бесконечный источник не должен завершаться");
+                }
+            });
+        
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        subscription.unsubscribe();
+        
+        assertTrue(stopped.await(1, TimeUnit.SECONDS), "Источник должен увидеть отписку");
+        assertTrue(cancelled.await(1, TimeUnit.SECONDS), "Cancellable должен быть вызван");
+        assertTrue(subscription.isUnsubscribed());
+    }
+    
+    @Test
+    void testUnsubscribeInsideOnNextStopsSyncSource() {
+        AtomicInteger emitted = new AtomicInteger();
+        AtomicInteger received = new AtomicInteger();
+        
+        Observable.<Integer>create(emitter -> {
+            for (int i = 0; i < 1_000_000 && !emitter.isDisposed(); i++) {
+                emitted.incrementAndGet();
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        })
+            .map(x -> x + 1)
+            .subscribe(new Observer<Integer>() {
+                private Subscription subscription;
+                
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    this.subscription = subscription;
+                }
+                
+                @Override
+                public void onNext(Integer item) {
+                    if (received.incrementAndGet() == 10) {
+                        subscription.unsubscribe();
+                    }
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                    fail("После отписки завершение не доставляется");
+                }
+            });
+        
+        assertEquals(10, received.get());
+        assertEquals(10, emitted.get());
+    }
+    
+    @Test
+    void testUnsubscribeSubscribeOnCancelsSourceWithoutOnSubscribe() throws InterruptedException {
+        CountDownLatch subscribed = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        IOScheduler scheduler = new IOScheduler();
+        
+        // Источник не вызывает onSubscribe: отменить его можно только через возвращенную подписку
+        Observable<Integer> source = new Observable<Integer>() {
+            @Override
+            public Subscription subscribe(Observer<Integer> observer) {
+                subscribed.countDown();
+                return new Subscription() {
+                    private volatile boolean unsubscribed;
+                    
+                    @Override
+                    public void unsubscribe() {
+                        unsubscribed = true;
+                        cancelled.countDown();
+                    }
+                    
+                    @Override
+                    public boolean isUnsubscribed() {
+                        return unsubscribed;
+                    }
+                };
+            }
+        };
+        
+        Subscription subscription = source.subscribeOn(scheduler).subscribe(new Observer<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                fail("Не ожидалась ошибка: " + t.getMessage());
+            }
+            
+            @Override
+            public void onComplete() {
+            }
+        });
+        
+        assertTrue(subscribed.await(1, TimeUnit.SECONDS));
+        subscription.unsubscribe();
+        assertTrue(cancelled.await(1, TimeUnit.SECONDS), "Отписка отменяет подписку источника");
+        scheduler.shutdown();
+    }
+    
+    @Test
+    void testUnsubscribeObserveOnStopsRange() throws InterruptedException {
+        AtomicLong received = new AtomicLong();
+        CountDownLatch first = new CountDownLatch(1);
+        
+        Subscription subscription = Observable.range(0, Integer.MAX_VALUE)
+            .subscribeOn(new SingleThreadScheduler())
+            .observeOn(new ComputationScheduler())
+            .subscribe(new Observer<Integer>() {
+                @Override
+                public void onNext(Integer item) {
+                    received.incrementAndGet();
+                    first.countDown();
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                    fail("Не ожидалось завершение");
+                }
+            });
+        
+        assertTrue(first.await(1, TimeUnit.SECONDS));
+        subscription.unsubscribe();
+        Thread.sleep(50);
+        long afterCancel = received.get();
+        Thread.sleep(100);
+        
+        assertEquals(afterCancel, received.get(), "После отписки элементы не должны приходить");
+    }
+    
+    @Test
+    void testUnsubscribeFlatMapCancelsInners() throws InterruptedException {
+        AtomicInteger cancelledInners = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(3);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        
+        Subscription subscription = Observable.range(0, 3)
+            .flatMap(i -> Observable.<Integer>create(emitter -> {
+                emitter.setCancellable(cancelledInners::incrementAndGet);
+                started.countDown();
+            }))
+            .subscribe(new Observer<Integer>() {
+                @Override
+                public void onNext(Integer item) {
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    error.set(t);
+                }
+                
+                @Override
+                public void onComplete() {
+                    fail("Внутренние источники не завершались");
+                }
+            });
+        
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        subscription.unsubscribe();
+        
+        assertEquals(3, cancelledInners.get());
+        assertNull(error.get());
+    }
+    
+    @Test
+    void testDisposedWorkerDropsDelayedTasks() throws InterruptedException {
+        Scheduler.Worker worker = new ComputationScheduler().createWorker();
+        AtomicInteger executed = new AtomicInteger();
+        
+        Disposable task = worker.schedule(executed::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+        worker.dispose();
+        
+        assertTrue(task.isDisposed());
+        Thread.sleep(100);
+        assertEquals(0, executed.get());
+    }
+}
@@ -0,0 +1,229 @@
+package com.rxjava;
+
+import com.rxjava.schedulers.ComputationScheduler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FlowableTest {
+    
+    private List<Integer> receivedItems;
+    private boolean completed;
+    private Flow.Subscription subscription;
+    
+    @BeforeEach
+    void setUp() {
+        receivedItems = new ArrayList<>();
+        completed = false;
+        subscription = null;
+    }
+    
+    private Flow.Subscriber<Integer> subscriber(long initialRequest) {
+        return new Flow.Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription = s;
+                s.request(initialRequest);
+            }
+            
+            @Override
+            public void onNext(Integer item) {
+                receivedItems.add(item);
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                fail("Не ожидалась ошибка: " + t.getMessage());
+            }
+            
+            @Override
+            public void onComplete() {
+                completed = true;
+            }
+        };
+    }
+    
+    @Test
+    void testBufferStrategyHonorsRequest() {
+        Flowable<Integer> flowable = Flowable.create(emitter -> {
+            for (int i = 1; i <= 5; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        }, BackpressureStrategy.BUFFER);
+        
+        flowable.subscribe(subscriber(2));
+        
+        assertEquals(List.of(1, 2), receivedItems);
+        assertFalse(completed);
+        
+        subscription.request(10);
+        
+        assertEquals(List.of(1, 2, 3, 4, 5), receivedItems);
+        assertTrue(completed);
+    }
+    
+    @Test
+    void testDropStrategy() {
+        Flowable<Integer> flowable = Flowable.create(emitter -> {
+            for (int i = 1; i <= 5; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        }, BackpressureStrategy.DROP);
+        
+        flowable.subscribe(subscriber(3));
+        
+        assertEquals(List.of(1, 2, 3), receivedItems);
+        assertTrue(completed);
+    }
+    
+    @Test
+    void testLatestStrategy() {
+        Flowable<Integer> flowable = Flowable.create(emitter -> {
+            for (int i = 1; i <= 5; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        }, BackpressureStrategy.LATEST);
+        
+        flowable.subscribe(subscriber(1));
+        assertEquals(List.of(1), receivedItems);
+        assertFalse(completed);
+        
+        subscription.request(1);
+        assertEquals(List.of(1, 5), receivedItems);
+        assertTrue(completed);
+    }
+    
+    @Test
+    void testFromIterableProducesOnlyRequested() {
+        AtomicInteger produced = new AtomicInteger();
+        Iterable<Integer> source = () -> new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+            
+            @Override
+            public Integer next() {
+                return produced.incrementAndGet();
+            }
+        };
+        
+        Flowable.fromIterable(source)
+            .filter(x -> x % 2 == 0)
+            .map(x -> x * 10)
+            .subscribe(subscriber(3));
+        
+        assertEquals(List.of(20, 40, 60), receivedItems);
+        assertEquals(6, produced.get());
+        
+        subscription.cancel();
+        subscription.request(5);
+        assertEquals(6, produced.get());
+    }
+    
+    @Test
+    void testObserveOnWithPrefetch() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler();
+        List<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            source.add(i);
+        }
+        List<Integer> received = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        Flowable.fromIterable(source)
+            .observeOn(scheduler, 16)
+            .subscribe(new Flow.Subscriber<Integer>() {
+                private Flow.Subscription upstream;
+                
+                @Override
+                public void onSubscribe(Flow.Subscription s) {
+                    upstream = s;
+                    s.request(1);
+                }
+                
+                @Override
+                public void onNext(Integer item) {
+                    received.add(item);
+                    upstream.request(1);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                    latch.countDown();
+                }
+            });
+        
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(source, received);
+    }
+    
+    @Test
+    void testInteropWithSubmissionPublisher() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Integer> received = new ArrayList<>();
+        
+        try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>()) {
+            Flowable.fromPublisher(publisher)
+                .map(x -> x + 1)
+                .subscribe(new Flow.Subscriber<Integer>() {
+                    @Override
+                    public void onSubscribe(Flow.Subscription s) {
+                        s.request(Long.MAX_VALUE);
+                    }
+                    
+                    @Override
+                    public void onNext(Integer item) {
+                        received.add(item);
+                    }
+                    
+                    @Override
+                    public void onError(Throwable t) {
+                        fail("Не ожидалась ошибка: " + t.getMessage());
+                    }
+                    
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+            publisher.submit(1);
+            publisher.submit(2);
+        }
+        
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertEquals(List.of(2, 3), received);
+    }
+    
+    @Test
+    void testObservableToFlowable() {
+        Observable<Integer> observable = Observable.create(observer -> {
+            for (int i = 1; i <= 4; i++) {
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        });
+        
+        observable.toFlowable(BackpressureStrategy.DROP).subscribe(subscriber(2));
+        
+        assertEquals(List.of(1, 2), receivedItems);
+        assertTrue(completed);
+    }
+}
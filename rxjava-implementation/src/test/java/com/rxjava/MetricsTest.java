@@ -0,0 +1,240 @@
+package com.rxjava;
+
+import com.rxjava.plugins.Histogram;
+import com.rxjava.plugins.RxJavaPlugins;
+import com.rxjava.plugins.RxMetrics;
+import com.rxjava.schedulers.SingleThreadScheduler;
+import com.rxjava.subjects.PublishSubject;
+import com.rxjava.subjects.Subject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class MetricsTest {
+    
+    @AfterEach
+    void tearDown() {
+        RxMetrics.get().reset();
+        RxMetrics.disable();
+        RxJavaPlugins.reset();
+    }
+    
+    @Test
+    void testHistogramPercentiles() {
+        Histogram histogram = new Histogram();
+        for (long i = 1; i <= 100_000; i++) {
+            histogram.record(i);
+        }
+        
+        assertEquals(100_000, histogram.count());
+        assertEquals(100_000, histogram.max());
+        assertEquals(50_000.5, histogram.mean(), 0.001);
+        // Погрешность не больше 1/64 значения
+        assertEquals(50_000, histogram.percentile(50), 50_000 / 64);
+        assertEquals(99_000, histogram.percentile(99), 99_000 / 64);
+        assertEquals(1, histogram.percentile(0));
+        
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentile(99));
+    }
+    
+    @Test
+    void testHistogramSmallAndHugeValues() {
+        Histogram histogram = new Histogram();
+        histogram.record(5);
+        histogram.record(Long.MAX_VALUE);
+        
+        assertEquals(5, histogram.percentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.max());
+        assertTrue(histogram.percentile(100) >= Long.MAX_VALUE / 64 * 63);
+    }
+    
+    @Test
+    void testAssemblyHookIsNotCalledByDefault() {
+        Observable<Integer> source = Observable.range(1, 3);
+        
+        assertFalse(RxMetrics.isEnabled());
+        assertSame(source.getClass(), Observable.range(1, 3).getClass());
+        
+        AtomicInteger assembled = new AtomicInteger();
+        RxJavaPlugins.setOnObservableAssembly(o -> {
+            assembled.incrementAndGet();
+            return o;
+        });
+        Observable.range(1, 3).map(x -> x * 2).filter(x -> x > 2);
+        
+        assertEquals(3, assembled.get());
+    }
+    
+    @Test
+    void testConnectableAssemblyHook() {
+        List<ConnectableObservable<?>> assembled = new ArrayList<>();
+        RxJavaPlugins.setOnConnectableAssembly(c -> {
+            assembled.add(c);
+            return c;
+        });
+        ConnectableObservable<Integer> published = Observable.range(1, 3).publish();
+        ConnectableObservable<Integer> replayed = Observable.range(1, 3).replay(2);
+        
+        assertEquals(List.of(published, replayed), assembled);
+    }
+    
+    @Test
+    void testSharedSourceIsMetered() {
+        RxMetrics.enable();
+        AtomicInteger subscriptions = new AtomicInteger();
+        AtomicReference<ObservableEmitter<Integer>> emitterRef = new AtomicReference<>();
+        Observable<Integer> shared = Observable.<Integer>create(emitter -> {
+            subscriptions.incrementAndGet();
+            emitterRef.set(emitter);
+        }).share();
+        Observer<Integer> ignoring = new Observer<Integer>() {
+            @Override
+            public void onNext(Integer item) {}
+            
+            @Override
+            public void onError(Throwable t) {
+                fail("Не ожидалась ошибка: " + t);
+            }
+            
+            @Override
+            public void onComplete() {}
+        };
+        
+        Subscription first = shared.subscribe(ignoring);
+        emitterRef.get().onNext(1);
+        emitterRef.get().onNext(2);
+        first.unsubscribe();
+        shared.subscribe(ignoring);
+        emitterRef.get().onNext(3);
+        
+        assertEquals(2, subscriptions.get(), "Обертка метрик передает reset() и refCount подключается заново");
+        assertEquals(3, RxMetrics.operatorOnNextCount("ObservablePublish"));
+    }
+    
+    @Test
+    void testOperatorOnNextCounts() {
+        RxMetrics.enable();
+        List<Integer> results = new ArrayList<>();
+        
+        Observable.range(1, 10)
+            .filter(x -> x % 2 == 0)
+            .subscribe(new Observer<Integer>() {
+                @Override
+                public void onNext(Integer item) {
+                    results.add(item);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t);
+                }
+                
+                @Override
+                public void onComplete() {}
+            });
+        
+        assertEquals(List.of(2, 4, 6, 8, 10), results);
+        assertEquals(10, RxMetrics.operatorOnNextCount("ObservableRange"));
+        assertEquals(5, RxMetrics.operatorOnNextCount("ObservableMapFilter"));
+    }
+    
+    @Test
+    void testSchedulerStats() throws InterruptedException {
+        RxMetrics.enable();
+        SingleThreadScheduler scheduler = new SingleThreadScheduler();
+        CountDownLatch latch = new CountDownLatch(20);
+        
+        for (int i = 0; i < 20; i++) {
+            scheduler.execute(() -> {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                latch.countDown();
+            });
+        }
+        
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "Задачи не выполнились");
+        RxMetrics.SchedulerStats stats = RxMetrics.schedulerStats(scheduler);
+        assertNotNull(stats);
+        assertEquals(20, stats.submittedTasks());
+        
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (stats.completedTasks() < 20 && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+        assertEquals(20, stats.completedTasks());
+        assertEquals(0, stats.queueSize());
+        assertEquals(0, stats.activeTasks());
+        assertEquals(20, stats.executionTime().count());
+        assertTrue(stats.executionTime().percentile(50) >= TimeUnit.MILLISECONDS.toNanos(1) * 63 / 64,
+            "Время выполнения меньше времени сна задачи");
+        // Последние задачи ждали завершения предыдущих
+        assertTrue(stats.waitTime().max() >= TimeUnit.MILLISECONDS.toNanos(10));
+    }
+    
+    @Test
+    void testSchedulerStatsDoNotRetainScheduler() throws InterruptedException {
+        RxMetrics.enable();
+        SingleThreadScheduler scheduler = new SingleThreadScheduler();
+        CountDownLatch latch = new CountDownLatch(1);
+        scheduler.execute(latch::countDown);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertNotNull(RxMetrics.schedulerStats(scheduler));
+        scheduler.shutdown();
+        
+        WeakReference<SingleThreadScheduler> ref = new WeakReference<>(scheduler);
+        scheduler = null;
+        for (int i = 0; i < 50 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(ref.get(), "Метрики не должны удерживать планировщик до reset()");
+    }
+    
+    @Test
+    void testSubjectSubscribersExportedThroughJmx() throws Exception {
+        RxMetrics.enable();
+        Subject<Integer> subject = PublishSubject.create();
+        Subject<Integer> serialized = subject.toSerialized();
+        Observer<Integer> observer = new Observer<Integer>() {
+            @Override
+            public void onNext(Integer item) {}
+            
+            @Override
+            public void onError(Throwable t) {}
+            
+            @Override
+            public void onComplete() {}
+        };
+        Subscription first = subject.subscribe(observer);
+        serialized.subscribe(observer);
+        
+        assertEquals(2, serialized.subscriberCount());
+        
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(RxMetrics.OBJECT_NAME);
+        assertEquals(1, server.getAttribute(name, "SubjectCount"));
+        assertEquals(2L, server.getAttribute(name, "SubjectSubscriberCount"));
+        
+        first.unsubscribe();
+        assertEquals(1L, server.getAttribute(name, "SubjectSubscriberCount"));
+        
+        RxMetrics.disable();
+        assertFalse(server.isRegistered(name));
+    }
+}
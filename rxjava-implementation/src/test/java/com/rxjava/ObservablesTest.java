@@ -0,0 +1,527 @@
+package com.rxjava;
+
+import com.rxjava.schedulers.Schedulers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousServerSocketChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ObservablesTest {
+    
+    @Test
+    void testFromFileReadsAllChunks(@TempDir Path dir) throws Exception {
+        byte[] data = new byte[1_000_003];
+        new Random(42).nextBytes(data);
+        Path file = Files.write(dir.resolve("data.bin"), data);
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicInteger chunks = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        Observables.fromFile(file, 4096).subscribe(new Observer<ByteBuffer>() {
+            @Override
+            public void onNext(ByteBuffer chunk) {
+                assertTrue(chunk.isReadOnly(), "Кусок должен быть доступен только для чтения");
+                byte[] bytes = new byte[chunk.remaining()];
+                chunk.get(bytes);
+                received.write(bytes, 0, bytes.length);
+                chunks.incrementAndGet();
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                fail("Не ожидалась ошибка: " + t);
+            }
+            
+            @Override
+            public void onComplete() {
+                latch.countDown();
+            }
+        });
+        
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "Чтение не завершилось");
+        assertArrayEquals(data, received.toByteArray());
+        assertTrue(chunks.get() >= data.length / 4096);
+    }
+    
+    @Test
+    void testMissingFileSignalsError(@TempDir Path dir) throws InterruptedException {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        Observables.fromFile(dir.resolve("missing.txt"), 1024).subscribe(new Observer<ByteBuffer>() {
+            @Override
+            public void onNext(ByteBuffer chunk) {
+                fail("Не ожидались данные");
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                error.set(t);
+                latch.countDown();
+            }
+            
+            @Override
+            public void onComplete() {
+                fail("Не ожидалось завершение");
+            }
+        });
+        
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, error.get());
+    }
+    
+    @Test
+    void testLinesAcrossChunkBoundaries(@TempDir Path dir) throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            text.append("строка ").append(i).append(" €𝄞").append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        text.append("последняя без перевода");
+        Path file = Files.write(dir.resolve("log.txt"), text.toString().getBytes(StandardCharsets.UTF_8));
+        List<String> lines = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        // Маленький кусок гарантирует разрезанные многобайтовые символы
+        Observables.lines(file, StandardCharsets.UTF_8, 7).subscribe(new Observer<String>() {
+            @Override
+            public void onNext(String line) {
+                lines.add(line);
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                fail("Не ожидалась ошибка: " + t);
+            }
+            
+            @Override
+            public void onComplete() {
+                latch.countDown();
+            }
+        });
+        
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "Чтение не завершилось");
+        assertEquals(Files.readAllLines(file, StandardCharsets.UTF_8), lines);
+    }
+    
+    @Test
+    void testUnsubscribeStopsReading(@TempDir Path dir) throws Exception {
+        Path file = Files.write(dir.resolve("big.bin"), new byte[1 << 20]);
+        AtomicInteger chunks = new AtomicInteger();
+        AtomicReference<Subscription> subscription = new AtomicReference<>();
+        CountDownLatch first = new CountDownLatch(1);
+        
+        Observables.fromFile(file, 1024).subscribe(new Observer<ByteBuffer>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription.set(s);
+            }
+            
+            @Override
+            public void onNext(ByteBuffer chunk) {
+                chunks.incrementAndGet();
+                subscription.get().unsubscribe();
+                first.countDown();
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                fail("Не ожидалась ошибка: " + t);
+            }
+            
+            @Override
+            public void onComplete() {
+                fail("Не ожидалось завершение после отписки");
+            }
+        });
+        
+        assertTrue(first.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(1, chunks.get());
+    }
+    
+    @Test
+    void testWriteToCopiesFile(@TempDir Path dir) throws Exception {
+        byte[] data = new byte[300_001];
+        new Random(7).nextBytes(data);
+        Path source = Files.write(dir.resolve("in.bin"), data);
+        Path target = dir.resolve("out.bin");
+        AtomicReference<Long> written = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            Observables.writeTo(Observables.fromFile(source, 8192), out, 16).subscribe(new Observer<Long>() {
+                @Override
+                public void onNext(Long bytes) {
+                    written.set(bytes);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t);
+                }
+                
+                @Override
+                public void onComplete() {
+                    latch.countDown();
+                }
+            });
+            assertTrue(latch.await(10, TimeUnit.SECONDS), "Копирование не завершилось");
+        }
+        
+        assertEquals(data.length, written.get());
+        assertArrayEquals(data, Files.readAllBytes(target));
+    }
+    
+    @Test
+    void testWriteToBatchesOwnedBuffers() {
+        List<ByteBuffer> buffers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            buffers.add(ByteBuffer.wrap(("часть-" + i + ";").getBytes(StandardCharsets.UTF_8)));
+        }
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        AtomicInteger writeCalls = new AtomicInteger();
+        GatheringByteChannel channel = new GatheringByteChannel() {
+            @Override
+            public long write(ByteBuffer[] srcs, int offset, int length) {
+                writeCalls.incrementAndGet();
+                long total = 0;
+                for (int i = offset; i < offset + length; i++) {
+                    total += write(srcs[i]);
+                }
+                return total;
+            }
+            
+            @Override
+            public long write(ByteBuffer[] srcs) {
+                return write(srcs, 0, srcs.length);
+            }
+            
+            @Override
+            public int write(ByteBuffer src) {
+                int n = src.remaining();
+                byte[] bytes = new byte[n];
+                src.get(bytes);
+                sink.write(bytes, 0, n);
+                return n;
+            }
+            
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+            
+            @Override
+            public void close() {}
+        };
+        List<Long> results = new ArrayList<>();
+        
+        Observables.writeTo(Observable.fromIterable(buffers), channel, 4).subscribe(new Observer<Long>() {
+            @Override
+            public void onNext(Long bytes) {
+                results.add(bytes);
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                fail("Не ожидалась ошибка: " + t);
+            }
+            
+            @Override
+            public void onComplete() {}
+        });
+        
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            expected.append("часть-").append(i).append(';');
+        }
+        assertEquals(expected.toString(), new String(sink.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(List.of((long) sink.size()), results);
+        // 4 + 4 + 2 при завершении
+        assertEquals(3, writeCalls.get());
+    }
+    
+    @Test
+    void testFromSocketChannel() throws Exception {
+        byte[] data = "данные из сокета\n".repeat(1000).getBytes(StandardCharsets.UTF_8);
+        try (AsynchronousServerSocketChannel server = AsynchronousServerSocketChannel.open()
+                .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            AsynchronousSocketChannel client = AsynchronousSocketChannel.open();
+            client.connect(server.getLocalAddress()).get(5, TimeUnit.SECONDS);
+            AsynchronousSocketChannel accepted = server.accept().get(5, TimeUnit.SECONDS);
+            List<String> lines = new ArrayList<>();
+            CountDownLatch latch = new CountDownLatch(1);
+            
+            Observables.decodeLines(Observables.fromChannel(accepted, 512), StandardCharsets.UTF_8)
+                .subscribe(new Observer<String>() {
+                    @Override
+                    public void onNext(String line) {
+                        lines.add(line);
+                    }
+                    
+                    @Override
+                    public void onError(Throwable t) {
+                        fail("Не ожидалась ошибка: " + t);
+                    }
+                    
+                    @Override
+                    public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+            
+            ByteBuffer out = ByteBuffer.wrap(data);
+            while (out.hasRemaining()) {
+                client.write(out).get(5, TimeUnit.SECONDS);
+            }
+            client.close();
+            
+            assertTrue(latch.await(10, TimeUnit.SECONDS), "Чтение из сокета не завершилось");
+            assertEquals(1000, lines.size());
+            assertEquals("данные из сокета", lines.get(999));
+        }
+    }
+    
+    private static <T> List<T> collect(Observable<T> source) {
+        List<T> items = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+        source.subscribe(new Observer<T>() {
+            @Override
+            public void onNext(T item) {
+                items.add(item);
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                fail("Неожиданная ошибка: " + t);
+            }
+            
+            @Override
+            public void onComplete() {
+                completed.set(true);
+            }
+        });
+        assertTrue(completed.get(), "Поиск завершен");
+        return items;
+    }
+    
+    @Test
+    void testCachedLookupHitsAndMisses() {
+        Map<String, AtomicInteger> loads = new ConcurrentHashMap<>();
+        CachedLookup<String, String> cache = Observables.cachedLookup(key -> {
+            loads.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            return Observable.fromIterable(List.of(key.toUpperCase()));
+        }, 100, 1, TimeUnit.MINUTES);
+        
+        List<String> result = collect(Observable.fromIterable(List.of("a", "b", "a", "a", "c", "b")).flatMap(cache));
+        
+        assertEquals(List.of("A", "B", "A", "A", "C", "B"), result);
+        assertEquals(1, loads.get("a").get(), "Повторные ключи берутся из кэша");
+        assertEquals(1, loads.get("b").get());
+        assertEquals(3, cache.missCount());
+        assertEquals(3, cache.hitCount());
+    }
+    
+    @Test
+    void testCachedLookupCoalescesConcurrentMisses() {
+        AtomicInteger loads = new AtomicInteger();
+        AtomicReference<ObservableEmitter<Integer>> emitter = new AtomicReference<>();
+        CachedLookup<String, Integer> cache = Observables.cachedLookup(key -> Observable.<Integer>create(e -> {
+            loads.incrementAndGet();
+            emitter.set(e);
+        }), 100, 1, TimeUnit.MINUTES);
+        List<Integer> received = new ArrayList<>();
+        AtomicInteger completed = new AtomicInteger();
+        
+        for (int i = 0; i < 3; i++) {
+            cache.get("key").subscribe(new Observer<Integer>() {
+                @Override
+                public void onNext(Integer item) {
+                    received.add(item);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Неожиданная ошибка: " + t);
+                }
+                
+                @Override
+                public void onComplete() {
+                    completed.incrementAndGet();
+                }
+            });
+        }
+        assertEquals(1, loads.get(), "Одновременные промахи разделяют одну загрузку");
+        
+        emitter.get().onNext(7);
+        
+        assertEquals(List.of(7, 7, 7), received);
+        assertEquals(3, completed.get());
+        assertTrue(emitter.get().isDisposed(), "После первого значения загрузка отменяется");
+        assertEquals(2, cache.coalescedCount());
+        assertEquals(List.of(7), collect(cache.get("key")));
+        assertEquals(1, loads.get());
+    }
+    
+    @Test
+    void testCachedLookupEvictsLeastRecentlyUsed() {
+        AtomicInteger loads = new AtomicInteger();
+        CachedLookup<Integer, Integer> cache = Observables.cachedLookup(key -> {
+            loads.incrementAndGet();
+            return Observable.fromIterable(List.of(key * 10));
+        }, 2, 1, TimeUnit.MINUTES);
+        
+        collect(cache.get(1));
+        collect(cache.get(2));
+        collect(cache.get(1));
+        collect(cache.get(3));
+        assertEquals(3, loads.get());
+        assertEquals(1, cache.evictionCount());
+        assertEquals(2, cache.size());
+        
+        collect(cache.get(1));
+        assertEquals(3, loads.get(), "Недавно использованный ключ остался в кэше");
+        collect(cache.get(2));
+        assertEquals(4, loads.get(), "Давно не использованный ключ вытеснен");
+    }
+    
+    @Test
+    void testCachedLookupExpiresEntries() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        CachedLookup<String, Integer> cache = Observables.cachedLookup(
+            key -> Observable.fromIterable(List.of(loads.incrementAndGet())), 10, 50, TimeUnit.MILLISECONDS);
+        
+        assertEquals(List.of(1), collect(cache.get("k")));
+        assertEquals(List.of(1), collect(cache.get("k")));
+        Thread.sleep(100);
+        assertEquals(List.of(2), collect(cache.get("k")), "Устаревшая запись загружается заново");
+    }
+    
+    @Test
+    void testCachedLookupDoesNotCacheErrors() {
+        AtomicInteger loads = new AtomicInteger();
+        CachedLookup<String, String> cache = Observables.cachedLookup(key -> Observable.<String>create(e -> {
+            if (loads.incrementAndGet() == 1) {
+                e.onError(new IllegalStateException("backend"));
+            } else {
+                e.onNext("ok");
+            }
+        }), 10, 1, TimeUnit.MINUTES);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        
+        cache.get("k").subscribe(new Observer<String>() {
+            @Override
+            public void onNext(String item) {
+                fail("Значение не ожидается");
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                error.set(t);
+            }
+            
+            @Override
+            public void onComplete() {
+            }
+        });
+        
+        assertInstanceOf(IllegalStateException.class, error.get());
+        assertEquals(0, cache.size());
+        assertEquals(List.of("ok"), collect(cache.get("k")));
+        assertEquals(2, loads.get());
+    }
+    
+    @Test
+    void testCachedLookupCancelsAbandonedLoad() {
+        AtomicReference<ObservableEmitter<String>> emitter = new AtomicReference<>();
+        CachedLookup<String, String> cache = Observables.cachedLookup(key -> Observable.<String>create(emitter::set),
+            10, 1, TimeUnit.MINUTES);
+        Observer<String> ignoring = new Observer<String>() {
+            @Override
+            public void onNext(String item) {
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+            }
+            
+            @Override
+            public void onComplete() {
+            }
+        };
+        
+        Subscription first = cache.get("k").subscribe(ignoring);
+        Subscription second = cache.get("k").subscribe(ignoring);
+        first.unsubscribe();
+        assertFalse(emitter.get().isDisposed(), "Загрузка идет, пока есть ожидающие");
+        second.unsubscribe();
+        
+        assertTrue(emitter.get().isDisposed(), "Загрузка отменена после ухода всех ожидающих");
+        assertEquals(0, cache.size());
+    }
+    
+    @Test
+    void testCachedLookupConcurrentSubscribers() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        CachedLookup<Integer, Integer> cache = Observables.cachedLookup(key -> {
+            loads.incrementAndGet();
+            return Observable.fromIterable(List.of(key)).delay(10, TimeUnit.MILLISECONDS, Schedulers.computation());
+        }, 1000, 1, TimeUnit.MINUTES);
+        int threads = 8;
+        int keys = 50;
+        CountDownLatch done = new CountDownLatch(threads * keys);
+        AtomicInteger wrong = new AtomicInteger();
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int k = 0; k < keys; k++) {
+                    int key = k;
+                    cache.get(key).subscribe(new Observer<Integer>() {
+                        @Override
+                        public void onNext(Integer item) {
+                            if (item != key) {
+                                wrong.incrementAndGet();
+                            }
+                        }
+                        
+                        @Override
+                        public void onError(Throwable e) {
+                            wrong.incrementAndGet();
+                        }
+                        
+                        @Override
+                        public void onComplete() {
+                            done.countDown();
+                        }
+                    });
+                }
+            }).start();
+        }
+        
+        assertTrue(done.await(5, TimeUnit.SECONDS), "Все подписчики получили ответ");
+        assertEquals(0, wrong.get());
+        assertEquals(keys, loads.get(), "Одна загрузка на ключ");
+        assertEquals(threads * keys, cache.hitCount() + cache.missCount());
+    }
+}
@@ -4,8 +4,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.rxjava.operators.ObservableMapFilter;
+import com.rxjava.schedulers.ComputationScheduler;
+import com.rxjava.schedulers.IOScheduler;
+import com.rxjava.schedulers.Schedulers;
+import com.rxjava.schedulers.SingleThreadScheduler;
+import com.rxjava.subjects.PublishSubject;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class OperatorsTest {
     
@@ -130,4 +146,495 @@ public class OperatorsTest {
         assertEquals("Значение: 3", receivedItems.get(2));
         assertTrue(completed);
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testConcurrentFlatMapCompletesAfterAllInners() throws InterruptedException {
+        IOScheduler ioScheduler = new IOScheduler();
+        List<String> items = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger concurrentOnNext = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        Observable<Integer> observable = Observable.create(observer -> {
+            for (int i = 0; i < 10; i++) {
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        });
+        
+        observable
+            .flatMap(x -> Observable.<String>create(innerObserver -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                innerObserver.onNext("A" + x);
+                innerObserver.onNext("B" + x);
+                running.decrementAndGet();
+                innerObserver.onComplete();
+            }), 3, ioScheduler)
+            .subscribe(new Observer<String>() {
+                @Override
+                public void onNext(String item) {
+                    if (concurrentOnNext.incrementAndGet() != 1) {
+                        fail("onNext вызван одновременно из нескольких потоков");
+                    }
+                    items.add(item);
+                    concurrentOnNext.decrementAndGet();
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                    latch.countDown();
+                }
+            });
+        
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(20, items.size());
+        assertTrue(maxRunning.get() <= 3);
+        assertTrue(maxRunning.get() > 1);
+    }
+    
+    @Test
+    void testFlatMapPropagatesInnerError() {
+        List<Throwable> errors = new ArrayList<>();
+        
+        Observable<Integer> observable = Observable.create(observer -> {
+            observer.onNext(1);
+            observer.onNext(2);
+            observer.onComplete();
+        });
+        
+        observable
+            .flatMap(x -> Observable.<String>create(innerObserver -> {
+                if (x == 2) {
+                    throw new IllegalStateException("inner");
+                }
+                innerObserver.onNext("A" + x);
+                innerObserver.onComplete();
+            }), 1)
+            .subscribe(new Observer<String>() {
+                @Override
+                public void onNext(String item) {
+                    receivedItems.add(item);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    errors.add(t);
+                }
+                
+                @Override
+                public void onComplete() {
+                    completed = true;
+                }
+            });
+        
+        assertEquals(List.of("A1"), receivedItems);
+        assertEquals(1, errors.size());
+        assertFalse(completed);
+    }
+    
+    @Test
+    void testMapFilterChainIsFused() {
+        Observable<String> chain = Observable.range(1, 20)
+            .map(x -> x + 1)
+            .filter(x -> x % 2 == 0)
+            .map(x -> x * 10)
+            .filter(x -> x > 50)
+            .map(x -> "v" + x);
+        
+        assertTrue(chain instanceof ObservableMapFilter);
+        
+        chain.subscribe(new Observer<String>() {
+            @Override
+            public void onNext(String item) {
+                receivedItems.add(item);
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                fail("Не ожидалась ошибка: " + t.getMessage());
+            }
+            
+            @Override
+            public void onComplete() {
+                completed = true;
+            }
+        });
+        
+        assertEquals(List.of("v60", "v80", "v100", "v120", "v140", "v160", "v180", "v200"), receivedItems);
+        assertTrue(completed);
+    }
+    
+    @Test
+    void testObserveOnPullsFromFusedSource() throws InterruptedException {
+        SingleThreadScheduler scheduler = new SingleThreadScheduler();
+        List<Integer> items = new ArrayList<>();
+        AtomicReference<String> mapThread = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        Observable.fromIterable(List.of(1, 2, 3, 4, 5, 6))
+            .map(x -> {
+                mapThread.set(Thread.currentThread().getName());
+                return x * x;
+            })
+            .filter(x -> x % 2 == 0)
+            .observeOn(scheduler)
+            .subscribe(new Observer<Integer>() {
+                @Override
+                public void onNext(Integer item) {
+                    items.add(item);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                    latch.countDown();
+                }
+            });
+        
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertEquals(List.of(4, 16, 36), items);
+        // При слиянии очередей map выполняется в потоке планировщика, а не в вызывающем
+        assertNotEquals(Thread.currentThread().getName(), mapThread.get());
+    }
+    
+    @Test
+    void testMapReturningNullFailsFusedAndNonFused() {
+        AtomicBoolean upstreamDisposed = new AtomicBoolean();
+        Observable<Integer> nonFused = Observable.create(emitter -> {
+            for (int i = 1; i <= 5 && !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+            upstreamDisposed.set(emitter.isDisposed());
+            emitter.onComplete();
+        });
+        
+        List<Observable<Integer>> chains = List.of(
+            Observable.range(1, 5).map(x -> x == 3 ? null : x).observeOn(Schedulers.trampoline()),
+            nonFused.map(x -> x == 3 ? null : x).observeOn(Schedulers.trampoline()),
+            nonFused.map(x -> x == 3 ? null : x));
+        
+        for (Observable<Integer> chain : chains) {
+            List<Integer> items = new ArrayList<>();
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            AtomicBoolean done = new AtomicBoolean();
+            chain.subscribe(new Observer<Integer>() {
+                @Override
+                public void onNext(Integer item) {
+                    items.add(item);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    error.set(t);
+                }
+                
+                @Override
+                public void onComplete() {
+                    done.set(true);
+                }
+            });
+            
+            assertEquals(List.of(1, 2), items, "null из map не доходит до подписчика");
+            assertTrue(error.get() instanceof NullPointerException, "null из map завершает поток NullPointerException");
+            assertFalse(done.get());
+        }
+        assertTrue(upstreamDisposed.get(), "Источник отписан после null из map");
+    }
+    
+    @Test
+    void testBufferByCount() {
+        List<List<Integer>> batches = new ArrayList<>();
+        
+        Observable.range(0, 10)
+            .buffer(3)
+            .subscribe(new Observer<List<Integer>>() {
+                @Override
+                public void onNext(List<Integer> item) {
+                    batches.add(item);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                    completed = true;
+                }
+            });
+        
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3, 4, 5), List.of(6, 7, 8), List.of(9)), batches);
+        assertTrue(completed);
+    }
+    
+    @Test
+    void testWindowByCount() {
+        List<List<Integer>> windows = new ArrayList<>();
+        
+        Observable.range(0, 5)
+            .window(2)
+            .subscribe(new Observer<Observable<Integer>>() {
+                @Override
+                public void onNext(Observable<Integer> window) {
+                    List<Integer> items = new ArrayList<>();
+                    windows.add(items);
+                    window.subscribe(new Observer<Integer>() {
+                        @Override
+                        public void onNext(Integer item) {
+                            items.add(item);
+                        }
+                        
+                        @Override
+                        public void onError(Throwable t) {
+                            fail("Не ожидалась ошибка: " + t.getMessage());
+                        }
+                        
+                        @Override
+                        public void onComplete() {
+                        }
+                    });
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                    completed = true;
+                }
+            });
+        
+        assertEquals(List.of(List.of(0, 1), List.of(2, 3), List.of(4)), windows);
+        assertTrue(completed);
+    }
+    
+    @Test
+    void testThrottleFirst() {
+        Observable.range(0, 1000)
+            .throttleFirst(1, TimeUnit.MINUTES, new SingleThreadScheduler())
+            .map(x -> "v" + x)
+            .subscribe(new Observer<String>() {
+                @Override
+                public void onNext(String item) {
+                    receivedItems.add(item);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                    completed = true;
+                }
+            });
+        
+        assertEquals(List.of("v0"), receivedItems);
+        assertTrue(completed);
+    }
+    
+    /**
+     * Наблюдатель групп: складывает элементы каждой группы в items, ключи открытых групп - в opened,
+     * ключи завершенных групп - в closed.
+     */
+    private static <K, T> Observer<GroupedObservable<K, T>> groupCollector(Map<K, List<T>> items, List<K> opened,
+                                                                          List<K> closed, CountDownLatch done) {
+        return new Observer<GroupedObservable<K, T>>() {
+            @Override
+            public void onNext(GroupedObservable<K, T> group) {
+                opened.add(group.getKey());
+                List<T> groupItems = items.computeIfAbsent(group.getKey(), k -> Collections.synchronizedList(new ArrayList<>()));
+                group.subscribe(new Observer<T>() {
+                    @Override
+                    public void onNext(T item) {
+                        groupItems.add(item);
+                    }
+                    
+                    @Override
+                    public void onError(Throwable t) {
+                        fail("Не ожидалась ошибка: " + t.getMessage());
+                    }
+                    
+                    @Override
+                    public void onComplete() {
+                        closed.add(group.getKey());
+                    }
+                });
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                fail("Не ожидалась ошибка: " + t.getMessage());
+            }
+            
+            @Override
+            public void onComplete() {
+                done.countDown();
+            }
+        };
+    }
+    
+    @Test
+    void testGroupByKey() {
+        Map<Integer, List<Integer>> items = new ConcurrentHashMap<>();
+        List<Integer> opened = new ArrayList<>();
+        List<Integer> closed = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        
+        Observable.range(0, 10)
+            .groupBy(x -> x % 3)
+            .subscribe(groupCollector(items, opened, closed, done));
+        
+        assertEquals(List.of(0, 1, 2), opened);
+        assertEquals(List.of(0, 3, 6, 9), items.get(0));
+        assertEquals(List.of(1, 4, 7), items.get(1));
+        assertEquals(List.of(2, 5, 8), items.get(2));
+        assertEquals(3, closed.size(), "Группы завершаются вместе с источником");
+        assertEquals(0, done.getCount());
+    }
+    
+    @Test
+    void testGroupByMaxGroupsEvictsLeastRecentlyActive() {
+        Map<String, List<String>> items = new ConcurrentHashMap<>();
+        List<String> opened = new ArrayList<>();
+        List<String> closed = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        
+        Observable.fromIterable(List.of("a1", "b1", "a2", "c1", "b2"))
+            .groupBy(s -> s.substring(0, 1), 2, 0, TimeUnit.SECONDS, Schedulers.trampoline())
+            .subscribe(groupCollector(items, opened, closed, done));
+        
+        assertEquals(List.of("a", "b", "c", "b"), opened, "Вытесненная группа открывается заново");
+        assertEquals("b", closed.get(0), "Первой вытесняется давно не активная группа");
+        assertEquals("a", closed.get(1));
+        assertEquals(List.of("a1", "a2"), items.get("a"));
+        assertEquals(List.of("b1", "b2"), items.get("b"));
+    }
+    
+    @Test
+    void testGroupByEvictsIdleGroups() throws InterruptedException {
+        PublishSubject<Integer> source = PublishSubject.create();
+        Map<Integer, List<Integer>> items = new ConcurrentHashMap<>();
+        List<Integer> opened = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> closed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1);
+        
+        source.groupBy(x -> x % 2, 16, 50, TimeUnit.MILLISECONDS, Schedulers.computation())
+            .subscribe(groupCollector(items, opened, closed, done));
+        source.onNext(1);
+        
+        long deadline = System.currentTimeMillis() + 2000;
+        while (closed.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(1), closed, "Простаивающая группа завершена");
+        
+        source.onNext(3);
+        assertEquals(List.of(1, 1), opened, "Новый элемент открывает группу заново");
+        source.onComplete();
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    void testGroupByIdleTimeoutRequiresScheduler() {
+        Observable<Integer> source = Observable.range(0, 10);
+        assertThrows(IllegalArgumentException.class,
+            () -> source.groupBy(x -> x % 2, 16, 50, TimeUnit.MILLISECONDS, null),
+            "Без планировщика вытеснение по времени не может работать");
+        assertThrows(IllegalArgumentException.class,
+            () -> source.groupBy(x -> x % 2, 0, 0, TimeUnit.MILLISECONDS, Schedulers.computation()));
+        assertThrows(IllegalArgumentException.class,
+            () -> source.groupBy(x -> x % 2, 16, -1, TimeUnit.MILLISECONDS, Schedulers.computation()));
+        
+        Map<Integer, List<Integer>> items = new ConcurrentHashMap<>();
+        List<Integer> opened = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> closed = Collections.synchronizedList(new ArrayList<>());
+        source.groupBy(x -> x % 2, 16, 0, TimeUnit.MILLISECONDS, null)
+            .subscribe(groupCollector(items, opened, closed, new CountDownLatch(1)));
+        assertEquals(List.of(0, 2, 4, 6, 8), items.get(0), "Без планировщика группы получают элементы синхронно");
+        assertEquals(List.of(1, 3, 5, 7, 9), items.get(1));
+    }
+    
+    @Test
+    void testGroupBySerialPerKeyParallelAcrossKeys() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler(4, false);
+        int groupCount = 4;
+        int total = 20_000;
+        Map<Integer, List<Integer>> items = new ConcurrentHashMap<>();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        AtomicBoolean concurrentInGroup = new AtomicBoolean();
+        CountDownLatch groupsDone = new CountDownLatch(groupCount);
+        
+        try {
+            Observable.range(0, total)
+                .groupBy(x -> x % groupCount, groupCount, 0, TimeUnit.SECONDS, scheduler)
+                .subscribe(new Observer<GroupedObservable<Integer, Integer>>() {
+                    @Override
+                    public void onNext(GroupedObservable<Integer, Integer> group) {
+                        List<Integer> groupItems = new ArrayList<>();
+                        items.put(group.getKey(), groupItems);
+                        AtomicInteger active = new AtomicInteger();
+                        group.subscribe(new Observer<Integer>() {
+                            @Override
+                            public void onNext(Integer item) {
+                                if (active.incrementAndGet() != 1) {
+                                    concurrentInGroup.set(true);
+                                }
+                                threads.add(Thread.currentThread().getName());
+                                groupItems.add(item);
+                                active.decrementAndGet();
+                            }
+                            
+                            @Override
+                            public void onError(Throwable t) {
+                                fail("Не ожидалась ошибка: " + t.getMessage());
+                            }
+                            
+                            @Override
+                            public void onComplete() {
+                                groupsDone.countDown();
+                            }
+                        });
+                    }
+                    
+                    @Override
+                    public void onError(Throwable t) {
+                        fail("Не ожидалась ошибка: " + t.getMessage());
+                    }
+                    
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+            
+            assertTrue(groupsDone.await(5, TimeUnit.SECONDS), "Все группы завершены");
+        } finally {
+            scheduler.shutdown();
+        }
+        
+        assertFalse(concurrentInGroup.get(), "Элементы одной группы не обрабатываются одновременно");
+        for (int key = 0; key < groupCount; key++) {
+            List<Integer> groupItems = items.get(key);
+            assertEquals(total / groupCount, groupItems.size());
+            for (int i = 0; i < groupItems.size(); i++) {
+                assertEquals(key + i * groupCount, groupItems.get(i), "Порядок внутри группы сохранен");
+            }
+        }
+        assertTrue(threads.size() > 1, "Разные группы обрабатываются на разных потоках");
+    }
+}
@@ -0,0 +1,196 @@
+package com.rxjava;
+
+import com.rxjava.schedulers.ComputationScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ParallelTest {
+    
+    private static <T> Observer<T> collect(List<T> results, AtomicReference<Throwable> error, CountDownLatch latch) {
+        return new Observer<T>() {
+            @Override
+            public void onNext(T item) {
+                results.add(item);
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                error.set(t);
+                latch.countDown();
+            }
+            
+            @Override
+            public void onComplete() {
+                latch.countDown();
+            }
+        };
+    }
+    
+    @Test
+    void testSequentialUsesAllRails() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler(4, false);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Integer> results = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        Observable.range(1, 10_000)
+            .parallel(4)
+            .runOn(scheduler)
+            .map(x -> {
+                threads.add(Thread.currentThread().getName());
+                return x * 2;
+            })
+            .sequential()
+            .subscribe(collect(results, error, latch));
+        
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "Поток не завершился");
+        assertNull(error.get());
+        assertEquals(10_000, results.size());
+        Collections.sort(results);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals((i + 1) * 2, results.get(i));
+        }
+        assertEquals(4, threads.size(), "Каждая ветка должна выполняться в своем потоке");
+    }
+    
+    @Test
+    void testSequentialOrderedRestoresOrder() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler(4, false);
+        List<Integer> results = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        Observable.range(0, 5_000)
+            .parallel(3)
+            .runOn(scheduler)
+            .filter(x -> x % 5 != 0)
+            .map(x -> {
+                // Неравная стоимость элементов перемешивает готовность веток
+                if (x % 7 == 0) {
+                    Thread.yield();
+                }
+                return x;
+            })
+            .sequentialOrdered()
+            .subscribe(collect(results, error, latch));
+        
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "Поток не завершился");
+        assertNull(error.get());
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            if (i % 5 != 0) {
+                expected.add(i);
+            }
+        }
+        assertEquals(expected, results);
+    }
+    
+    @Test
+    void testWithoutRunOnIsSynchronous() {
+        List<String> results = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        Observable.range(1, 6)
+            .parallel(2)
+            .map(x -> "#" + x)
+            .sequentialOrdered()
+            .subscribe(collect(results, error, latch));
+        
+        assertEquals(0, latch.getCount());
+        assertEquals(List.of("#1", "#2", "#3", "#4", "#5", "#6"), results);
+    }
+    
+    @Test
+    void testErrorInRailCancelsSource() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler(2, false);
+        AtomicInteger emitted = new AtomicInteger();
+        List<Integer> results = Collections.synchronizedList(new ArrayList<>());
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        Observable.<Integer>create(emitter -> {
+                for (int i = 0; i < 1_000_000 && !emitter.isDisposed(); i++) {
+                    emitted.incrementAndGet();
+                    emitter.onNext(i);
+                }
+                emitter.onComplete();
+            })
+            .parallel(2)
+            .runOn(scheduler)
+            .map(x -> {
+                if (x == 100) {
+                    throw new IllegalStateException("сбой в ветке");
+                }
+                return x;
+            })
+            .sequential()
+            .subscribe(collect(results, error, latch));
+        
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "Ошибка не дошла до наблюдателя");
+        assertInstanceOf(IllegalStateException.class, error.get());
+        assertTrue(emitted.get() < 1_000_000, "Источник должен быть отменен после ошибки");
+    }
+    
+    @Test
+    void testUnsubscribeStopsAllRails() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler(2, false);
+        AtomicInteger received = new AtomicInteger();
+        AtomicReference<Subscription> subscription = new AtomicReference<>();
+        CountDownLatch cancelled = new CountDownLatch(1);
+        CountDownLatch sourceStopped = new CountDownLatch(1);
+        
+        Observable.<Integer>create(emitter -> {
+                int i = 0;
+                while (!emitter.isDisposed()) {
+                    emitter.onNext(i++);
+                }
+                sourceStopped.countDown();
+            })
+            .subscribeOn(scheduler)
+            .parallel(2)
+            .runOn(scheduler)
+            .sequential()
+            .subscribe(new Observer<Integer>() {
+                @Override
+                public void onSubscribe(Subscription s) {
+                    subscription.set(s);
+                }
+                
+                @Override
+                public void onNext(Integer item) {
+                    if (received.incrementAndGet() == 1000) {
+                        subscription.get().unsubscribe();
+                        cancelled.countDown();
+                    }
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t);
+                }
+                
+                @Override
+                public void onComplete() {
+                    fail("Не ожидалось завершение");
+                }
+            });
+        
+        assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+        assertTrue(sourceStopped.await(5, TimeUnit.SECONDS), "Источник не остановился после отписки");
+        int afterCancel = received.get();
+        Thread.sleep(50);
+        assertEquals(afterCancel, received.get());
+    }
+}
@@ -0,0 +1,164 @@
+package com.rxjava;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class PrimitiveObservableTest {
+    
+    @Test
+    void testIntMapFilterSum() {
+        AtomicLong sum = new AtomicLong();
+        AtomicReference<Boolean> completed = new AtomicReference<>(false);
+        
+        IntObservable.range(1, 100)
+            .filter(x -> x % 2 == 0)
+            .map(x -> x * 10)
+            .sum()
+            .subscribe(new LongObserver() {
+                @Override
+                public void onNext(long item) {
+                    sum.set(item);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                    completed.set(true);
+                }
+            });
+        
+        assertEquals(25500L, sum.get());
+        assertTrue(completed.get());
+    }
+    
+    @Test
+    void testIntSumDoesNotOverflow() {
+        AtomicLong sum = new AtomicLong();
+        
+        IntObservable.fromArray(Integer.MAX_VALUE, Integer.MAX_VALUE)
+            .sum()
+            .subscribe(new LongObserver() {
+                @Override
+                public void onNext(long item) {
+                    sum.set(item);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                }
+            });
+        
+        assertEquals(2L * Integer.MAX_VALUE, sum.get());
+    }
+    
+    @Test
+    void testLongWindowReduce() {
+        List<Long> maxima = new ArrayList<>();
+        
+        LongObservable.range(0, 10)
+            .window(4)
+            .subscribe(new Observer<LongObservable>() {
+                @Override
+                public void onNext(LongObservable window) {
+                    window.reduce(Long.MIN_VALUE, Math::max).subscribe(new LongObserver() {
+                        @Override
+                        public void onNext(long item) {
+                            maxima.add(item);
+                        }
+                        
+                        @Override
+                        public void onError(Throwable t) {
+                            fail("Не ожидалась ошибка: " + t.getMessage());
+                        }
+                        
+                        @Override
+                        public void onComplete() {
+                        }
+                    });
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                }
+            });
+        
+        assertEquals(List.of(3L, 7L, 9L), maxima);
+    }
+    
+    @Test
+    void testDoubleSumCompensated() {
+        double[] values = new double[10_000];
+        Arrays.fill(values, 0.1);
+        AtomicReference<Double> sum = new AtomicReference<>();
+        
+        DoubleObservable.fromArray(values)
+            .sum()
+            .subscribe(new DoubleObserver() {
+                @Override
+                public void onNext(double item) {
+                    sum.set(item);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                }
+            });
+        
+        assertEquals(1000.0, sum.get(), 1e-9);
+    }
+    
+    @Test
+    void testBridgesAndErrors() {
+        List<String> items = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        
+        Observable.fromIterable(List.of("a", "bb", "ccc", "dddd"))
+            .mapToInt(String::length)
+            .map(x -> 12 / (3 - x))
+            .mapToObj(x -> "v" + x)
+            .subscribe(new Observer<String>() {
+                @Override
+                public void onNext(String item) {
+                    items.add(item);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    error.set(t);
+                }
+                
+                @Override
+                public void onComplete() {
+                    fail("Ожидалась ошибка деления на ноль");
+                }
+            });
+        
+        assertEquals(List.of("v6", "v12"), items);
+        assertTrue(error.get() instanceof ArithmeticException);
+    }
+}
@@ -5,6 +5,8 @@ import com.rxjava.schedulers.ComputationScheduler;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -80,4 +82,82 @@ public class SchedulerIntegrationTest {
         assertTrue(latch.await(1, TimeUnit.SECONDS));
         assertNotEquals("main", observerThreadName.get());
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testObserveOnPreservesOrder() throws InterruptedException {
+        ComputationScheduler computationScheduler = new ComputationScheduler();
+        List<Integer> received = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        int count = 100_000;
+        
+        Observable<Integer> observable = Observable.create(observer -> {
+            for (int i = 0; i < count; i++) {
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        });
+        
+        observable
+            .observeOn(computationScheduler, 16)
+            .subscribe(new Observer<Integer>() {
+                @Override
+                public void onNext(Integer item) {
+                    received.add(item);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Unexpected error");
+                }
+                
+                @Override
+                public void onComplete() {
+                    latch.countDown();
+                }
+            });
+        
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(count, received.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, received.get(i));
+        }
+    }
+    
+    @Test
+    void testObserveOnDeliversErrorAfterItems() throws InterruptedException {
+        ComputationScheduler computationScheduler = new ComputationScheduler();
+        List<String> received = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        Observable<String> observable = Observable.create(observer -> {
+            observer.onNext("a");
+            observer.onNext("b");
+            observer.onError(new IllegalStateException("boom"));
+        });
+        
+        observable
+            .observeOn(computationScheduler)
+            .subscribe(new Observer<String>() {
+                @Override
+                public void onNext(String item) {
+                    received.add(item);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    error.set(t);
+                    latch.countDown();
+                }
+                
+                @Override
+                public void onComplete() {
+                    fail("Unexpected completion");
+                }
+            });
+        
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertEquals(List.of("a", "b"), received);
+        assertEquals("boom", error.get().getMessage());
+    }
+}
@@ -2,13 +2,31 @@ package com.rxjava;
 
 import com.rxjava.schedulers.IOScheduler;
 import com.rxjava.schedulers.ComputationScheduler;
+import com.rxjava.schedulers.HashedWheelTimer;
+import com.rxjava.schedulers.ImmediateScheduler;
+import com.rxjava.schedulers.RejectionPolicy;
+import com.rxjava.schedulers.Scheduler;
+import com.rxjava.schedulers.Schedulers;
 import com.rxjava.schedulers.SingleThreadScheduler;
+import com.rxjava.schedulers.TrampolineScheduler;
+import com.rxjava.subjects.PublishSubject;
+import com.rxjava.schedulers.VirtualThreadScheduler;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 public class SchedulersTest {
     
@@ -56,4 +74,646 @@ public class SchedulersTest {
         assertTrue(latch.await(1, TimeUnit.SECONDS));
         assertTrue(executed.get());
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testSingleThreadSchedulerNeverRunsTasksOnCaller() throws InterruptedException {
+        SingleThreadScheduler scheduler = new SingleThreadScheduler();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        scheduler.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < SingleThreadScheduler.DEFAULT_QUEUE_CAPACITY; i++) {
+            scheduler.execute(() -> threads.add(Thread.currentThread()));
+        }
+        
+        assertThrows(RejectedExecutionException.class, () -> scheduler.execute(() -> threads.add(Thread.currentThread())),
+            "Переполнение не выполняет задачу в вызывающем потоке");
+        release.countDown();
+        awaitCondition(() -> scheduler.queuedTasks() == 0, 5000);
+        assertFalse(threads.contains(Thread.currentThread()));
+        scheduler.shutdown();
+    }
+    
+    @Test
+    void testVirtualThreadScheduler() throws InterruptedException {
+        assumeTrue(VirtualThreadScheduler.isSupported(), "Виртуальные потоки требуют Java 21+");
+        VirtualThreadScheduler scheduler = new VirtualThreadScheduler();
+        int tasks = 10_000;
+        CountDownLatch latch = new CountDownLatch(tasks);
+        
+        for (int i = 0; i < tasks; i++) {
+            scheduler.execute(() -> {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                latch.countDown();
+            });
+        }
+        
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    void testVirtualThreadSchedulerUnsupported() {
+        assumeFalse(VirtualThreadScheduler.isSupported());
+        assertThrows(UnsupportedOperationException.class, VirtualThreadScheduler::new);
+    }
+    
+    @Test
+    void testComputationWorkerKeepsOrderAndThread() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler(4, true);
+        Scheduler.Worker worker = scheduler.createWorker();
+        List<Integer> order = new ArrayList<>();
+        Set<String> threads = new HashSet<>();
+        int tasks = 10_000;
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        for (int i = 0; i < tasks; i++) {
+            int index = i;
+            worker.execute(() -> {
+                order.add(index);
+                threads.add(Thread.currentThread().getName());
+                if (index == tasks - 1) {
+                    latch.countDown();
+                }
+            });
+        }
+        
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(tasks, order.size());
+        for (int i = 0; i < tasks; i++) {
+            assertEquals(i, order.get(i));
+        }
+        assertEquals(1, threads.size());
+        worker.dispose();
+        assertTrue(worker.isDisposed());
+    }
+    
+    @Test
+    void testComputationWorkStealing() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler(2, true);
+        Scheduler.Worker blocked = scheduler.createWorker();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch blockedStarted = new CountDownLatch(1);
+        blocked.execute(() -> {
+            blockedStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(blockedStarted.await(1, TimeUnit.SECONDS));
+        
+        // Половина задач попадет в очередь занятого потока, их должен забрать свободный
+        int tasks = 10;
+        CountDownLatch latch = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            scheduler.execute(latch::countDown);
+        }
+        
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        release.countDown();
+    }
+    
+    @Test
+    void testDefaultWorkerSerializesTasks() throws InterruptedException {
+        IOScheduler scheduler = new IOScheduler();
+        Scheduler.Worker worker = scheduler.createWorker();
+        List<Integer> order = new ArrayList<>();
+        int tasks = 1000;
+        CountDownLatch latch = new CountDownLatch(tasks);
+        
+        for (int i = 0; i < tasks; i++) {
+            int index = i;
+            worker.execute(() -> {
+                order.add(index);
+                latch.countDown();
+            });
+        }
+        
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < tasks; i++) {
+            assertEquals(i, order.get(i));
+        }
+    }
+    
+    @Test
+    void testScheduleWithDelay() throws InterruptedException {
+        SingleThreadScheduler scheduler = new SingleThreadScheduler();
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        
+        scheduler.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+        
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50),
+                "Задача выполнилась раньше задержки");
+    }
+    
+    @Test
+    void testScheduleCancelled() throws InterruptedException {
+        SingleThreadScheduler scheduler = new SingleThreadScheduler();
+        AtomicBoolean executed = new AtomicBoolean(false);
+        
+        Disposable timeout = scheduler.schedule(() -> executed.set(true), 20, TimeUnit.MILLISECONDS);
+        timeout.dispose();
+        assertTrue(timeout.isDisposed());
+        
+        Thread.sleep(100);
+        assertFalse(executed.get(), "Отмененная задача не должна выполняться");
+    }
+    
+    @Test
+    void testSchedulePeriodically() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler();
+        CountDownLatch latch = new CountDownLatch(5);
+        
+        Disposable periodic = scheduler.schedulePeriodically(latch::countDown, 0, 10, TimeUnit.MILLISECONDS);
+        
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        periodic.dispose();
+    }
+    
+    @Test
+    void testManyTimeoutsOnWheel() throws InterruptedException {
+        int tasks = 100_000;
+        CountDownLatch latch = new CountDownLatch(tasks);
+        List<Disposable> cancelled = new ArrayList<>();
+        AtomicBoolean cancelledFired = new AtomicBoolean(false);
+        
+        for (int i = 0; i < tasks; i++) {
+            HashedWheelTimer.shared().schedule(latch::countDown, i % 200, TimeUnit.MILLISECONDS);
+            if (i % 10 == 0) {
+                cancelled.add(HashedWheelTimer.shared().schedule(() -> cancelledFired.set(true), 1, TimeUnit.SECONDS));
+            }
+        }
+        cancelled.forEach(Disposable::dispose);
+        
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertFalse(cancelledFired.get());
+    }
+    
+    private static void awaitCondition(java.util.function.BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+    
+    @Test
+    void testIOSchedulerStartsLazilyReusesAndEvictsIdleThreads() throws InterruptedException {
+        IOScheduler scheduler = new IOScheduler(8, 100, 200, TimeUnit.MILLISECONDS, RejectionPolicy.FAIL_FAST);
+        assertEquals(0, scheduler.poolSize(), "Потоки не должны создаваться до первой задачи");
+        
+        for (int i = 0; i < 50; i++) {
+            CountDownLatch latch = new CountDownLatch(1);
+            scheduler.execute(latch::countDown);
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            // Даем потоку вернуться в ожидание, чтобы следующая задача досталась ему
+            awaitCondition(() -> scheduler.queuedTasks() == 0, 100);
+            Thread.sleep(2);
+        }
+        assertEquals(1, scheduler.poolSize(), "Последовательные задачи должны переиспользовать поток");
+        
+        awaitCondition(() -> scheduler.poolSize() == 0, 3000);
+        assertEquals(0, scheduler.poolSize(), "Простаивающий поток должен завершиться");
+    }
+    
+    @Test
+    void testIOSchedulerBoundedQueuePolicies() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocker = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        
+        IOScheduler dropping = new IOScheduler(1, 2, 1, TimeUnit.SECONDS, RejectionPolicy.DROP);
+        AtomicInteger ran = new AtomicInteger();
+        dropping.execute(blocker);
+        awaitCondition(() -> dropping.poolSize() == 1, 1000);
+        for (int i = 0; i < 5; i++) {
+            dropping.execute(ran::incrementAndGet);
+        }
+        assertEquals(2, dropping.queuedTasks());
+        
+        IOScheduler failing = new IOScheduler(1, 1, 1, TimeUnit.SECONDS, RejectionPolicy.FAIL_FAST);
+        failing.execute(blocker);
+        awaitCondition(() -> failing.poolSize() == 1, 1000);
+        failing.execute(() -> { });
+        assertThrows(RejectedExecutionException.class, () -> failing.execute(() -> { }));
+        
+        IOScheduler callerRuns = new IOScheduler(1, 1, 1, TimeUnit.SECONDS, RejectionPolicy.CALLER_RUNS);
+        callerRuns.execute(blocker);
+        awaitCondition(() -> callerRuns.poolSize() == 1, 1000);
+        callerRuns.execute(() -> { });
+        AtomicReference<Thread> runner = new AtomicReference<>();
+        callerRuns.execute(() -> runner.set(Thread.currentThread()));
+        assertSame(Thread.currentThread(), runner.get(), "Переполнение должно выполняться в вызывающем потоке");
+        
+        release.countDown();
+        awaitCondition(() -> ran.get() == 2, 2000);
+        Thread.sleep(50);
+        assertEquals(2, ran.get(), "Лишние задачи должны быть отброшены");
+    }
+    
+    @Test
+    void testComputationSchedulerBoundedQueue() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler(1, false, 2, RejectionPolicy.FAIL_FAST);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        
+        CountDownLatch done = new CountDownLatch(2);
+        scheduler.execute(done::countDown);
+        scheduler.execute(done::countDown);
+        assertEquals(2, scheduler.queuedTasks());
+        assertThrows(RejectedExecutionException.class, () -> scheduler.execute(() -> { }));
+        
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        scheduler.shutdown();
+    }
+    
+    @Test
+    void testShutdownAndRestart() throws InterruptedException {
+        SingleThreadScheduler single = new SingleThreadScheduler();
+        ComputationScheduler computation = new ComputationScheduler(2, true);
+        for (Scheduler scheduler : new Scheduler[] {single, computation}) {
+            CountDownLatch first = new CountDownLatch(1);
+            scheduler.execute(first::countDown);
+            assertTrue(first.await(5, TimeUnit.SECONDS));
+            
+            scheduler.shutdown();
+            assertTrue(scheduler.isShutdown());
+            AtomicBoolean ranAfterShutdown = new AtomicBoolean();
+            scheduler.execute(() -> ranAfterShutdown.set(true));
+            Thread.sleep(50);
+            assertFalse(ranAfterShutdown.get(), "После shutdown задачи не выполняются");
+            
+            scheduler.start();
+            CountDownLatch second = new CountDownLatch(1);
+            scheduler.execute(second::countDown);
+            assertTrue(second.await(5, TimeUnit.SECONDS), "После start задачи снова выполняются");
+            scheduler.shutdown();
+        }
+        assertEquals(0, single.poolSize());
+    }
+    
+    @Test
+    void testSharedSchedulers() throws InterruptedException {
+        assertSame(Schedulers.io(), Schedulers.io());
+        assertSame(Schedulers.computation(), Schedulers.computation());
+        assertSame(Schedulers.single(), Schedulers.single());
+        
+        try {
+            Schedulers.shutdown();
+            assertTrue(Schedulers.io().isShutdown());
+        } finally {
+            Schedulers.start();
+        }
+        
+        CountDownLatch latch = new CountDownLatch(3);
+        Schedulers.computation().execute(latch::countDown);
+        Schedulers.io().execute(latch::countDown);
+        Schedulers.single().execute(latch::countDown);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    void testImmediateSchedulerRunsInline() {
+        ImmediateScheduler scheduler = new ImmediateScheduler();
+        List<String> events = new ArrayList<>();
+        Thread caller = Thread.currentThread();
+        
+        scheduler.execute(() -> {
+            events.add("outer-start");
+            assertSame(caller, Thread.currentThread(), "Задача выполняется в вызывающем потоке");
+            scheduler.execute(() -> events.add("inner"));
+            events.add("outer-end");
+        });
+        
+        assertEquals(List.of("outer-start", "inner", "outer-end"), events);
+    }
+    
+    @Test
+    void testTrampolineSchedulerQueuesNestedTasks() {
+        TrampolineScheduler scheduler = new TrampolineScheduler();
+        List<String> events = new ArrayList<>();
+        
+        scheduler.execute(() -> {
+            events.add("outer-start");
+            scheduler.execute(() -> events.add("inner-1"));
+            scheduler.execute(() -> events.add("inner-2"));
+            events.add("outer-end");
+        });
+        
+        assertEquals(List.of("outer-start", "outer-end", "inner-1", "inner-2"), events,
+                "Вложенные задачи выполняются после текущей, по порядку");
+    }
+    
+    @Test
+    void testTrampolineRecursiveResubscribeDoesNotOverflowStack() {
+        int rounds = 100_000;
+        AtomicInteger completed = new AtomicInteger();
+        Observable<Integer> source = Observable.range(1, 1).subscribeOn(Schedulers.trampoline());
+        
+        source.subscribe(new Observer<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                fail("Неожиданная ошибка: " + t);
+            }
+            
+            @Override
+            public void onComplete() {
+                if (completed.incrementAndGet() < rounds) {
+                    source.subscribe(this);
+                }
+            }
+        });
+        
+        assertEquals(rounds, completed.get(), "Все переподписки выполнены синхронно и без StackOverflowError");
+    }
+    
+    @Test
+    void testTrampolineRunsDelayedTasksOnCallerInTimeOrder() {
+        TrampolineScheduler scheduler = new TrampolineScheduler();
+        List<String> events = new ArrayList<>();
+        Thread caller = Thread.currentThread();
+        long start = System.nanoTime();
+        
+        scheduler.execute(() -> {
+            scheduler.schedule(() -> events.add("30ms"), 30, TimeUnit.MILLISECONDS);
+            scheduler.schedule(() -> events.add("10ms"), 10, TimeUnit.MILLISECONDS);
+            Disposable cancelled = scheduler.schedule(() -> events.add("cancelled"), 20, TimeUnit.MILLISECONDS);
+            cancelled.dispose();
+            scheduler.execute(() -> {
+                assertSame(caller, Thread.currentThread());
+                events.add("now");
+            });
+        });
+        
+        assertEquals(List.of("now", "10ms", "30ms"), events, "Отложенные задачи выполнены в вызывающем потоке по сроку");
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(30));
+    }
+    
+    @Test
+    void testIntervalOnTrampolineIsSynchronous() {
+        List<Long> ticks = new ArrayList<>();
+        Thread caller = Thread.currentThread();
+        AtomicReference<Subscription> subscription = new AtomicReference<>();
+        
+        Observable.interval(5, TimeUnit.MILLISECONDS, Schedulers.trampoline())
+            .subscribe(new Observer<Long>() {
+                @Override
+                public void onSubscribe(Subscription s) {
+                    subscription.set(s);
+                }
+                
+                @Override
+                public void onNext(Long item) {
+                    assertSame(caller, Thread.currentThread(), "Тик не уходит в поток таймера");
+                    ticks.add(item);
+                    if (ticks.size() == 3) {
+                        subscription.get().unsubscribe();
+                    }
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Неожиданная ошибка: " + t);
+                }
+                
+                @Override
+                public void onComplete() {
+                }
+            });
+        
+        assertEquals(List.of(0L, 1L, 2L), ticks, "Тики доставлены до возврата из subscribe, без ожидания");
+    }
+    
+    @Test
+    void testImmediateSchedulerRejectsDelayedTasks() {
+        ImmediateScheduler scheduler = new ImmediateScheduler();
+        assertThrows(UnsupportedOperationException.class, () -> scheduler.schedule(() -> { }, 1, TimeUnit.MILLISECONDS));
+        assertThrows(UnsupportedOperationException.class,
+            () -> scheduler.createWorker().schedulePeriodically(() -> { }, 1, 1, TimeUnit.MILLISECONDS));
+        assertThrows(UnsupportedOperationException.class,
+            () -> Observable.interval(1, TimeUnit.MILLISECONDS, scheduler).subscribe(new Recorder<>()));
+    }
+    
+    @Test
+    void testObserveOnTrampolineIsSynchronous() {
+        List<Integer> received = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+        Thread caller = Thread.currentThread();
+        
+        Observable.range(1, 5)
+                .map(x -> x * 10)
+                .observeOn(Schedulers.trampoline())
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        assertSame(caller, Thread.currentThread());
+                        received.add(item);
+                    }
+                    
+                    @Override
+                    public void onError(Throwable t) {
+                        fail("Неожиданная ошибка: " + t);
+                    }
+                    
+                    @Override
+                    public void onComplete() {
+                        completed.set(true);
+                    }
+                });
+        
+        assertEquals(List.of(10, 20, 30, 40, 50), received);
+        assertTrue(completed.get(), "Поток завершен до возврата из subscribe, без ожидания");
+    }
+    
+    /**
+     * Наблюдатель, запоминающий полученные сигналы.
+     */
+    private static final class Recorder<T> implements Observer<T> {
+        final AtomicInteger items = new AtomicInteger();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final AtomicBoolean completed = new AtomicBoolean();
+        final CountDownLatch terminated = new CountDownLatch(1);
+        
+        @Override
+        public void onNext(T item) {
+            items.incrementAndGet();
+        }
+        
+        @Override
+        public void onError(Throwable t) {
+            error.set(t);
+            terminated.countDown();
+        }
+        
+        @Override
+        public void onComplete() {
+            completed.set(true);
+            terminated.countDown();
+        }
+    }
+    
+    /**
+     * Планировщик с одним потоком и очередью на одну задачу: поток занят до release, очередь заполнена.
+     * Задача в очереди отпускает drained, когда выполнится.
+     */
+    private static Scheduler saturated(Function<RejectionPolicy, Scheduler> factory, RejectionPolicy policy,
+                                       CountDownLatch release, CountDownLatch drained) throws InterruptedException {
+        Scheduler scheduler = factory.apply(policy);
+        CountDownLatch started = new CountDownLatch(1);
+        scheduler.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        scheduler.execute(drained::countDown);
+        return scheduler;
+    }
+    
+    private static final List<Function<RejectionPolicy, Scheduler>> BOUNDED_SCHEDULERS = List.of(
+        policy -> new SingleThreadScheduler(1, policy),
+        policy -> new ComputationScheduler(1, false, 1, policy));
+    
+    @Test
+    void testWorkerRejectionFailsObserveOn() throws InterruptedException {
+        for (RejectionPolicy policy : List.of(RejectionPolicy.DROP, RejectionPolicy.FAIL_FAST)) {
+            for (Function<RejectionPolicy, Scheduler> factory : BOUNDED_SCHEDULERS) {
+                CountDownLatch release = new CountDownLatch(1);
+                CountDownLatch drained = new CountDownLatch(1);
+                Scheduler scheduler = saturated(factory, policy, release, drained);
+                try {
+                    PublishSubject<Integer> subject = PublishSubject.create();
+                    Recorder<Integer> hot = new Recorder<>();
+                    subject.observeOn(scheduler).subscribe(hot);
+                    for (int i = 0; i < 101; i++) {
+                        subject.onNext(i);
+                    }
+                    subject.onComplete();
+                    assertInstanceOf(RejectedExecutionException.class, hot.error.get(),
+                        policy + ": отказ планировщика завершает подписку ошибкой");
+                    assertEquals(0, hot.items.get());
+                    assertFalse(hot.completed.get());
+                    assertEquals(0, subject.subscriberCount(), "Источник отписан");
+                    
+                    Recorder<Integer> fused = new Recorder<>();
+                    Observable.range(0, 10).observeOn(scheduler).subscribe(fused);
+                    assertInstanceOf(RejectedExecutionException.class, fused.error.get(), policy.toString());
+                } finally {
+                    release.countDown();
+                }
+                
+                assertTrue(drained.await(5, TimeUnit.SECONDS));
+                Recorder<Integer> after = new Recorder<>();
+                Observable.range(0, 10).observeOn(scheduler).subscribe(after);
+                assertTrue(after.terminated.await(5, TimeUnit.SECONDS));
+                assertTrue(after.completed.get(), "После разгрузки планировщик снова принимает Worker");
+                assertEquals(10, after.items.get());
+                scheduler.shutdown();
+            }
+        }
+    }
+    
+    @Test
+    void testWorkerRejectionFailsDelay() throws InterruptedException {
+        for (RejectionPolicy policy : List.of(RejectionPolicy.DROP, RejectionPolicy.FAIL_FAST)) {
+            for (Function<RejectionPolicy, Scheduler> factory : BOUNDED_SCHEDULERS) {
+                CountDownLatch release = new CountDownLatch(1);
+                CountDownLatch drained = new CountDownLatch(1);
+                Scheduler scheduler = saturated(factory, policy, release, drained);
+                try {
+                    PublishSubject<Integer> subject = PublishSubject.create();
+                    Recorder<Integer> observer = new Recorder<>();
+                    subject.delay(1, TimeUnit.MILLISECONDS, scheduler).subscribe(observer);
+                    subject.onNext(1);
+                    subject.onNext(2);
+                    
+                    assertTrue(observer.terminated.await(5, TimeUnit.SECONDS), policy + ": delay не должен зависать");
+                    assertInstanceOf(RejectedExecutionException.class, observer.error.get());
+                    assertEquals(0, observer.items.get());
+                    assertEquals(0, subject.subscriberCount(), "Источник отписан");
+                } finally {
+                    release.countDown();
+                    scheduler.shutdown();
+                }
+            }
+        }
+    }
+    
+    @Test
+    void testWorkerRejectionFailsGroupBy() throws InterruptedException {
+        for (RejectionPolicy policy : List.of(RejectionPolicy.DROP, RejectionPolicy.FAIL_FAST)) {
+            for (Function<RejectionPolicy, Scheduler> factory : BOUNDED_SCHEDULERS) {
+                CountDownLatch release = new CountDownLatch(1);
+                CountDownLatch drained = new CountDownLatch(1);
+                Scheduler scheduler = saturated(factory, policy, release, drained);
+                try {
+                    PublishSubject<Integer> subject = PublishSubject.create();
+                    Recorder<Integer> group = new Recorder<>();
+                    AtomicReference<Throwable> outerError = new AtomicReference<>();
+                    subject.groupBy(x -> x % 2, 16, 0, TimeUnit.SECONDS, scheduler)
+                        .subscribe(new Observer<GroupedObservable<Integer, Integer>>() {
+                            @Override
+                            public void onNext(GroupedObservable<Integer, Integer> g) {
+                                g.subscribe(group);
+                            }
+                            
+                            @Override
+                            public void onError(Throwable t) {
+                                outerError.set(t);
+                            }
+                            
+                            @Override
+                            public void onComplete() {
+                            }
+                        });
+                    subject.onNext(1);
+                    subject.onNext(3);
+                    
+                    assertInstanceOf(RejectedExecutionException.class, group.error.get(),
+                        policy + ": группа завершается ошибкой");
+                    assertInstanceOf(RejectedExecutionException.class, outerError.get(), "Поток групп завершается ошибкой");
+                    assertEquals(0, subject.subscriberCount(), "Источник отписан");
+                } finally {
+                    release.countDown();
+                    scheduler.shutdown();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.rxjava;
+
+import com.rxjava.internal.SpillQueue;
+import com.rxjava.schedulers.SingleThreadScheduler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+public class SpillTest {
+    
+    private static final SpillSerializer<String> STRINGS = new SpillSerializer<String>() {
+        @Override
+        public byte[] serialize(String item) {
+            return item.getBytes(StandardCharsets.UTF_8);
+        }
+        
+        @Override
+        public String deserialize(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+    
+    private static final SpillSerializer<Integer> INTS = new SpillSerializer<Integer>() {
+        @Override
+        public byte[] serialize(Integer item) {
+            return ByteBuffer.allocate(Integer.BYTES).putInt(item).array();
+        }
+        
+        @Override
+        public Integer deserialize(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getInt();
+        }
+    };
+    
+    @Test
+    void testSpillQueueKeepsOrderAndRecyclesSegments(@TempDir Path dir) throws Exception {
+        SpillQueue<String> queue = new SpillQueue<>(STRINGS, dir, 10, 256);
+        
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(queue.offer("элемент-" + i));
+            }
+            assertEquals(990, queue.spilledCount());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals("элемент-" + i, queue.poll());
+            }
+            assertNull(queue.poll());
+            assertTrue(queue.isEmpty());
+            assertEquals(0, queue.spilledCount());
+        }
+        
+        queue.clear();
+        assertEquals(0, countFiles(dir));
+    }
+    
+    @Test
+    void testSpillQueueInterleaved(@TempDir Path dir) throws Exception {
+        SpillQueue<String> queue = new SpillQueue<>(STRINGS, dir, 4, 128);
+        List<String> out = new ArrayList<>();
+        int next = 0;
+        
+        for (int i = 0; i < 500; i++) {
+            queue.offer("v" + next++);
+            queue.offer("v" + next++);
+            out.add(queue.poll());
+        }
+        String item;
+        while ((item = queue.poll()) != null) {
+            out.add(item);
+        }
+        
+        assertEquals(next, out.size());
+        for (int i = 0; i < next; i++) {
+            assertEquals("v" + i, out.get(i));
+        }
+        queue.clear();
+    }
+    
+    @Test
+    void testOnBackpressureSpillWithSlowConsumer(@TempDir Path dir) throws Exception {
+        int count = 50_000;
+        List<Integer> items = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        
+        AtomicInteger serialized = new AtomicInteger();
+        SpillSerializer<Integer> counting = new SpillSerializer<Integer>() {
+            @Override
+            public byte[] serialize(Integer item) throws IOException {
+                serialized.incrementAndGet();
+                return INTS.serialize(item);
+            }
+            
+            @Override
+            public Integer deserialize(byte[] bytes) throws IOException {
+                return INTS.deserialize(bytes);
+            }
+        };
+        
+        Observable.<Integer>create(emitter -> {
+            for (int i = 0; i < count && !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        })
+            .onBackpressureSpill(counting, dir, 100, new SingleThreadScheduler())
+            .subscribe(new Observer<Integer>() {
+                @Override
+                public void onNext(Integer item) {
+                    if (item == 0) {
+                        // Потребитель стоит, пока производитель не выдаст все элементы
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    items.add(item);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                    latch.countDown();
+                }
+            });
+        
+        // Источник синхронный: к этому моменту все элементы уже в очереди, большая часть на диске
+        assertTrue(serialized.get() >= count - 101, "Элементы должны быть выгружены на диск");
+        release.countDown();
+        
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(count, items.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, items.get(i));
+        }
+        assertEquals(0, countFiles(dir), "Файлы сегментов должны удаляться после завершения");
+    }
+    
+    @Test
+    void testOnBackpressureSpillWithSegmentSize(@TempDir Path dir) throws Exception {
+        int count = 10_000;
+        List<Integer> items = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        long baseline = mappedBuffers();
+        
+        Observable.<Integer>create(emitter -> {
+            for (int i = 0; i < count && !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        })
+            .onBackpressureSpill(INTS, dir, 10, 1024, new SingleThreadScheduler())
+            .subscribe(new Observer<Integer>() {
+                @Override
+                public void onNext(Integer item) {
+                    if (item == 0) {
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    items.add(item);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                    latch.countDown();
+                }
+            });
+        
+        // 8 байт на элемент: около 80 КБ на диске, то есть десятки сегментов по 1 КБ
+        assertTrue(mappedBuffers() - baseline > 10, "Сегменты создаются заданного размера");
+        release.countDown();
+        
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(count, items.size());
+        assertEquals(baseline, mappedBuffers(), "Отображения сегментов сняты после завершения");
+        assertThrows(IllegalArgumentException.class,
+            () -> Observable.range(0, 1).onBackpressureSpill(INTS, dir, 10, 0, new SingleThreadScheduler()));
+    }
+    
+    @Test
+    void testSpillQueueReleasesSegmentsBeyondPool(@TempDir Path dir) throws Exception {
+        long baseline = mappedBuffers();
+        SpillQueue<String> queue = new SpillQueue<>(STRINGS, dir, 0, 128);
+        for (int i = 0; i < 1000; i++) {
+            queue.offer("элемент-" + i);
+        }
+        assertTrue(mappedBuffers() - baseline > 2);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("элемент-" + i, queue.poll());
+        }
+        // Без сборки мусора: отображения сегментов сверх пула сняты сразу
+        assertTrue(mappedBuffers() - baseline <= 2, "Прочитанные сегменты сверх пула отключены от памяти");
+        
+        // Сегменты пула по-прежнему доступны после снятия остальных отображений
+        queue.offer("после");
+        assertEquals("после", queue.poll());
+        queue.clear();
+        assertEquals(baseline, mappedBuffers());
+        assertEquals(0, countFiles(dir));
+    }
+    
+    private static long mappedBuffers() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if (pool.getName().equals("mapped")) {
+                return pool.getCount();
+            }
+        }
+        return 0;
+    }
+    
+    private static long countFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+}
@@ -2,12 +2,27 @@ package com.rxjava;
 
 import com.rxjava.subjects.PublishSubject;
 import com.rxjava.subjects.BehaviorSubject;
+import com.rxjava.subjects.ReplaySubject;
+import com.rxjava.subjects.RingBufferSubject;
+import com.rxjava.subjects.WaitStrategy;
+import com.rxjava.subjects.Subject;
+import com.rxjava.schedulers.IOScheduler;
+import com.rxjava.schedulers.RejectionPolicy;
+import com.rxjava.schedulers.Schedulers;
+import com.rxjava.schedulers.SingleThreadScheduler;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class SubjectsTest {
     
@@ -174,4 +189,833 @@ public class SubjectsTest {
         assertEquals("Новое значение", receivedItems1.get(1));
         assertTrue(completed1);
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testConcurrentSubscribeUnsubscribe() throws InterruptedException {
+        PublishSubject<String> subject = PublishSubject.create();
+        AtomicInteger received = new AtomicInteger();
+        int threads = 8;
+        int perThread = 1000;
+        CountDownLatch done = new CountDownLatch(threads);
+        
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                List<Subscription> subscriptions = new ArrayList<>();
+                for (int i = 0; i < perThread; i++) {
+                    subscriptions.add(subject.subscribe(new Observer<String>() {
+                        @Override
+                        public void onNext(String item) {
+                            received.incrementAndGet();
+                        }
+                        
+                        @Override
+                        public void onError(Throwable e) {
+                            fail("Не ожидалась ошибка");
+                        }
+                        
+                        @Override
+                        public void onComplete() {
+                        }
+                    }));
+                }
+                // Отписываем половину подписчиков
+                for (int i = 0; i < perThread; i += 2) {
+                    subscriptions.get(i).unsubscribe();
+                }
+                done.countDown();
+            }).start();
+        }
+        
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        subject.onNext("Привет");
+        
+        assertEquals(threads * perThread / 2, received.get());
+    }
+    
+    @Test
+    void testSerializedSubjectWithConcurrentProducers() throws InterruptedException {
+        Subject<Integer> subject = PublishSubject.<Integer>create().toSerialized();
+        AtomicInteger received = new AtomicInteger();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger violations = new AtomicInteger();
+        AtomicInteger afterTerminal = new AtomicInteger();
+        AtomicInteger completions = new AtomicInteger();
+        int threads = 8;
+        int perThread = 10_000;
+        
+        subject.subscribe(new Observer<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+                if (inFlight.incrementAndGet() != 1) {
+                    violations.incrementAndGet();
+                }
+                if (completions.get() != 0) {
+                    afterTerminal.incrementAndGet();
+                }
+                received.incrementAndGet();
+                inFlight.decrementAndGet();
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                fail("Не ожидалась ошибка");
+            }
+            
+            @Override
+            public void onComplete() {
+                completions.incrementAndGet();
+            }
+        });
+        
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < perThread; i++) {
+                    subject.onNext(i);
+                }
+                done.countDown();
+            }).start();
+        }
+        start.countDown();
+        
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        subject.onComplete();
+        subject.onNext(-1);
+        
+        assertEquals(threads * perThread, received.get());
+        assertEquals(0, violations.get());
+        assertEquals(0, afterTerminal.get());
+        assertEquals(1, completions.get());
+    }
+    
+    @Test
+    void testReplaySubjectWithSize() {
+        ReplaySubject<String> subject = ReplaySubject.createWithSize(3);
+        for (int i = 1; i <= 10; i++) {
+            subject.onNext("v" + i);
+        }
+        
+        subject.subscribe(new Observer<String>() {
+            @Override
+            public void onNext(String item) {
+                receivedItems1.add(item);
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                fail("Не ожидалась ошибка: " + t.getMessage());
+            }
+            
+            @Override
+            public void onComplete() {
+                completed1 = true;
+            }
+        });
+        subject.onNext("v11");
+        subject.onComplete();
+        
+        // Подписчик после завершения получает историю и завершение
+        subject.subscribe(new Observer<String>() {
+            @Override
+            public void onNext(String item) {
+                receivedItems2.add(item);
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                fail("Не ожидалась ошибка: " + t.getMessage());
+            }
+            
+            @Override
+            public void onComplete() {
+                completed2 = true;
+            }
+        });
+        
+        assertEquals(List.of("v8", "v9", "v10", "v11"), receivedItems1);
+        assertTrue(completed1);
+        assertEquals(List.of("v9", "v10", "v11"), receivedItems2);
+        assertTrue(completed2);
+    }
+    
+    @Test
+    void testReplaySubjectWithTime() throws InterruptedException {
+        ReplaySubject<String> subject = ReplaySubject.createWithTimeAndSize(
+                50, TimeUnit.MILLISECONDS, 100, new SingleThreadScheduler());
+        subject.onNext("старый");
+        Thread.sleep(120);
+        subject.onNext("свежий");
+        
+        subject.subscribe(new Observer<String>() {
+            @Override
+            public void onNext(String item) {
+                receivedItems1.add(item);
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                fail("Не ожидалась ошибка: " + t.getMessage());
+            }
+            
+            @Override
+            public void onComplete() {
+            }
+        });
+        
+        assertEquals(List.of("свежий"), receivedItems1);
+    }
+    
+    @Test
+    void testReplaySubjectSubscribeWhileProducing() throws InterruptedException {
+        ReplaySubject<Integer> subject = ReplaySubject.createWithSize(1024);
+        int count = 200_000;
+        CountDownLatch subscribed = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        List<Integer> items = new ArrayList<>();
+        
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                subject.onNext(i);
+                if (i == count / 2) {
+                    subscribed.countDown();
+                }
+            }
+            subject.onComplete();
+        });
+        producer.start();
+        assertTrue(subscribed.await(5, TimeUnit.SECONDS));
+        
+        subject.subscribe(new Observer<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+                items.add(item);
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                fail("Не ожидалась ошибка: " + t.getMessage());
+            }
+            
+            @Override
+            public void onComplete() {
+                done.countDown();
+            }
+        });
+        
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        producer.join();
+        assertFalse(items.isEmpty());
+        for (int i = 1; i < items.size(); i++) {
+            assertTrue(items.get(i) > items.get(i - 1), "Порядок элементов нарушен");
+        }
+        assertEquals(count - 1, items.get(items.size() - 1));
+    }
+    
+    private static Observer<Integer> orderedCollector(List<Integer> items, AtomicReference<Throwable> error, CountDownLatch done) {
+        return new Observer<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+                items.add(item);
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                error.set(t);
+                done.countDown();
+            }
+            
+            @Override
+            public void onComplete() {
+                done.countDown();
+            }
+        };
+    }
+    
+    @Test
+    void testRingBufferSubjectMulticastWithEachWaitStrategy() throws InterruptedException {
+        RingBufferSubject<Integer> subject = RingBufferSubject.create(256, new IOScheduler(), WaitStrategy.blocking());
+        IOScheduler io = new IOScheduler();
+        List<List<Integer>> received = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(3);
+        WaitStrategy[] strategies = {WaitStrategy.busySpin(), WaitStrategy.yielding(), WaitStrategy.blocking()};
+        for (WaitStrategy strategy : strategies) {
+            List<Integer> items = new ArrayList<>();
+            received.add(items);
+            subject.subscribe(orderedCollector(items, error, done), io, strategy);
+        }
+        assertEquals(3, subject.subscriberCount());
+        
+        int count = 100_000;
+        for (int i = 0; i < count; i++) {
+            subject.onNext(i);
+        }
+        subject.onComplete();
+        
+        assertTrue(done.await(10, TimeUnit.SECONDS), "Подписчики не завершились");
+        assertNull(error.get());
+        for (List<Integer> items : received) {
+            assertEquals(count, items.size());
+            for (int i = 0; i < count; i++) {
+                assertEquals(i, items.get(i), "Порядок элементов нарушен");
+            }
+        }
+        assertEquals(0, subject.subscriberCount());
+    }
+    
+    @Test
+    void testRingBufferSubjectSlowSubscriberDoesNotDelayOthers() throws InterruptedException {
+        RingBufferSubject<Integer> subject = RingBufferSubject.create(1024, new IOScheduler(), WaitStrategy.blocking());
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastDone = new CountDownLatch(1);
+        AtomicInteger slowReceived = new AtomicInteger();
+        AtomicInteger fastReceived = new AtomicInteger();
+        
+        subject.subscribe(new Observer<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                slowReceived.incrementAndGet();
+            }
+            
+            @Override
+            public void onError(Throwable t) {}
+            
+            @Override
+            public void onComplete() {}
+        });
+        subject.subscribe(new Observer<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+                if (fastReceived.incrementAndGet() == 500) {
+                    fastDone.countDown();
+                }
+            }
+            
+            @Override
+            public void onError(Throwable t) {}
+            
+            @Override
+            public void onComplete() {}
+        });
+        
+        // 500 элементов помещаются в кольцо: производитель не ждет медленного подписчика
+        for (int i = 0; i < 500; i++) {
+            subject.onNext(i);
+        }
+        
+        assertTrue(fastDone.await(5, TimeUnit.SECONDS), "Быстрый подписчик ждал медленного");
+        assertEquals(0, slowReceived.get());
+        release.countDown();
+    }
+    
+    @Test
+    void testRingBufferSubjectBoundsMemoryWithBackpressure() throws InterruptedException {
+        RingBufferSubject<Integer> subject = RingBufferSubject.create(16, new IOScheduler(), WaitStrategy.yielding());
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger published = new AtomicInteger();
+        List<Integer> items = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        
+        subject.subscribe(new Observer<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                items.add(item);
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                error.set(t);
+                done.countDown();
+            }
+            
+            @Override
+            public void onComplete() {
+                done.countDown();
+            }
+        });
+        
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                subject.onNext(i);
+                published.incrementAndGet();
+            }
+            subject.onComplete();
+        });
+        producer.start();
+        
+        Thread.sleep(200);
+        // Кольцо на 16 элементов плюс один, уже забранный подписчиком
+        assertTrue(published.get() <= 17, "Производитель не ждал подписчика: " + published.get());
+        
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS), "Подписчик не завершился");
+        producer.join(5000);
+        assertNull(error.get());
+        assertEquals(1000, items.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, items.get(i));
+        }
+    }
+    
+    @Test
+    void testRingBufferSubjectUnsubscribeReleasesProducer() throws InterruptedException {
+        RingBufferSubject<Integer> subject = RingBufferSubject.create(8, new IOScheduler(), WaitStrategy.blocking());
+        AtomicReference<Subscription> subscription = new AtomicReference<>();
+        AtomicInteger received = new AtomicInteger();
+        
+        subject.subscribe(new Observer<Integer>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription.set(s);
+            }
+            
+            @Override
+            public void onNext(Integer item) {
+                if (received.incrementAndGet() == 3) {
+                    subscription.get().unsubscribe();
+                }
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                fail("Не ожидалась ошибка: " + t);
+            }
+            
+            @Override
+            public void onComplete() {
+                fail("Не ожидалось завершение после отписки");
+            }
+        });
+        
+        // Без отписки производитель остановился бы на заполненном кольце
+        for (int i = 0; i < 1000; i++) {
+            subject.onNext(i);
+        }
+        subject.onComplete();
+        
+        Thread.sleep(50);
+        assertEquals(3, received.get());
+        assertEquals(0, subject.subscriberCount());
+    }
+    
+    @Test
+    void testRingBufferSubjectFailsSubscriberWhenSchedulerCannotRunIt() throws InterruptedException {
+        IOScheduler stopped = new IOScheduler();
+        stopped.shutdown();
+        RingBufferSubject<Integer> subject = RingBufferSubject.create(8, stopped, WaitStrategy.blocking());
+        
+        AtomicReference<Throwable> stoppedError = new AtomicReference<>();
+        subject.subscribe(failing(stoppedError));
+        assertInstanceOf(RejectedExecutionException.class, stoppedError.get(), "Остановленный планировщик");
+        
+        // Цикл подписчика в подписывающем потоке не дал бы subscribe() вернуться
+        AtomicReference<Throwable> inlineError = new AtomicReference<>();
+        subject.subscribe(failing(inlineError), Schedulers.immediate(), WaitStrategy.blocking());
+        assertInstanceOf(RejectedExecutionException.class, inlineError.get(), "Выполнение в вызывающем потоке");
+        
+        SingleThreadScheduler dropping = new SingleThreadScheduler(1, RejectionPolicy.DROP);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch busy = new CountDownLatch(1);
+        dropping.execute(() -> {
+            busy.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(busy.await(5, TimeUnit.SECONDS));
+        dropping.execute(() -> { });
+        AtomicReference<Throwable> droppedError = new AtomicReference<>();
+        subject.subscribe(failing(droppedError), dropping, WaitStrategy.blocking());
+        release.countDown();
+        assertInstanceOf(RejectedExecutionException.class, droppedError.get(), "Очередь планировщика заполнена");
+        assertEquals(0, subject.subscriberCount());
+        
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < subject.capacity() * 4; i++) {
+                subject.onNext(i);
+            }
+        });
+        producer.start();
+        producer.join(5000);
+        assertFalse(producer.isAlive(), "Производитель ждет подписчика, который не был запущен");
+        dropping.shutdown();
+    }
+    
+    @Test
+    void testRingBufferSubjectConcurrentUnsubscribeDuringSubscribe() throws InterruptedException {
+        IOScheduler scheduler = new IOScheduler();
+        RingBufferSubject<Integer> subject = RingBufferSubject.create(8, scheduler, WaitStrategy.blocking());
+        
+        // Отписка из другого потока гоняется с добавлением подписчика в список
+        for (int i = 0; i < 500; i++) {
+            AtomicReference<Subscription> subscription = new AtomicReference<>();
+            CountDownLatch subscribed = new CountDownLatch(1);
+            Thread canceller = new Thread(() -> {
+                try {
+                    subscribed.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                subscription.get().unsubscribe();
+            });
+            canceller.start();
+            subject.subscribe(new Observer<Integer>() {
+                @Override
+                public void onSubscribe(Subscription s) {
+                    subscription.set(s);
+                    subscribed.countDown();
+                }
+                
+                @Override
+                public void onNext(Integer item) {
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                }
+                
+                @Override
+                public void onComplete() {
+                }
+            });
+            canceller.join(5000);
+        }
+        
+        long deadline = System.currentTimeMillis() + 5000;
+        while (subject.subscriberCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, subject.subscriberCount(), "Отписанные подписчики остались в списке");
+        
+        // Оставшийся в списке отписанный подписчик остановил бы производителя на заполненном кольце
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 100; i++) {
+                subject.onNext(i);
+            }
+        });
+        producer.start();
+        producer.join(5000);
+        assertFalse(producer.isAlive(), "Производитель ждет отписанного подписчика");
+        scheduler.shutdown();
+    }
+    
+    private static <T> Observer<T> failing(AtomicReference<Throwable> error) {
+        return new Observer<T>() {
+            @Override
+            public void onNext(T item) {
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                error.set(t);
+            }
+            
+            @Override
+            public void onComplete() {
+            }
+        };
+    }
+    
+    private static <T> Observer<T> collecting(List<T> items, AtomicBoolean completed) {
+        return new Observer<T>() {
+            @Override
+            public void onNext(T item) {
+                items.add(item);
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+                fail("Неожиданная ошибка: " + t);
+            }
+            
+            @Override
+            public void onComplete() {
+                completed.set(true);
+            }
+        };
+    }
+    
+    @Test
+    void testPublishSubscribesSourceOnce() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Observable<Integer> source = Observable.create(emitter -> {
+            subscriptions.incrementAndGet();
+            for (int i = 1; i <= 3; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+        ConnectableObservable<Integer> published = source.publish();
+        List<Integer> first = new ArrayList<>();
+        List<Integer> second = new ArrayList<>();
+        AtomicBoolean firstDone = new AtomicBoolean();
+        AtomicBoolean secondDone = new AtomicBoolean();
+        
+        published.subscribe(collecting(first, firstDone));
+        published.subscribe(collecting(second, secondDone));
+        assertEquals(0, subscriptions.get(), "До connect() источник не подписан");
+        
+        published.connect();
+        
+        assertEquals(1, subscriptions.get(), "Источник выполняется один раз на всех наблюдателей");
+        assertEquals(List.of(1, 2, 3), first);
+        assertEquals(List.of(1, 2, 3), second);
+        assertTrue(firstDone.get() && secondDone.get());
+    }
+    
+    @Test
+    void testShareDisconnectsWhenLastObserverLeaves() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        AtomicInteger cancellations = new AtomicInteger();
+        AtomicReference<ObservableEmitter<String>> emitterRef = new AtomicReference<>();
+        Observable<String> shared = Observable.<String>create(emitter -> {
+            subscriptions.incrementAndGet();
+            emitter.setCancellable(cancellations::incrementAndGet);
+            emitterRef.set(emitter);
+        }).share();
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        AtomicBoolean done = new AtomicBoolean();
+        
+        Subscription s1 = shared.subscribe(collecting(first, done));
+        Subscription s2 = shared.subscribe(collecting(second, done));
+        assertEquals(1, subscriptions.get(), "Второй наблюдатель не подписывает источник заново");
+        
+        emitterRef.get().onNext("A");
+        s1.unsubscribe();
+        emitterRef.get().onNext("B");
+        assertEquals(List.of("A"), first);
+        assertEquals(List.of("A", "B"), second);
+        assertEquals(0, cancellations.get(), "Источник подключен, пока есть наблюдатели");
+        
+        s2.unsubscribe();
+        assertEquals(1, cancellations.get(), "Уход последнего наблюдателя отключает источник");
+        
+        shared.subscribe(collecting(new ArrayList<>(), done));
+        assertEquals(2, subscriptions.get(), "Новый наблюдатель подключает источник заново");
+    }
+    
+    @Test
+    void testShareReconnectsAfterCompletion() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Observable<Integer> shared = Observable.<Integer>create(emitter -> {
+            subscriptions.incrementAndGet();
+            emitter.onNext(42);
+            emitter.onComplete();
+        }).share();
+        
+        for (int i = 0; i < 2; i++) {
+            List<Integer> items = new ArrayList<>();
+            AtomicBoolean done = new AtomicBoolean();
+            shared.subscribe(collecting(items, done));
+            assertEquals(List.of(42), items);
+            assertTrue(done.get());
+        }
+        assertEquals(2, subscriptions.get());
+    }
+    
+    @Test
+    void testReplayDeliversLastItemsToLateObserver() {
+        ConnectableObservable<Integer> replayed = Observable.range(1, 5).replay(2);
+        replayed.connect();
+        
+        List<Integer> items = new ArrayList<>();
+        AtomicBoolean done = new AtomicBoolean();
+        replayed.subscribe(collecting(items, done));
+        
+        assertEquals(List.of(4, 5), items, "Поздний наблюдатель получает последние 2 элемента");
+        assertTrue(done.get());
+    }
+    
+    @Test
+    void testShareAcrossThreads() throws InterruptedException {
+        AtomicInteger subscriptions = new AtomicInteger();
+        PublishSubject<Integer> upstream = PublishSubject.create();
+        Observable<Integer> shared = Observable.<Integer>create(emitter -> {
+            subscriptions.incrementAndGet();
+            upstream.subscribe(emitter);
+        }).share();
+        int observers = 8;
+        CountDownLatch subscribed = new CountDownLatch(observers);
+        CountDownLatch received = new CountDownLatch(observers);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < observers; i++) {
+            Thread t = new Thread(() -> {
+                shared.subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onNext(Integer item) {
+                        received.countDown();
+                    }
+                    
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+                    
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+                subscribed.countDown();
+            });
+            threads.add(t);
+            t.start();
+        }
+        assertTrue(subscribed.await(5, TimeUnit.SECONDS));
+        upstream.onNext(1);
+        assertTrue(received.await(5, TimeUnit.SECONDS), "Каждый наблюдатель получил элемент");
+        assertEquals(1, subscriptions.get(), "Одна подписка на источник при конкурентных наблюдателях");
+        assertEquals(1, upstream.subscriberCount());
+    }
+    
+    @Test
+    void testRefCountOverUserConnectable() {
+        AtomicInteger connects = new AtomicInteger();
+        AtomicInteger disconnects = new AtomicInteger();
+        PublishSubject<Integer> subject = PublishSubject.create();
+        // Пользовательский ConnectableObservable реализует только subscribe() и connect()
+        ConnectableObservable<Integer> connectable = new ConnectableObservable<Integer>() {
+            @Override
+            public Subscription subscribe(Observer<Integer> observer) {
+                return subject.subscribe(observer);
+            }
+            
+            @Override
+            public Subscription connect() {
+                connects.incrementAndGet();
+                return new Subscription() {
+                    private volatile boolean unsubscribed;
+                    
+                    @Override
+                    public void unsubscribe() {
+                        unsubscribed = true;
+                        disconnects.incrementAndGet();
+                    }
+                    
+                    @Override
+                    public boolean isUnsubscribed() {
+                        return unsubscribed;
+                    }
+                };
+            }
+        };
+        Observable<Integer> shared = connectable.refCount();
+        List<Integer> items = new ArrayList<>();
+        AtomicBoolean done = new AtomicBoolean();
+        
+        Subscription s = shared.subscribe(collecting(items, done));
+        subject.onNext(1);
+        s.unsubscribe();
+        shared.subscribe(collecting(items, done));
+        
+        assertEquals(List.of(1), items);
+        assertEquals(2, connects.get());
+        assertEquals(1, disconnects.get());
+    }
+    
+    @Test
+    void testShareLastObserverLeavesWhileNextArrives() throws InterruptedException {
+        PublishSubject<Integer> upstream = PublishSubject.create();
+        Observable<Integer> shared = upstream.share();
+        
+        for (int i = 0; i < 2000; i++) {
+            AtomicBoolean done = new AtomicBoolean();
+            Subscription last = shared.subscribe(collecting(new ArrayList<>(), done));
+            List<Integer> items = Collections.synchronizedList(new ArrayList<>());
+            AtomicReference<Subscription> next = new AtomicReference<>();
+            CountDownLatch start = new CountDownLatch(1);
+            
+            Thread leaving = new Thread(() -> {
+                awaitQuietly(start);
+                last.unsubscribe();
+            });
+            Thread arriving = new Thread(() -> {
+                awaitQuietly(start);
+                next.set(shared.subscribe(collecting(items, done)));
+            });
+            leaving.start();
+            arriving.start();
+            start.countDown();
+            leaving.join(5000);
+            arriving.join(5000);
+            
+            upstream.onNext(i);
+            assertEquals(List.of(i), items, "Новый наблюдатель не попал в отключаемое подключение, итерация " + i);
+            assertEquals(1, upstream.subscriberCount());
+            next.get().unsubscribe();
+        }
+        assertEquals(0, upstream.subscriberCount());
+    }
+    
+    @Test
+    void testShareLastObserverLeavesDuringConnect() throws InterruptedException {
+        CountDownLatch connecting = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        AtomicInteger cancellations = new AtomicInteger();
+        AtomicReference<ObservableEmitter<Integer>> emitterRef = new AtomicReference<>();
+        Observable<Integer> shared = Observable.<Integer>create(emitter -> {
+            emitter.setCancellable(cancellations::incrementAndGet);
+            emitterRef.set(emitter);
+            connecting.countDown();
+            awaitQuietly(proceed);
+        }).share();
+        AtomicReference<Subscription> first = new AtomicReference<>();
+        
+        Thread connector = new Thread(() -> shared.subscribe(new Observer<Integer>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                first.set(s);
+            }
+            
+            @Override
+            public void onNext(Integer item) {
+            }
+            
+            @Override
+            public void onError(Throwable t) {
+            }
+            
+            @Override
+            public void onComplete() {
+            }
+        }));
+        connector.start();
+        assertTrue(connecting.await(5, TimeUnit.SECONDS));
+        
+        // Последний наблюдатель уходит, пока connect() еще не вернулся, и сразу приходит новый
+        first.get().unsubscribe();
+        List<Integer> items = new ArrayList<>();
+        AtomicBoolean done = new AtomicBoolean();
+        Subscription next = shared.subscribe(collecting(items, done));
+        proceed.countDown();
+        connector.join(5000);
+        
+        emitterRef.get().onNext(7);
+        assertEquals(List.of(7), items, "Новый наблюдатель получает элементы подключения");
+        assertEquals(0, cancellations.get());
+        next.unsubscribe();
+        assertEquals(1, cancellations.get(), "Уход последнего наблюдателя отключает источник");
+    }
+    
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
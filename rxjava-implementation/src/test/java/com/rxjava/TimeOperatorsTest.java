@@ -0,0 +1,363 @@
+package com.rxjava;
+
+import com.rxjava.schedulers.ComputationScheduler;
+import com.rxjava.schedulers.SingleThreadScheduler;
+import com.rxjava.subjects.PublishSubject;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TimeOperatorsTest {
+    
+    @Test
+    void testInterval() throws InterruptedException {
+        List<Long> ticks = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(5);
+        
+        Subscription subscription = Observable.interval(10, TimeUnit.MILLISECONDS, new ComputationScheduler())
+            .subscribe(new Observer<Long>() {
+                @Override
+                public void onNext(Long item) {
+                    ticks.add(item);
+                    latch.countDown();
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                    fail("interval не должен завершаться");
+                }
+            });
+        
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        subscription.unsubscribe();
+        int size = ticks.size();
+        Thread.sleep(50);
+        
+        assertEquals(size, ticks.size(), "После отписки тики не должны приходить");
+        for (int i = 0; i < size; i++) {
+            assertEquals(i, ticks.get(i));
+        }
+    }
+    
+    @Test
+    void testTimer() throws InterruptedException {
+        AtomicReference<Long> value = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        
+        Observable.timer(30, TimeUnit.MILLISECONDS, new SingleThreadScheduler())
+            .subscribe(new Observer<Long>() {
+                @Override
+                public void onNext(Long item) {
+                    value.set(item);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                    latch.countDown();
+                }
+            });
+        
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertEquals(0L, value.get());
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(30));
+    }
+    
+    @Test
+    void testDelayKeepsOrder() throws InterruptedException {
+        List<Integer> items = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        
+        Observable.range(0, 100)
+            .delay(30, TimeUnit.MILLISECONDS, new ComputationScheduler())
+            .subscribe(new Observer<Integer>() {
+                @Override
+                public void onNext(Integer item) {
+                    items.add(item);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                    latch.countDown();
+                }
+            });
+        
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(30));
+        assertEquals(100, items.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, items.get(i));
+        }
+    }
+    
+    @Test
+    void testTimeoutFires() throws InterruptedException {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<Integer> items = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        // Источник выдает один элемент и замолкает
+        Observable.<Integer>create(observer -> observer.onNext(1))
+            .timeout(30, TimeUnit.MILLISECONDS, new SingleThreadScheduler())
+            .subscribe(new Observer<Integer>() {
+                @Override
+                public void onNext(Integer item) {
+                    items.add(item);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    error.set(t);
+                    latch.countDown();
+                }
+                
+                @Override
+                public void onComplete() {
+                    fail("Не ожидалось завершение");
+                }
+            });
+        
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertEquals(List.of(1), items);
+        assertTrue(error.get() instanceof TimeoutException);
+    }
+    
+    @Test
+    void testTimeoutNotFiredForFastSource() throws InterruptedException {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        Observable.interval(5, TimeUnit.MILLISECONDS, new ComputationScheduler())
+            .filter(x -> x < 10)
+            .timeout(200, TimeUnit.MILLISECONDS, new SingleThreadScheduler())
+            .subscribe(new Observer<Long>() {
+                @Override
+                public void onNext(Long item) {
+                    if (item == 9) {
+                        latch.countDown();
+                    }
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    error.set(t);
+                }
+                
+                @Override
+                public void onComplete() {
+                }
+            });
+        
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertNull(error.get(), "Таймаут не должен срабатывать, пока элементы приходят вовремя");
+    }
+    
+    @Test
+    void testBufferTimedFlushesOnMaxSize() throws InterruptedException {
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        Observable.range(0, 1000)
+            .buffer(1, TimeUnit.MINUTES, 100, new ComputationScheduler())
+            .subscribe(new Observer<List<Integer>>() {
+                @Override
+                public void onNext(List<Integer> item) {
+                    batches.add(item);
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                    latch.countDown();
+                }
+            });
+        
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertEquals(10, batches.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(100, batches.get(i).size());
+            assertEquals(i * 100, batches.get(i).get(0));
+        }
+    }
+    
+    @Test
+    void testBufferTimedFlushesOnTimer() throws InterruptedException {
+        PublishSubject<Integer> subject = PublishSubject.create();
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        subject
+            .buffer(30, TimeUnit.MILLISECONDS, 1000, new ComputationScheduler())
+            .subscribe(new Observer<List<Integer>>() {
+                @Override
+                public void onNext(List<Integer> item) {
+                    batches.add(item);
+                    latch.countDown();
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                }
+            });
+        subject.onNext(1);
+        subject.onNext(2);
+        subject.onNext(3);
+        
+        assertTrue(latch.await(1, TimeUnit.SECONDS), "Неполный буфер должен выдаваться по таймеру");
+        assertEquals(List.of(List.of(1, 2, 3)), batches);
+    }
+    
+    @Test
+    void testBufferTimedSlowSinkDoesNotBlockSource() throws InterruptedException {
+        PublishSubject<Integer> subject = PublishSubject.create();
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch inSink = new CountDownLatch(1);
+        CountDownLatch producerPassed = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+        
+        subject
+            .buffer(20, TimeUnit.MILLISECONDS, 1000, new ComputationScheduler())
+            .subscribe(new Observer<List<Integer>>() {
+                @Override
+                public void onNext(List<Integer> item) {
+                    batches.add(item);
+                    if (batches.size() == 1) {
+                        // Запись по таймеру ждет, пока источник сможет выдать следующий элемент
+                        inSink.countDown();
+                        try {
+                            producerPassed.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                    completed.countDown();
+                }
+            });
+        subject.onNext(1);
+        assertTrue(inSink.await(1, TimeUnit.SECONDS));
+        
+        Thread producer = new Thread(() -> {
+            subject.onNext(2);
+            producerPassed.countDown();
+            subject.onComplete();
+        });
+        producer.start();
+        producer.join(1000);
+        assertFalse(producer.isAlive(), "Источник не должен ждать медленного получателя");
+        
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of(1), List.of(2)), batches);
+    }
+    
+    @Test
+    void testSample() throws InterruptedException {
+        List<Long> samples = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+        
+        Subscription subscription = Observable.interval(2, TimeUnit.MILLISECONDS, new ComputationScheduler())
+            .sample(40, TimeUnit.MILLISECONDS, new SingleThreadScheduler())
+            .subscribe(new Observer<Long>() {
+                @Override
+                public void onNext(Long item) {
+                    samples.add(item);
+                    latch.countDown();
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                }
+            });
+        
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        subscription.unsubscribe();
+        for (int i = 1; i < samples.size(); i++) {
+            assertTrue(samples.get(i) > samples.get(i - 1), "Выборки должны возрастать: " + samples);
+        }
+        assertTrue(samples.get(samples.size() - 1) >= samples.size(), "Часть тиков должна быть пропущена");
+    }
+    
+    @Test
+    void testDebounce() throws InterruptedException {
+        PublishSubject<Integer> subject = PublishSubject.create();
+        List<Integer> items = new CopyOnWriteArrayList<>();
+        CountDownLatch first = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        
+        subject
+            .debounce(50, TimeUnit.MILLISECONDS, new ComputationScheduler())
+            .subscribe(new Observer<Integer>() {
+                @Override
+                public void onNext(Integer item) {
+                    items.add(item);
+                    first.countDown();
+                }
+                
+                @Override
+                public void onError(Throwable t) {
+                    fail("Не ожидалась ошибка: " + t.getMessage());
+                }
+                
+                @Override
+                public void onComplete() {
+                    done.countDown();
+                }
+            });
+        subject.onNext(1);
+        subject.onNext(2);
+        subject.onNext(3);
+        
+        assertTrue(first.await(1, TimeUnit.SECONDS));
+        assertEquals(List.of(3), items);
+        
+        // Ожидающий элемент выдается при завершении, не дожидаясь таймера
+        subject.onNext(4);
+        subject.onComplete();
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertEquals(List.of(3, 4), items);
+    }
+}